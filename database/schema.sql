@@ -19,6 +19,8 @@
  * Notes on file:
  *     2018-03-11: The present purpose of this document is more for reference, as the schema is
  *                 being generated by JPA at runtime. That configuration may change.
+ *     2026-10-17: The schema is now owned by the Flyway migrations in
+ *                 server/src/main/resources/db, which this document mirrors.
  */
 
 DROP DATABASE MDB;     -- Movie Data Base
@@ -27,6 +29,7 @@ CREATE DATABASE MDB;
 CREATE TABLE MDB.RATING
 (
     ID                     INTEGER          NOT NULL,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
     NAME                   VARCHAR(100)     NOT NULL UNIQUE,
     DESCRIPTION            VARCHAR(200)     ,
   PRIMARY KEY(ID)
@@ -35,6 +38,7 @@ CREATE TABLE MDB.RATING
 CREATE TABLE MDB.GENRE
 (
     ID                     INTEGER          NOT NULL,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
     NAME                   VARCHAR(100)     NOT NULL UNIQUE,
     DESCRIPTION            VARCHAR(200)     ,
   PRIMARY KEY(ID)
@@ -43,6 +47,7 @@ CREATE TABLE MDB.GENRE
 CREATE TABLE MDB.LANGUAGE
 (
     ID                     INTEGER          NOT NULL,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
     NAME                   VARCHAR(100)     NOT NULL UNIQUE,
     DESCRIPTION            VARCHAR(200)     ,
   PRIMARY KEY(ID)
@@ -51,6 +56,7 @@ CREATE TABLE MDB.LANGUAGE
 CREATE TABLE MDB.TV_SHOW
 (
     ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
     TITLE                  VARCHAR(100)     NOT NULL,
     DATE_AIRED             DATE             NOT NULL,
     NETWORK                VARCHAR(100)     NOT NULL,
@@ -64,10 +70,15 @@ CREATE TABLE MDB.TV_SHOW
 ALTER TABLE MDB.TV_SHOW ADD CONSTRAINT TVSHOW_RATINGID_FK FOREIGN KEY(RATING_ID) REFERENCES MDB.RATING(ID);
 ALTER TABLE MDB.TV_SHOW ADD CONSTRAINT TVSHOW_GENREID_FK FOREIGN KEY(GENRE_ID) REFERENCES MDB.GENRE(ID);
 ALTER TABLE MDB.TV_SHOW ADD CONSTRAINT TVSHOW_LANGID_FK FOREIGN KEY(LANGUAGE_ID) REFERENCES MDB.LANGUAGE(ID);
+ALTER TABLE MDB.TV_SHOW ADD FULLTEXT INDEX TV_SHOW_TITLE_PLOT_SUMMARY_FT (TITLE, PLOT_SUMMARY);
+CREATE INDEX TV_SHOW_DATE_AIRED_IDX ON MDB.TV_SHOW (DATE_AIRED);
+CREATE INDEX TV_SHOW_TITLE_IDX ON MDB.TV_SHOW (TITLE);
+CREATE INDEX TV_SHOW_NETWORK_IDX ON MDB.TV_SHOW (NETWORK);
 
 CREATE TABLE MDB.MOVIE
 (
     ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
     TITLE                  VARCHAR(100)     NOT NULL,
     RELEASE_DATE           DATE             NOT NULL,
     STUDIO                 VARCHAR(100)     NOT NULL,
@@ -81,3 +92,45 @@ CREATE TABLE MDB.MOVIE
 ALTER TABLE MDB.MOVIE ADD CONSTRAINT MOVIE_RATINGID_FK FOREIGN KEY(RATING_ID) REFERENCES MDB.RATING(ID);
 ALTER TABLE MDB.MOVIE ADD CONSTRAINT MOVIE_GENREID_FK FOREIGN KEY(GENRE_ID) REFERENCES MDB.GENRE(ID);
 ALTER TABLE MDB.MOVIE ADD CONSTRAINT MOVIE_LANGID_FK FOREIGN KEY(LANGUAGE_ID) REFERENCES MDB.LANGUAGE(ID);
+ALTER TABLE MDB.MOVIE ADD FULLTEXT INDEX MOVIE_TITLE_PLOT_SUMMARY_FT (TITLE, PLOT_SUMMARY);
+CREATE INDEX MOVIE_RELEASE_DATE_IDX ON MDB.MOVIE (RELEASE_DATE);
+CREATE INDEX MOVIE_TITLE_IDX ON MDB.MOVIE (TITLE);
+CREATE INDEX MOVIE_STUDIO_IDX ON MDB.MOVIE (STUDIO);
+
+CREATE TABLE MDB.PERSON
+(
+    ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
+    FIRST_NAME             VARCHAR(100)     NOT NULL,
+    MIDDLE_NAME            VARCHAR(100)     ,
+    LAST_NAME              VARCHAR(100)     NOT NULL,
+    FIRST_NAME_KEY         VARCHAR(100)     NOT NULL,
+    MIDDLE_NAME_KEY        VARCHAR(100)     ,
+    LAST_NAME_KEY          VARCHAR(100)     NOT NULL,
+    DATE_OF_BIRTH          DATE             NOT NULL,
+    DATE_OF_DEATH          DATE             ,
+  PRIMARY KEY(ID)
+);
+CREATE INDEX PERSON_FIRST_NAME_KEY_IDX ON MDB.PERSON (FIRST_NAME_KEY);
+CREATE INDEX PERSON_MIDDLE_NAME_KEY_IDX ON MDB.PERSON (MIDDLE_NAME_KEY);
+CREATE INDEX PERSON_LAST_NAME_KEY_IDX ON MDB.PERSON (LAST_NAME_KEY);
+CREATE INDEX PERSON_DATE_OF_BIRTH_IDX ON MDB.PERSON (DATE_OF_BIRTH);
+CREATE INDEX PERSON_DATE_OF_DEATH_IDX ON MDB.PERSON (DATE_OF_DEATH);
+
+CREATE TABLE MDB.CREDIT
+(
+    ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
+    PERSON_ID              INTEGER          NOT NULL,
+    MOVIE_ID               INTEGER          ,
+    TV_SHOW_ID             INTEGER          ,
+    ROLE                   VARCHAR(100)     NOT NULL,
+    BILLING_ORDER          INTEGER          NOT NULL,
+  PRIMARY KEY(ID)
+);
+ALTER TABLE MDB.CREDIT ADD CONSTRAINT CREDIT_PERSONID_FK FOREIGN KEY(PERSON_ID) REFERENCES MDB.PERSON(ID) ON DELETE CASCADE;
+ALTER TABLE MDB.CREDIT ADD CONSTRAINT CREDIT_MOVIEID_FK FOREIGN KEY(MOVIE_ID) REFERENCES MDB.MOVIE(ID) ON DELETE CASCADE;
+ALTER TABLE MDB.CREDIT ADD CONSTRAINT CREDIT_TVSHOWID_FK FOREIGN KEY(TV_SHOW_ID) REFERENCES MDB.TV_SHOW(ID) ON DELETE CASCADE;
+CREATE INDEX CREDIT_MOVIE_ID_BILLING_ORDER_IDX ON MDB.CREDIT (MOVIE_ID, BILLING_ORDER);
+CREATE INDEX CREDIT_TV_SHOW_ID_BILLING_ORDER_IDX ON MDB.CREDIT (TV_SHOW_ID, BILLING_ORDER);
+CREATE INDEX CREDIT_PERSON_ID_IDX ON MDB.CREDIT (PERSON_ID);
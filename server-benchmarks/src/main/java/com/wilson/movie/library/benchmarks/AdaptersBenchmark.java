@@ -0,0 +1,41 @@
+package com.wilson.movie.library.benchmarks;
+
+import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.resource.model.Movie;
+import com.wilson.movie.library.resource.utils.Adapters;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of movie entities to DTOs by {@link Adapters}, for 1, 100 and 10,000
+ * rows.
+ *
+ * @author Zach Wilson
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdaptersBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int rows;
+
+    private List<MovieEntity> movies;
+
+    @Setup
+    public void setUp() {
+        movies = Fixtures.movies(rows);
+    }
+
+    @Benchmark
+    public Collection<Movie> toMovies() {
+        return Adapters.toMovies(movies);
+    }
+
+}
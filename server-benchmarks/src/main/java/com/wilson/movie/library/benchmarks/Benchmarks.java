@@ -0,0 +1,34 @@
+package com.wilson.movie.library.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the allocation profiler ({@code -prof gc}) always enabled.
+ * <p>
+ * Accepts the usual JMH command line options, e.g., {@code java -jar target/benchmarks.jar Json -p rows=100}.
+ *
+ * @author Zach Wilson
+ */
+public final class Benchmarks {
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                           .parent(new CommandLineOptions(args))
+                           .addProfiler(GCProfiler.class)
+                           .build())
+                .run();
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.wilson.movie.library.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wilson.movie.library.MovieLibraryApplication;
+import com.wilson.movie.library.resource.model.Movie;
+import com.wilson.movie.library.resource.utils.Adapters;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the throughput of creating movies over HTTP, either with one {@code POST /movies/_bulk}
+ * per batch or with one {@code POST /movies} per movie, against an in-memory H2 database. Each
+ * operation is one movie, so both benchmarks report movies created per second. The request bodies
+ * are serialized once, before the benchmarks run.
+ *
+ * @author Zach Wilson
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+    private RestTemplate restTemplate;
+    private URI moviesUri;
+    private URI bulkUri;
+
+    private List<HttpEntity<byte[]>> singleRequests;
+    private HttpEntity<byte[]> bulkRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Devtools would otherwise restart the application in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Command line arguments take precedence over application.properties
+        context = new SpringApplicationBuilder(MovieLibraryApplication.class)
+                .run("--spring.main.banner-mode=off",
+                     "--logging.level.root=warn",
+                     "--server.port=0",
+                     "--spring.datasource.url=jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1",
+                     "--spring.datasource.username=sa",
+                     "--spring.datasource.password=sa",
+                     "--spring.datasource.driver-class-name=org.h2.Driver",
+                     "--flyway.locations=classpath:db/migration");
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO RATING (ID, VERSION, NAME) VALUES (1, 0, 'PG-13')");
+        jdbcTemplate.update("INSERT INTO GENRE (ID, VERSION, NAME) VALUES (1, 0, 'Science Fiction')");
+        jdbcTemplate.update("INSERT INTO LANGUAGE (ID, VERSION, NAME) VALUES (1, 0, 'English')");
+
+        String baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        moviesUri = URI.create(baseUri + "/movies");
+        bulkUri = URI.create(baseUri + "/movies/_bulk");
+        restTemplate = new RestTemplate();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        List<Movie> movies = new ArrayList<>(Adapters.toMovies(Fixtures.movies(BATCH_SIZE)));
+        singleRequests = new ArrayList<>(BATCH_SIZE);
+        for (Movie movie : movies) {
+            singleRequests.add(new HttpEntity<>(objectMapper.writeValueAsBytes(movie), headers));
+        }
+        bulkRequest = new HttpEntity<>(objectMapper.writeValueAsBytes(movies), headers);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public ResponseEntity<byte[]> bulk() {
+        return restTemplate.postForEntity(bulkUri, bulkRequest, byte[].class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<URI> single() {
+        List<URI> locations = new ArrayList<>(BATCH_SIZE);
+        for (HttpEntity<byte[]> request : singleRequests) {
+            locations.add(restTemplate.postForLocation(moviesUri, request));
+        }
+        return locations;
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.wilson.movie.library.benchmarks;
+
+import com.wilson.movie.library.MovieLibraryApplication;
+import com.wilson.movie.library.domain.CreditEntity;
+import com.wilson.movie.library.service.CreditService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the credits of a movie and the filmography of a person through {@link CreditService},
+ * against an in-memory H2 database holding 10,000,000 credits. Each movie has 20 credits and each
+ * person 10, so a query that does not use its index scans the whole table.
+ * <p>
+ * Loading the credits takes a while and needs the larger heap the fork is given. For a quick run,
+ * use fewer credits, e.g., {@code java -jar target/benchmarks.jar Credits -p credits=100000}.
+ *
+ * @author Zach Wilson
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class CreditsBenchmark {
+
+    private static final int CREDITS_PER_MOVIE = 20;
+    private static final int CREDITS_PER_PERSON = 10;
+    private static final int ROWS_PER_INSERT = 1_000_000;
+
+    @Param({"10000000"})
+    private int credits;
+
+    private ConfigurableApplicationContext context;
+    private CreditService creditService;
+
+    private int movies;
+    private int persons;
+
+    @Setup
+    public void setUp() {
+        // Devtools would otherwise restart the application in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Command line arguments take precedence over application.properties
+        context = new SpringApplicationBuilder(MovieLibraryApplication.class)
+                .web(false)
+                .run("--spring.main.banner-mode=off",
+                     "--logging.level.root=warn",
+                     "--spring.datasource.url=jdbc:h2:mem:credits;DB_CLOSE_DELAY=-1",
+                     "--spring.datasource.username=sa",
+                     "--spring.datasource.password=sa",
+                     "--spring.datasource.driver-class-name=org.h2.Driver",
+                     "--flyway.locations=classpath:db/migration");
+        creditService = context.getBean(CreditService.class);
+
+        movies = Math.max(1, credits / CREDITS_PER_MOVIE);
+        persons = Math.max(1, credits / CREDITS_PER_PERSON);
+        load(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CreditEntity> getAllByMovieId() {
+        return creditService.getAllByMovieId(ThreadLocalRandom.current().nextInt(1, movies + 1));
+    }
+
+    @Benchmark
+    public List<CreditEntity> getAllByPersonId() {
+        return creditService.getAllByPersonId(ThreadLocalRandom.current().nextInt(1, persons + 1));
+    }
+
+    /**
+     * Generates the rows in the database itself, one range of IDs per statement.
+     */
+    private void load(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO RATING (ID, VERSION, NAME) VALUES (1, 0, 'PG-13')");
+        jdbcTemplate.update("INSERT INTO GENRE (ID, VERSION, NAME) VALUES (1, 0, 'Science Fiction')");
+        jdbcTemplate.update("INSERT INTO LANGUAGE (ID, VERSION, NAME) VALUES (1, 0, 'English')");
+        for (int from = 1; from <= persons; from += ROWS_PER_INSERT) {
+            jdbcTemplate.update("INSERT INTO PERSON (ID, VERSION, FIRST_NAME, LAST_NAME, FIRST_NAME_KEY, LAST_NAME_KEY, DATE_OF_BIRTH) "
+                                + "SELECT X, 0, 'First ' || X, 'Last ' || X, 'first ' || X, 'last ' || X, "
+                                + "DATEADD('DAY', MOD(X, 20000), DATE '1940-01-01') "
+                                + "FROM SYSTEM_RANGE(?, ?)",
+                                from, Math.min(from + ROWS_PER_INSERT - 1, persons));
+        }
+        for (int from = 1; from <= movies; from += ROWS_PER_INSERT) {
+            jdbcTemplate.update("INSERT INTO MOVIE (ID, VERSION, TITLE, RELEASE_DATE, STUDIO, RATING_ID, GENRE_ID, LANGUAGE_ID) "
+                                + "SELECT X, 0, 'Movie ' || X, DATEADD('DAY', MOD(X, 30000), DATE '1930-01-01'), 'Studio', 1, 1, 1 "
+                                + "FROM SYSTEM_RANGE(?, ?)",
+                                from, Math.min(from + ROWS_PER_INSERT - 1, movies));
+        }
+        // Consecutive credits belong to the same movie, while a prime stride scatters each person's credits
+        for (int from = 1; from <= credits; from += ROWS_PER_INSERT) {
+            jdbcTemplate.update("INSERT INTO CREDIT (ID, VERSION, PERSON_ID, MOVIE_ID, ROLE, BILLING_ORDER) "
+                                + "SELECT X, 0, MOD((X - 1) * 7919, ?) + 1, (X - 1) / ? + 1, "
+                                + "CASEWHEN(MOD(X - 1, ?) = 0, 'Director', 'Actor'), MOD(X - 1, ?) "
+                                + "FROM SYSTEM_RANGE(?, ?)",
+                                persons, CREDITS_PER_MOVIE, CREDITS_PER_MOVIE, CREDITS_PER_MOVIE,
+                                from, Math.min(from + ROWS_PER_INSERT - 1, credits));
+        }
+    }
+
+}
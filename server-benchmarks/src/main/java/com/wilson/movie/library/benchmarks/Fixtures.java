@@ -0,0 +1,78 @@
+package com.wilson.movie.library.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wilson.movie.library.domain.GenreEntity;
+import com.wilson.movie.library.domain.LanguageEntity;
+import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.RatingEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.annotation.Nonnull;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provides deterministic data for the benchmarks.
+ *
+ * @author Zach Wilson
+ */
+final class Fixtures {
+
+    private static final RatingEntity RATING = new RatingEntity("PG-13", "Parents strongly cautioned");
+    private static final GenreEntity GENRE = new GenreEntity("Science Fiction");
+    private static final LanguageEntity LANGUAGE = new LanguageEntity("English");
+
+    static {
+        RATING.setId(1);
+        GENRE.setId(1);
+        LANGUAGE.setId(1);
+    }
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Creates an object mapper configured the way Spring Boot configures the application's.
+     *
+     * @return a new object mapper.
+     */
+    @Nonnull
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * Creates movies with IDs from 1 to {@code count}, inclusive, all sharing the same rating,
+     * genre and language.
+     *
+     * @param count the number of movies.
+     * @return the new movies.
+     */
+    @Nonnull
+    static List<MovieEntity> movies(int count) {
+        List<MovieEntity> movies = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            MovieEntity movie = new MovieEntity("Movie " + i,
+                                                LocalDate.of(1980, 5, 23).plusDays(i),
+                                                "Studio " + (i % 50),
+                                                RATING,
+                                                GENRE,
+                                                LANGUAGE,
+                                                "A plot summary of typical length for movie " + i
+                                                + ", long enough to be representative of real data.",
+                                                i % 2 == 0 ? "Notes for movie " + i : null);
+            movie.setId(i);
+            movies.add(movie);
+        }
+        return movies;
+    }
+
+}
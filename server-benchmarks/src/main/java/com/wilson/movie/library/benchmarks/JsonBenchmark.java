@@ -0,0 +1,61 @@
+package com.wilson.movie.library.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wilson.movie.library.resource.model.Movie;
+import com.wilson.movie.library.resource.utils.Adapters;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the serialization of movie DTOs to JSON and back with the application's object
+ * mapper, for 1, 100 and 10,000 rows. Exercises {@link com.wilson.movie.library.resource.utils.Serializers.LocalDateSerializer}
+ * and {@link com.wilson.movie.library.resource.utils.Deserializers.LocalDateDeserializer}.
+ *
+ * @author Zach Wilson
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int rows;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    private List<Movie> movies;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        writer = objectMapper.writerFor(new TypeReference<List<Movie>>() {});
+        reader = objectMapper.readerFor(new TypeReference<List<Movie>>() {});
+
+        movies = new ArrayList<>(Adapters.toMovies(Fixtures.movies(rows)));
+        json = writer.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public byte[] writeMovies() throws IOException {
+        return writer.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public Collection<Movie> readMovies() throws IOException {
+        return reader.readValue(json);
+    }
+
+}
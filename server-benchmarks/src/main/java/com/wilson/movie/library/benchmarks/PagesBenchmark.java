@@ -0,0 +1,88 @@
+package com.wilson.movie.library.benchmarks;
+
+import com.wilson.movie.library.MovieLibraryApplication;
+import com.wilson.movie.library.resource.model.Movie;
+import com.wilson.movie.library.resource.utils.Adapters;
+import com.wilson.movie.library.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a page of movie DTOs read through {@link MovieService}, either from managed entities
+ * or from views selected directly by the query, against an in-memory H2 database holding 100,000
+ * movies. Run through {@link Benchmarks}, the allocation per page is reported as
+ * {@code gc.alloc.rate.norm}.
+ *
+ * @author Zach Wilson
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PagesBenchmark {
+
+    @Param({"100000"})
+    private int movies;
+
+    @Param({"100"})
+    private int limit;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+
+    @Setup
+    public void setUp() {
+        // Devtools would otherwise restart the application in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Command line arguments take precedence over application.properties
+        context = new SpringApplicationBuilder(MovieLibraryApplication.class)
+                .web(false)
+                .run("--spring.main.banner-mode=off",
+                     "--logging.level.root=warn",
+                     "--spring.datasource.url=jdbc:h2:mem:pages;DB_CLOSE_DELAY=-1",
+                     "--spring.datasource.username=sa",
+                     "--spring.datasource.password=sa",
+                     "--spring.datasource.driver-class-name=org.h2.Driver",
+                     "--flyway.locations=classpath:db/migration");
+        movieService = context.getBean(MovieService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO RATING (ID, VERSION, NAME) VALUES (1, 0, 'PG-13')");
+        jdbcTemplate.update("INSERT INTO GENRE (ID, VERSION, NAME) VALUES (1, 0, 'Science Fiction')");
+        jdbcTemplate.update("INSERT INTO LANGUAGE (ID, VERSION, NAME) VALUES (1, 0, 'English')");
+        jdbcTemplate.update("INSERT INTO MOVIE (ID, VERSION, TITLE, RELEASE_DATE, STUDIO, RATING_ID, GENRE_ID, "
+                            + "LANGUAGE_ID, PLOT_SUMMARY) "
+                            + "SELECT X, 0, 'Movie ' || X, DATEADD('DAY', MOD(X, 30000), DATE '1930-01-01'), "
+                            + "'Studio', 1, 1, 1, 'A plot summary of a few words' "
+                            + "FROM SYSTEM_RANGE(1, ?)",
+                            movies);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Collection<Movie> entities() {
+        return Adapters.toMovies(movieService.getAllAfter(nextCursor(), limit));
+    }
+
+    @Benchmark
+    public Collection<Movie> views() {
+        return Adapters.toMovies(movieService.getViewsAfter(nextCursor(), limit));
+    }
+
+    private int nextCursor() {
+        return ThreadLocalRandom.current().nextInt(0, movies - limit);
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.wilson.movie.library.benchmarks;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.wilson.movie.library.MovieLibraryApplication;
+import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks chunked inserts and lookups by release date through {@link MovieService} against an
+ * embedded MariaDB server, started with MariaDB4j, for each set of driver options:
+ * <ul>
+ *     <li>{@code plain}: the defaults of the driver, i.e., client-side prepared statements.</li>
+ *     <li>{@code server-prepared}: server-side prepared statements, cached per connection.</li>
+ *     <li>{@code rewritten}: batched inserts rewritten into multi-row inserts, which makes the
+ *         driver fall back to client-side prepared statements.</li>
+ * </ul>
+ * The Hibernate settings of the application apply to every set.
+ *
+ * @author Zach Wilson
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    private static final String DATABASE = "movies";
+
+    private static final LocalDate FIRST_RELEASE_DATE = Fixtures.movies(1).get(0).getReleaseDate();
+
+    @Param({"plain", "server-prepared", "rewritten"})
+    private String driverOptions;
+
+    @Param({"10000"})
+    private int movies;
+
+    @Param({"1000"})
+    private int chunkSize;
+
+    private DB database;
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+
+    @Setup
+    public void setUp() throws Exception {
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder();
+        builder.setPort(0);
+        if ("root".equals(System.getProperty("user.name"))) {
+            // The server refuses to run as root unless told to
+            builder.addArg("--user=root");
+        }
+        DBConfiguration configuration = builder.build();
+        database = DB.newEmbeddedDB(configuration);
+        database.start();
+
+        // Devtools would otherwise restart the application in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Command line arguments take precedence over application.properties; the embedded server
+        // skips authentication, so any password will do
+        context = new SpringApplicationBuilder(MovieLibraryApplication.class)
+                .web(false)
+                .run("--spring.main.banner-mode=off",
+                     "--logging.level.root=warn",
+                     "--spring.datasource.url=" + url(configuration),
+                     "--spring.datasource.username=root",
+                     "--spring.datasource.password=root");
+        movieService = context.getBean(MovieService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO RATING (ID, VERSION, NAME) VALUES (1, 0, 'PG-13')");
+        jdbcTemplate.update("INSERT INTO GENRE (ID, VERSION, NAME) VALUES (1, 0, 'Science Fiction')");
+        jdbcTemplate.update("INSERT INTO LANGUAGE (ID, VERSION, NAME) VALUES (1, 0, 'English')");
+        movieService.createAll(newMovies(movies, "Movie "));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        database.stop();
+    }
+
+    @Benchmark
+    public List<MovieEntity> insertChunk() {
+        return movieService.createAll(newMovies(chunkSize, "Inserted movie "));
+    }
+
+    @Benchmark
+    public Collection<MovieEntity> getAllByReleaseDate() {
+        // Each movie of the fixtures has a release date of its own, found with the release date index
+        return movieService.getAllByReleaseDate(FIRST_RELEASE_DATE.plusDays(ThreadLocalRandom.current().nextInt(movies)));
+    }
+
+    private String url(DBConfiguration configuration) {
+        // Creating the database through the driver saves running the mysql client
+        String url = "jdbc:mariadb://localhost:" + configuration.getPort() + "/" + DATABASE
+                     + "?createDatabaseIfNotExist=true";
+        switch (driverOptions) {
+            case "plain":
+                return url;
+            case "server-prepared":
+                return url + "&useServerPrepStmts=true&cachePrepStmts=true&prepStmtCacheSize=250"
+                       + "&prepStmtCacheSqlLimit=2048";
+            case "rewritten":
+                return url + "&rewriteBatchedStatements=true";
+            default:
+                throw new IllegalArgumentException("Unknown driver options: " + driverOptions);
+        }
+    }
+
+    private static List<MovieEntity> newMovies(int count, String titlePrefix) {
+        List<MovieEntity> movies = Fixtures.movies(count);
+        // The IDs of the fixtures are replaced by the generated ones
+        for (MovieEntity movie : movies) {
+            movie.setTitle(titlePrefix + movie.getId());
+        }
+        return movies;
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.wilson.movie.library.datasource;
+
+import com.wilson.movie.library.metrics.ConnectionPoolMetrics;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Configures the HikariCP connection pools of the primary database and, when
+ * {@code movie-library.datasource.replica.jdbc-url} is set, of a replica database to which
+ * read-only transactions are sent.
+ * <p>
+ * The primary database is configured by the usual {@code spring.datasource.*} properties and its
+ * pool by {@code spring.datasource.hikari.*}; the replica and its pool by
+ * {@code movie-library.datasource.replica.*}, e.g., {@code jdbc-url} and {@code maximum-pool-size}.
+ * The pools are not beans of their own: Spring Boot initializes the schema through the first data
+ * source bean it sees created, which must be the one used by JPA.
+ *
+ * @author Zach Wilson
+ */
+@Configuration
+@Slf4j
+public class DataSourceConfiguration {
+
+    /**
+     * Fewest connections in a pool whose size is not configured, leaving room for the import
+     * workers and multi-get threads on machines with few cores.
+     */
+    static final int MIN_DEFAULT_POOL_SIZE = 10;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig primaryPoolConfig(DataSourceProperties properties) {
+        HikariConfig config = defaultPoolConfig("primary");
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        return config;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "movie-library.datasource.replica", name = "jdbc-url")
+    @ConfigurationProperties("movie-library.datasource.replica")
+    public HikariConfig replicaPoolConfig(DataSourceProperties properties) {
+        // Unless configured otherwise, the replica is accessed like the primary
+        HikariConfig config = defaultPoolConfig("replica");
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        return config;
+    }
+
+    /**
+     * The data source used by JPA, JDBC templates and schema initialization.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryPoolConfig") HikariConfig primaryPoolConfig,
+            @Qualifier("replicaPoolConfig") Optional<HikariConfig> replicaPoolConfig,
+            ConnectionPoolMetrics metrics) {
+        DataSource primary = createPool(primaryPoolConfig, metrics);
+        if (!replicaPoolConfig.isPresent()) {
+            return primary;
+        }
+
+        DataSource replica = createPool(replicaPoolConfig.get(), metrics);
+        log.info("Routing read-only transactions to replica: {}", replicaPoolConfig.get().getJdbcUrl());
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+
+    @PreDestroy
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource createPool(HikariConfig config, ConnectionPoolMetrics metrics) {
+        config.setMetricsTrackerFactory(metrics);
+        HikariDataSource pool = new HikariDataSource(config);
+        pools.add(pool);
+        log.debug("Created connection pool {} of up to {} connections", config.getPoolName(),
+                config.getMaximumPoolSize());
+        return pool;
+    }
+
+    /**
+     * @return the settings of a pool, before its configured properties are bound to them.
+     */
+    static HikariConfig defaultPoolConfig(String poolName) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setMaximumPoolSize(defaultPoolSize(Runtime.getRuntime().availableProcessors()));
+        return config;
+    }
+
+    /**
+     * HikariCP's rule of thumb: twice the number of cores, plus one for the disk.
+     */
+    static int defaultPoolSize(int cores) {
+        return Math.max(2 * cores + 1, MIN_DEFAULT_POOL_SIZE);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.wilson.movie.library.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.Nonnull;
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes the connections of read-only transactions to a replica database and every other
+ * connection, including those used outside a transaction, to the primary database.
+ * <p>
+ * Whether a transaction is read-only is only known once it has begun, after the JPA transaction
+ * manager has already asked for a connection. This data source must therefore be wrapped in a
+ * {@link LazyConnectionDataSourceProxy}, which only gets a connection for the first statement.
+ *
+ * @author Zach Wilson
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    public ReadWriteRoutingDataSource(@Nonnull DataSource primary, @Nonnull DataSource replica) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.PRIMARY, primary);
+        targets.put(Route.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+}
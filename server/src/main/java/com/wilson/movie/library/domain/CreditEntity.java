@@ -0,0 +1,86 @@
+package com.wilson.movie.library.domain;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Null;
+
+/**
+ * Credit JPA entity: the role a person has in either a movie or a TV show.
+ * <p>
+ * The person, movie and TV show are loaded lazily, so only the queries that need them join them.
+ * Their IDs are also mapped as read-only columns, which can be read without loading them. Credits
+ * are deleted by the database along with their person, movie or TV show.
+ *
+ * @author Zach Wilson
+ */
+@Table(name = "CREDIT",
+       indexes = {@Index(name = "CREDIT_MOVIE_ID_BILLING_ORDER_IDX", columnList = "MOVIE_ID, BILLING_ORDER"),
+                  @Index(name = "CREDIT_TV_SHOW_ID_BILLING_ORDER_IDX", columnList = "TV_SHOW_ID, BILLING_ORDER"),
+                  @Index(name = "CREDIT_PERSON_ID_IDX", columnList = "PERSON_ID")})
+@Entity(name = "Credit")
+@Data
+@ToString(exclude = {"person", "movie", "tvShow"})
+@EqualsAndHashCode(exclude = {"person", "movie", "tvShow"})
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CreditEntity {
+
+    @Id
+    @Column(name = "ID", nullable = false)
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // identity = auto increment
+    private int id;
+
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Integer version;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "PERSON_ID", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private PersonEntity person;
+
+    @Column(name = "PERSON_ID", insertable = false, updatable = false)
+    private Integer personId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "MOVIE_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private MovieEntity movie;
+
+    @Column(name = "MOVIE_ID", insertable = false, updatable = false)
+    private Integer movieId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "TV_SHOW_ID")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private TvShowEntity tvShow;
+
+    @Column(name = "TV_SHOW_ID", insertable = false, updatable = false)
+    private Integer tvShowId;
+
+    @Column(name = "ROLE", nullable = false, length = 100)
+    private String role;
+
+    @Column(name = "BILLING_ORDER", nullable = false)
+    private int billingOrder;
+
+    public CreditEntity(@NotNull PersonEntity person, @Null MovieEntity movie, @Null TvShowEntity tvShow,
+            @NotNull String role, int billingOrder) {
+        this.person = person;
+        this.personId = person.getId();
+        this.movie = movie;
+        this.movieId = movie != null ? movie.getId() : null;
+        this.tvShow = tvShow;
+        this.tvShowId = tvShow != null ? tvShow.getId() : null;
+        this.role = role;
+        this.billingOrder = billingOrder;
+    }
+
+}
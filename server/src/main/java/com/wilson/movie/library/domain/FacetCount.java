@@ -0,0 +1,30 @@
+package com.wilson.movie.library.domain;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Number of movies or TV shows that have a given rating, genre or language.
+ *
+ * @author Zach Wilson
+ */
+@Value
+public class FacetCount {
+
+    public static final String RATING = "rating";
+    public static final String GENRE = "genre";
+    public static final String LANGUAGE = "language";
+
+    /**
+     * The attributes that movies and TV shows are counted by.
+     */
+    public static final List<String> FACETS = Collections.unmodifiableList(Arrays.asList(RATING, GENRE, LANGUAGE));
+
+    private final int id;
+    private final String name;
+    private final long count;
+
+}
@@ -3,6 +3,8 @@ package com.wilson.movie.library.domain;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -14,10 +16,14 @@ import java.time.LocalDate;
  *
  * @author Zach Wilson
  */
-@Table(name = "MOVIE")
+@Table(name = "MOVIE", indexes = {@Index(name = "MOVIE_TITLE_IDX", columnList = "TITLE"),
+                                  @Index(name = "MOVIE_STUDIO_IDX", columnList = "STUDIO"),
+                                  @Index(name = "MOVIE_RELEASE_DATE_IDX", columnList = "RELEASE_DATE")})
 @Entity(name = "Movie")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
-@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class MovieEntity {
 
     @Id
@@ -25,6 +31,10 @@ public class MovieEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY) // identity = auto increment
     private int id;
 
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Integer version;
+
     @Column(name = "TITLE", nullable = false)
     private String title;
 
@@ -0,0 +1,90 @@
+package com.wilson.movie.library.domain;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Normalizes names into keys that can be compared and prefix-matched with an index, ignoring case
+ * and accents: "Zoë Saldaña" and "zoe saldana" have the same keys.
+ * <p>
+ * A key holds only lower case letters and digits, with single spaces between words. Accents are
+ * removed, hyphens are treated as spaces, and other punctuation is dropped, e.g., "O'Brien-Smith"
+ * becomes "obrien smith".
+ *
+ * @author Zach Wilson
+ */
+public final class NameKeys {
+
+    /**
+     * Longest key, in characters, matching the length of the name columns.
+     */
+    public static final int MAX_LENGTH = 100;
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private NameKeys() {
+    }
+
+    /**
+     * @param name a name, or any text.
+     * @return the key of the name, or {@code null} if {@code name} is {@code null}.
+     */
+    @Nullable
+    public static String of(@Nullable String name) {
+        if (name == null) {
+            return null;
+        }
+
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFKD);
+        StringBuilder key = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length() && key.length() < MAX_LENGTH; i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && key.length() > 0) {
+                    key.append(' ');
+                }
+                pendingSpace = false;
+                key.append(Character.toLowerCase(c));
+            } else if (Character.isWhitespace(c) || c == '-') {
+                pendingSpace = true;
+            }
+        }
+        return key.length() <= MAX_LENGTH ? key.toString() : key.substring(0, MAX_LENGTH).trim();
+    }
+
+    /**
+     * @param text a query, e.g., "tom han".
+     * @return the keys of the words of the text, e.g., ["tom", "han"]; empty if it has none.
+     */
+    @Nonnull
+    public static List<String> words(@Nonnull String text) {
+        String key = of(text);
+        return key.isEmpty() ? Collections.emptyList() : Arrays.asList(key.split(" "));
+    }
+
+    /**
+     * @param names names or their keys, e.g., the first, middle and last names of a person; each
+     *        may be {@code null}.
+     * @return the distinct keys of the words of the names, in order, e.g., ["robert", "de", "niro"].
+     */
+    @Nonnull
+    public static Set<String> wordsOf(@Nonnull String... names) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name != null) {
+                words.addAll(words(name));
+            }
+        }
+        return words;
+    }
+
+}
@@ -3,6 +3,9 @@ package com.wilson.movie.library.domain;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -14,10 +17,17 @@ import java.time.LocalDate;
  *
  * @author Zach Wilson
  */
-@Table(name = "PERSON")
+@Table(name = "PERSON", indexes = {
+        @Index(name = "PERSON_FIRST_NAME_KEY_IDX", columnList = "FIRST_NAME_KEY"),
+        @Index(name = "PERSON_MIDDLE_NAME_KEY_IDX", columnList = "MIDDLE_NAME_KEY"),
+        @Index(name = "PERSON_LAST_NAME_KEY_IDX", columnList = "LAST_NAME_KEY"),
+        @Index(name = "PERSON_DATE_OF_BIRTH_IDX", columnList = "DATE_OF_BIRTH"),
+        @Index(name = "PERSON_DATE_OF_DEATH_IDX", columnList = "DATE_OF_DEATH")})
 @Entity(name = "Person")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
-@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class PersonEntity {
 
     @Id
@@ -25,6 +35,10 @@ public class PersonEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY) // identity = auto increment
     private int id;
 
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Integer version;
+
     @Column(name = "FIRST_NAME", nullable = false, length = 100)
     private String firstName;
 
@@ -34,6 +48,19 @@ public class PersonEntity {
     @Column(name = "LAST_NAME", nullable = false, length = 100)
     private String lastName;
 
+    // Keys of the names (see NameKeys), kept in step with the names whenever the person is saved
+    @Setter(AccessLevel.NONE)
+    @Column(name = "FIRST_NAME_KEY", nullable = false, length = 100)
+    private String firstNameKey;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "MIDDLE_NAME_KEY", length = 100)
+    private String middleNameKey;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "LAST_NAME_KEY", nullable = false, length = 100)
+    private String lastNameKey;
+
     @Column(name = "DATE_OF_BIRTH", nullable = false)
     private LocalDate dateOfBirth;
 
@@ -44,6 +71,7 @@ public class PersonEntity {
         this.firstName = firstName;
         this.lastName = lastName;
         this.dateOfBirth = dateOfBirth;
+        updateNameKeys();
     }
 
     public PersonEntity(@NotNull String firstName, @Null String middleName, @NotNull String lastName,
@@ -53,6 +81,15 @@ public class PersonEntity {
         this.lastName = lastName;
         this.dateOfBirth = dateOfBirth;
         this.dateOfDeath = dateOfDeath;
+        updateNameKeys();
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKeys() {
+        firstNameKey = NameKeys.of(firstName);
+        middleNameKey = NameKeys.of(middleName);
+        lastNameKey = NameKeys.of(lastName);
     }
 
 }
@@ -0,0 +1,24 @@
+package com.wilson.movie.library.domain;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only person, selected directly by a query. Unlike {@link PersonEntity}, it is never
+ * managed: Hibernate builds no entity or snapshot for it.
+ *
+ * @author Zach Wilson
+ */
+@Value
+public class PersonView {
+
+    private final int id;
+    private final Integer version;
+    private final String firstName;
+    private final String middleName;
+    private final String lastName;
+    private final LocalDate dateOfBirth;
+    private final LocalDate dateOfDeath;
+
+}
@@ -3,6 +3,8 @@ package com.wilson.movie.library.domain;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -15,6 +17,8 @@ import javax.validation.constraints.Null;
  */
 @Table(name = "RATING")
 @Entity(name = "Rating")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class RatingEntity {
@@ -24,6 +28,10 @@ public class RatingEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY) // identity = auto increment
     private int id;
 
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Integer version;
+
     @Column(name = "NAME", nullable = false, length = 100, unique = true)
     private String name;
 
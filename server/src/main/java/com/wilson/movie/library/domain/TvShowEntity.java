@@ -3,6 +3,8 @@ package com.wilson.movie.library.domain;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -13,10 +15,14 @@ import java.time.LocalDate;
  *
  * @author Zach Wilson
  */
-@Table(name = "TV_SHOW")
+@Table(name = "TV_SHOW", indexes = {@Index(name = "TV_SHOW_TITLE_IDX", columnList = "TITLE"),
+                                    @Index(name = "TV_SHOW_NETWORK_IDX", columnList = "NETWORK"),
+                                    @Index(name = "TV_SHOW_DATE_AIRED_IDX", columnList = "DATE_AIRED")})
 @Entity(name = "TvShow")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
-@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class TvShowEntity {
 
     @Id
@@ -24,6 +30,10 @@ public class TvShowEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY) // identity = auto increment
     private int id;
 
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Integer version;
+
     @Column(name = "TITLE", nullable = false, length = 100)
     private String title;
 
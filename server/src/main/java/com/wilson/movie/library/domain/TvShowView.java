@@ -0,0 +1,28 @@
+package com.wilson.movie.library.domain;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only TV show, selected directly by a query together with the names of its rating, genre
+ * and language. Unlike {@link TvShowEntity}, it is never managed: Hibernate builds no entity,
+ * snapshot or association for it.
+ *
+ * @author Zach Wilson
+ */
+@Value
+public class TvShowView {
+
+    private final int id;
+    private final Integer version;
+    private final String title;
+    private final LocalDate dateAired;
+    private final String network;
+    private final String rating;
+    private final String genre;
+    private final String language;
+    private final String plotSummary;
+    private final boolean series;
+
+}
@@ -0,0 +1,104 @@
+package com.wilson.movie.library.metrics;
+
+import com.zaxxer.hikari.metrics.MetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exposes the connections and connection wait times of each HikariCP pool through the actuator
+ * metrics endpoint, e.g., {@code connection-pool.primary.pending} and
+ * {@code connection-pool.primary.acquire.p99}.
+ * <p>
+ * The acquire and usage times of connections are recorded in {@link LatencyHistogram}s and
+ * published as percentiles, in milliseconds.
+ *
+ * @author Zach Wilson
+ */
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory, PublicMetrics {
+
+    private final ConcurrentMap<String, Pool> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public MetricsTracker create(String poolName, PoolStats poolStats) {
+        Pool pool = new Pool(poolName, poolStats);
+        pools.put(poolName, pool);
+        return pool;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        Collection<Metric<?>> metrics = new ArrayList<>();
+        pools.forEach((poolName, pool) -> {
+            String prefix = "connection-pool." + poolName;
+
+            metrics.add(new Metric<>(prefix + ".total", pool.stats.getTotalConnections()));
+            metrics.add(new Metric<>(prefix + ".active", pool.stats.getActiveConnections()));
+            metrics.add(new Metric<>(prefix + ".idle", pool.stats.getIdleConnections()));
+            metrics.add(new Metric<>(prefix + ".pending", pool.stats.getPendingThreads()));
+            metrics.add(new Metric<>(prefix + ".timeouts", pool.timeouts.get()));
+            addPercentiles(metrics, prefix + ".acquire", pool.acquireTimes);
+            addPercentiles(metrics, prefix + ".usage", pool.usageTimes);
+        });
+        return metrics;
+    }
+
+    private static void addPercentiles(Collection<Metric<?>> metrics, String prefix, LatencyHistogram histogram) {
+        for (Map.Entry<String, Object> percentile : LatencyHistogram.percentiles(histogram.snapshot()).entrySet()) {
+            metrics.add(new Metric<>(prefix + "." + percentile.getKey(), (Number) percentile.getValue()));
+        }
+    }
+
+    /**
+     * Metrics of a single pool, recorded by the pool itself.
+     */
+    private final class Pool extends MetricsTracker {
+
+        private final String name;
+
+        private final PoolStats stats;
+
+        private final LatencyHistogram acquireTimes = new LatencyHistogram();
+
+        private final LatencyHistogram usageTimes = new LatencyHistogram();
+
+        private final AtomicLong timeouts = new AtomicLong();
+
+        private Pool(String name, PoolStats stats) {
+            this.name = name;
+            this.stats = stats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireTimes.record(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageTimes.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+            pools.remove(name, this);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.wilson.movie.library.metrics;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Exposes the hit and miss counts and hit ratio of each Hibernate second-level cache region
+ * through the actuator metrics endpoint, e.g., {@code entity-cache.MovieEntity.hit.ratio}.
+ *
+ * @author Zach Wilson
+ */
+@Component
+public class EntityCacheMetrics implements PublicMetrics {
+
+    private final Statistics statistics;
+
+    @Autowired
+    public EntityCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        Collection<Metric<?>> metrics = new ArrayList<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return metrics;
+        }
+
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            SecondLevelCacheStatistics region = statistics.getSecondLevelCacheStatistics(regionName);
+            String prefix = "entity-cache." + ClassUtils.getShortName(regionName);
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+
+            metrics.add(new Metric<>(prefix + ".hits", hits));
+            metrics.add(new Metric<>(prefix + ".misses", misses));
+            metrics.add(new Metric<>(prefix + ".size", region.getElementCountInMemory()));
+            metrics.add(new Metric<>(prefix + ".hit.ratio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0));
+        }
+        return metrics;
+    }
+
+}
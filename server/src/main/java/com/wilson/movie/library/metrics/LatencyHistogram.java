@@ -0,0 +1,76 @@
+package com.wilson.movie.library.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cumulative latency histogram that can be recorded into from many threads without waiting.
+ * <p>
+ * Values are recorded into a {@link Recorder}, whose interval histogram is folded into the
+ * cumulative histogram only when a snapshot is taken.
+ *
+ * @author Zach Wilson
+ */
+final class LatencyHistogram {
+
+    /**
+     * Longest latency that is told apart; longer latencies are recorded as this long.
+     */
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    /**
+     * Precision of the recorded latencies: 2 significant digits, i.e., within 1%.
+     */
+    static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+
+    private final Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+
+    /**
+     * Records a latency.
+     *
+     * @param durationNanos the latency, in nanoseconds.
+     */
+    void record(long durationNanos) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(durationNanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * Takes a snapshot of every latency recorded so far.
+     *
+     * @return a copy of the cumulative histogram, in microseconds.
+     */
+    @Nonnull
+    synchronized Histogram snapshot() {
+        histogram.add(recorder.getIntervalHistogram());
+        return histogram.copy();
+    }
+
+    /**
+     * Summarizes a histogram taken with {@link #snapshot()}.
+     *
+     * @param histogram the histogram to summarize.
+     * @return the p50, p90, p99, p999 and max latencies, in milliseconds.
+     */
+    @Nonnull
+    static Map<String, Object> percentiles(@Nonnull Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", toMillis(histogram.getValueAtPercentile(50.0)));
+        percentiles.put("p90", toMillis(histogram.getValueAtPercentile(90.0)));
+        percentiles.put("p99", toMillis(histogram.getValueAtPercentile(99.0)));
+        percentiles.put("p999", toMillis(histogram.getValueAtPercentile(99.9)));
+        percentiles.put("max", toMillis(histogram.getMaxValue()));
+        return percentiles;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1_000.0;
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.wilson.movie.library.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the latency and the number of rows returned or affected of every call to a service or
+ * repository method.
+ *
+ * @author Zach Wilson
+ */
+@Component
+public class MethodMetrics {
+
+    private final ConcurrentMap<String, Calls> methods = new ConcurrentHashMap<>();
+
+    /**
+     * Records a call to a method.
+     *
+     * @param method the method that was called, e.g., {@code MovieRepository.findAllByStudio}.
+     * @param durationNanos how long the call took, in nanoseconds.
+     * @param rows the number of rows returned or affected, or a negative number if the method does
+     *        not deal in rows.
+     * @param failed whether the call threw an exception.
+     */
+    public void record(@Nonnull String method, long durationNanos, long rows, boolean failed) {
+        Calls calls = methods.computeIfAbsent(method, (m) -> new Calls());
+        calls.latencies.record(durationNanos);
+        if (rows >= 0) {
+            calls.rows.add(rows);
+        }
+        if (failed) {
+            calls.failures.increment();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the metrics of every method.
+     *
+     * @return for each method, its call, failure and row counts and latency percentiles.
+     */
+    @Nonnull
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        methods.forEach((method, calls) -> {
+            Histogram histogram = calls.latencies.snapshot();
+
+            Map<String, Object> methodSnapshot = new LinkedHashMap<>();
+            methodSnapshot.put("count", histogram.getTotalCount());
+            methodSnapshot.put("failures", calls.failures.sum());
+            methodSnapshot.put("rows", calls.rows.sum());
+            methodSnapshot.put("latencyMillis", LatencyHistogram.percentiles(histogram));
+            snapshot.put(method, methodSnapshot);
+        });
+        return snapshot;
+    }
+
+    /**
+     * Metrics of the calls to a single method.
+     */
+    private static final class Calls {
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        private final LongAdder rows = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.wilson.movie.library.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds every call to a service implementation or a repository into {@link MethodMetrics}.
+ * <p>
+ * Runs outside of the transaction and caching advice, so service latencies include commits and
+ * cache hits.
+ *
+ * @author Zach Wilson
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MethodMetricsAspect {
+
+    private final MethodMetrics methodMetrics;
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, String>> names = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MethodMetricsAspect(MethodMetrics methodMetrics) {
+        this.methodMetrics = methodMetrics;
+    }
+
+    @Around("execution(public * com.wilson.movie.library.service.impl.*ServiceImpl.*(..))"
+            + " || execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startNanos = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long durationNanos = System.nanoTime() - startNanos;
+
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            Class<?> targetClass = joinPoint.getTarget().getClass();
+            String name = names.computeIfAbsent(targetClass, (c) -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(method, (m) -> name(targetClass, m));
+
+            methodMetrics.record(name, durationNanos, failed ? -1 : rows(method, result), failed);
+        }
+    }
+
+    /**
+     * Names a method after the type it was called on, e.g., {@code MovieRepository.findAll()}
+     * rather than {@code JpaRepository.findAll()}.
+     */
+    private static String name(Class<?> targetClass, Method method) {
+        String typeName = ClassUtils.getUserClass(targetClass).getSimpleName();
+        if (Proxy.isProxyClass(targetClass)) {
+            typeName = Arrays.stream(targetClass.getInterfaces())
+                    .filter(Repository.class::isAssignableFrom)
+                    .findFirst()
+                    .map(Class::getSimpleName)
+                    .orElse(typeName);
+        }
+
+        return Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(", ", typeName + "." + method.getName() + "(", ")"));
+    }
+
+    /**
+     * Counts the rows returned or affected by a call: the size of a collection, whether an entity
+     * or optional is present, or the count returned by a modifying query.
+     *
+     * @return the number of rows, or -1 if the method does not deal in rows.
+     */
+    private static long rows(Method method, Object result) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class || returnType == boolean.class || returnType == Boolean.class) {
+            return -1;
+        }
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).longValue();
+        }
+        if (result instanceof Iterable || result instanceof AutoCloseable) {
+            // Iterated or streamed by the caller, after the call
+            return -1;
+        }
+        return 1;
+    }
+
+}
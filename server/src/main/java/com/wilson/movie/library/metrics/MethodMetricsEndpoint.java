@@ -0,0 +1,33 @@
+package com.wilson.movie.library.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint, {@code /methods}, exposing the call count, row count and latency
+ * percentiles of every service and repository method.
+ *
+ * @author Zach Wilson
+ */
+@Component
+@ConfigurationProperties(prefix = "endpoints.methods")
+public class MethodMetricsEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    private final MethodMetrics methodMetrics;
+
+    @Autowired
+    public MethodMetricsEndpoint(MethodMetrics methodMetrics) {
+        super("methods");
+        this.methodMetrics = methodMetrics;
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        return methodMetrics.snapshot();
+    }
+
+}
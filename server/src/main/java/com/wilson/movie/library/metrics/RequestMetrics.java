@@ -0,0 +1,104 @@
+package com.wilson.movie.library.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the latency of every request by route and HTTP status in HdrHistograms.
+ * <p>
+ * Recording is wait-free: each route and status has its own {@link LatencyHistogram}.
+ *
+ * @author Zach Wilson
+ */
+@Component
+public class RequestMetrics {
+
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Records the start of a request.
+     *
+     * @param route the route that handles the request, e.g., {@code GET /movies/{id}}.
+     */
+    public void requestStarted(@Nonnull String route) {
+        inFlight.incrementAndGet();
+        routes.computeIfAbsent(route, (r) -> new Route()).inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records the completion of a request started with {@link #requestStarted(String)}.
+     *
+     * @param route the route that handled the request.
+     * @param status the HTTP status of the response.
+     * @param durationNanos how long the request took, in nanoseconds.
+     */
+    public void requestCompleted(@Nonnull String route, int status, long durationNanos) {
+        inFlight.decrementAndGet();
+
+        Route metrics = routes.computeIfAbsent(route, (r) -> new Route());
+        metrics.inFlight.decrementAndGet();
+        metrics.latencies.computeIfAbsent(status, (s) -> new LatencyHistogram()).record(durationNanos);
+    }
+
+    /**
+     * Takes a snapshot of the metrics of every route.
+     *
+     * @return the uptime, in-flight count and, for each route, its in-flight count and the request
+     *         count, rate and latency percentiles of each status.
+     */
+    @Nonnull
+    public Map<String, Object> snapshot() {
+        double uptimeSeconds = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        Map<String, Object> routeSnapshots = new TreeMap<>();
+        routes.forEach((route, metrics) -> {
+            Map<String, Object> routeSnapshot = new LinkedHashMap<>();
+            routeSnapshot.put("inFlight", metrics.inFlight.get());
+
+            Map<String, Object> statusSnapshots = new TreeMap<>();
+            metrics.latencies.forEach((status, latencies) ->
+                    statusSnapshots.put(String.valueOf(status), snapshot(latencies.snapshot(), uptimeSeconds)));
+            routeSnapshot.put("statuses", statusSnapshots);
+
+            routeSnapshots.put(route, routeSnapshot);
+        });
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("uptimeSeconds", uptimeSeconds);
+        snapshot.put("inFlight", inFlight.get());
+        snapshot.put("routes", routeSnapshots);
+        return snapshot;
+    }
+
+    private static Map<String, Object> snapshot(Histogram histogram, double uptimeSeconds) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", histogram.getTotalCount());
+        snapshot.put("ratePerSecond", uptimeSeconds > 0 ? histogram.getTotalCount() / uptimeSeconds : 0.0);
+        snapshot.put("latencyMillis", LatencyHistogram.percentiles(histogram));
+        return snapshot;
+    }
+
+    /**
+     * Metrics of a single route.
+     */
+    private static final class Route {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final ConcurrentMap<Integer, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.wilson.movie.library.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+
+/**
+ * Registers {@link RequestMetricsInterceptor} with Spring MVC.
+ *
+ * @author Zach Wilson
+ */
+@Configuration
+public class RequestMetricsConfiguration extends WebMvcConfigurerAdapter {
+
+    private final RequestMetricsInterceptor requestMetricsInterceptor;
+
+    @Autowired
+    public RequestMetricsConfiguration(RequestMetricsInterceptor requestMetricsInterceptor) {
+        this.requestMetricsInterceptor = requestMetricsInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestMetricsInterceptor);
+    }
+
+}
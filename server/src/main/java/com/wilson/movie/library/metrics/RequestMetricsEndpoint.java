@@ -0,0 +1,33 @@
+package com.wilson.movie.library.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint, {@code /requests}, exposing the latency percentiles, request rate and
+ * in-flight count of every route by HTTP status.
+ *
+ * @author Zach Wilson
+ */
+@Component
+@ConfigurationProperties(prefix = "endpoints.requests")
+public class RequestMetricsEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    private final RequestMetrics requestMetrics;
+
+    @Autowired
+    public RequestMetricsEndpoint(RequestMetrics requestMetrics) {
+        super("requests");
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        return requestMetrics.snapshot();
+    }
+
+}
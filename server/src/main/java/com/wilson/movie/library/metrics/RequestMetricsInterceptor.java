@@ -0,0 +1,61 @@
+package com.wilson.movie.library.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Feeds every handled request into {@link RequestMetrics}, keyed by its HTTP method and the
+ * path pattern of the handler it was mapped to.
+ *
+ * @author Zach Wilson
+ */
+@Component
+public class RequestMetricsInterceptor extends HandlerInterceptorAdapter {
+
+    private static final String START_NANOS_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".startNanos";
+    private static final String ROUTE_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".route";
+
+    private final RequestMetrics requestMetrics;
+
+    @Autowired
+    public RequestMetricsInterceptor(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Error dispatches are part of the request that failed, which has already been recorded
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        String route = request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        request.setAttribute(ROUTE_ATTRIBUTE, route);
+        request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+        requestMetrics.requestStarted(route);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object startNanos = request.getAttribute(START_NANOS_ATTRIBUTE);
+        if (startNanos == null) {
+            return;
+        }
+        request.removeAttribute(START_NANOS_ATTRIBUTE);
+
+        // An exception is only turned into an error response after this point
+        int status = ex != null ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getStatus();
+        requestMetrics.requestCompleted((String) request.getAttribute(ROUTE_ATTRIBUTE), status,
+                                        System.nanoTime() - (Long) startNanos);
+    }
+
+}
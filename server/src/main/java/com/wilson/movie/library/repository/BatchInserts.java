@@ -0,0 +1,85 @@
+package com.wilson.movie.library.repository;
+
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.annotation.Nonnull;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Inserts entities with a single JDBC batch, bypassing the persistence context.
+ *
+ * @author Zach Wilson
+ */
+final class BatchInserts {
+
+    /**
+     * Binds the columns of one entity to the insert statement.
+     */
+    @FunctionalInterface
+    interface Binder<E> {
+
+        void bind(@Nonnull PreparedStatement statement, @Nonnull E entity) throws SQLException;
+
+    }
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private BatchInserts() {
+    }
+
+    /**
+     * Inserts the given entities with a single JDBC batch and assigns each entity its generated ID.
+     *
+     * @param jdbcTemplate the template of the application's data source.
+     * @param sql the insert statement, which must set the version to zero.
+     * @param entities the entities to insert.
+     * @param binder binds the columns of an entity.
+     * @param idSetter sets the generated ID of an entity.
+     * @return the generated IDs, in the same order as {@code entities}.
+     */
+    @Nonnull
+    static <E> List<Integer> insertAll(@Nonnull JdbcTemplate jdbcTemplate, @Nonnull String sql,
+            @Nonnull List<E> entities, @Nonnull Binder<E> binder, @Nonnull ObjIntConsumer<E> idSetter) {
+        if (entities.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<List<Integer>>) (connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (E entity : entities) {
+                    binder.bind(statement, entity);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                List<Integer> ids = new ArrayList<>(entities.size());
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    while (generatedKeys.next()) {
+                        ids.add(generatedKeys.getInt(1));
+                    }
+                }
+                if (ids.size() != entities.size()) {
+                    throw new IncorrectResultSizeDataAccessException(
+                            "Unexpected number of generated IDs", entities.size(), ids.size());
+                }
+
+                for (int i = 0; i < entities.size(); i++) {
+                    idSetter.accept(entities.get(i), ids.get(i));
+                }
+                return ids;
+            }
+        });
+    }
+
+}
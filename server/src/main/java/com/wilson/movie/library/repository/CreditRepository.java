@@ -0,0 +1,58 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.CreditEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+
+/**
+ * Repository for {@link CreditEntity}.
+ * <p>
+ * Credits are read to be shown, so the finders load them read-only and they are never checked for
+ * changes.
+ *
+ * @author Zach Wilson
+ */
+public interface CreditRepository extends JpaRepository<CreditEntity, Integer> {
+
+    /**
+     * Gets the credits of a movie in billing order, fetching each person in the same statement.
+     * Uses the CREDIT_MOVIE_ID_BILLING_ORDER_IDX index.
+     *
+     * @param movieId the ID of the movie.
+     * @return the credits of the movie.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT c FROM Credit c JOIN FETCH c.person WHERE c.movieId = :movieId ORDER BY c.billingOrder, c.id")
+    List<CreditEntity> findAllByMovieId(@Param("movieId") int movieId);
+
+    /**
+     * Gets the credits of a TV show in billing order, fetching each person in the same statement.
+     * Uses the CREDIT_TV_SHOW_ID_BILLING_ORDER_IDX index.
+     *
+     * @param tvShowId the ID of the TV show.
+     * @return the credits of the TV show.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT c FROM Credit c JOIN FETCH c.person WHERE c.tvShowId = :tvShowId ORDER BY c.billingOrder, c.id")
+    List<CreditEntity> findAllByTvShowId(@Param("tvShowId") int tvShowId);
+
+    /**
+     * Gets the credits of a person, oldest first, fetching each movie or TV show together with its
+     * rating, genre and language in the same statement. Uses the CREDIT_PERSON_ID_IDX index.
+     *
+     * @param personId the ID of the person.
+     * @return the credits of the person.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT c FROM Credit c "
+           + "LEFT JOIN FETCH c.movie m LEFT JOIN FETCH m.rating LEFT JOIN FETCH m.genre LEFT JOIN FETCH m.language "
+           + "LEFT JOIN FETCH c.tvShow t LEFT JOIN FETCH t.rating LEFT JOIN FETCH t.genre LEFT JOIN FETCH t.language "
+           + "WHERE c.personId = :personId ORDER BY COALESCE(m.releaseDate, t.dateAired), c.id")
+    List<CreditEntity> findAllByPersonId(@Param("personId") int personId);
+
+}
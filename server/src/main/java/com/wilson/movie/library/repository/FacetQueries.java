@@ -0,0 +1,73 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.FacetCount;
+
+import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the {@code GROUP BY} statements that count movies or TV shows by rating, genre or
+ * language.
+ *
+ * @author Zach Wilson
+ */
+final class FacetQueries {
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private FacetQueries() {
+    }
+
+    /**
+     * Counts the entities matching a filter by the value of one of their attributes, in a single
+     * statement.
+     *
+     * @param entityManager the entity manager of the current transaction.
+     * @param entityClass the class of the entity.
+     * @param facet the attribute to count by, one of {@link FacetCount#FACETS}.
+     * @param dateAttribute the date attribute that {@code from} and {@code to} apply to.
+     * @param from the earliest date, inclusive.
+     * @param to the latest date, inclusive.
+     * @param filter the attributes that must equal the given values. Must name attributes of the
+     *        entity.
+     * @return the count of each value of the facet that at least one entity has, largest first.
+     * @throws IllegalArgumentException if the facet or the filter names no attribute of the entity.
+     */
+    static List<FacetCount> count(@Nonnull EntityManager entityManager, @Nonnull Class<?> entityClass,
+            @Nonnull String facet, @Nonnull String dateAttribute, @Nonnull LocalDate from, @Nonnull LocalDate to,
+            @Nonnull Map<String, Object> filter) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+
+        // Attribute names are part of the statement, so only the entity's own are accepted
+        if (!FacetCount.FACETS.contains(facet)) {
+            throw new IllegalArgumentException("Unknown facet: " + facet);
+        }
+        entityType.getSingularAttribute(facet);
+        entityType.getSingularAttribute(dateAttribute);
+
+        StringBuilder jpql = new StringBuilder("SELECT NEW ").append(FacetCount.class.getName())
+                .append("(f.id, f.name, COUNT(e)) FROM ").append(entityType.getName())
+                .append(" e JOIN e.").append(facet).append(" f WHERE e.").append(dateAttribute)
+                .append(" BETWEEN :from AND :to");
+        for (String attribute : filter.keySet()) {
+            entityType.getSingularAttribute(attribute);
+            jpql.append(" AND e.").append(attribute).append(" = :").append(attribute);
+        }
+        jpql.append(" GROUP BY f.id, f.name ORDER BY COUNT(e) DESC, f.name");
+
+        TypedQuery<FacetCount> query = entityManager.createQuery(jpql.toString(), FacetCount.class)
+                .setParameter("from", from)
+                .setParameter("to", to);
+        filter.forEach(query::setParameter);
+
+        return query.getResultList();
+    }
+
+}
@@ -2,11 +2,13 @@ package com.wilson.movie.library.repository;
 
 import com.wilson.movie.library.domain.GenreEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository for {@link GenreEntity}.
@@ -20,4 +22,40 @@ public interface GenreRepository extends JpaRepository<GenreEntity, Integer> {
     @Query("SELECT g FROM Genre g WHERE g.name LIKE :name")
     GenreEntity findByName(@Nonnull @Param("name") String name);
 
+    @Query("SELECT g.id FROM Genre g WHERE g.id IN :ids")
+    List<Integer> findIdsByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT g.id FROM Genre g")
+    List<Integer> findAllIds();
+
+    @Modifying
+    @Query("DELETE FROM Genre g WHERE g.id IN :ids")
+    int deleteAllByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    /**
+     * Overwrites the genre with the given ID in a single statement and increments its version.
+     *
+     * @param id the ID of the genre.
+     * @param genre the new state of the genre. If its version is not null, only that version is updated.
+     * @return the number of updated rows: zero if no genre has the ID or, when the version is not
+     *         null, if the genre has been updated since that version was read.
+     */
+    default int update(int id, @Nonnull GenreEntity genre) {
+        return genre.getVersion() == null
+                ? updateAnyVersionById(id, genre.getName(), genre.getDescription())
+                : updateById(id, genre.getVersion(), genre.getName(), genre.getDescription());
+    }
+
+    @Modifying
+    @Query("UPDATE Genre g SET g.name = :name, g.description = :description, g.version = g.version + 1 "
+            + "WHERE g.id = :id AND g.version = :version")
+    int updateById(@Param("id") int id, @Param("version") int version, @Param("name") String name,
+            @Param("description") String description);
+
+    @Modifying
+    @Query("UPDATE Genre g SET g.name = :name, g.description = :description, g.version = g.version + 1 "
+            + "WHERE g.id = :id")
+    int updateAnyVersionById(@Param("id") int id, @Param("name") String name,
+            @Param("description") String description);
+
 }
@@ -2,11 +2,13 @@ package com.wilson.movie.library.repository;
 
 import com.wilson.movie.library.domain.LanguageEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository for {@link LanguageEntity}.
@@ -20,4 +22,40 @@ public interface LanguageRepository extends JpaRepository<LanguageEntity, Intege
     @Query("SELECT l FROM Language l WHERE l.name LIKE :name")
     LanguageEntity findByName(@Nonnull @Param("name") String name);
 
+    @Query("SELECT l.id FROM Language l WHERE l.id IN :ids")
+    List<Integer> findIdsByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT l.id FROM Language l")
+    List<Integer> findAllIds();
+
+    @Modifying
+    @Query("DELETE FROM Language l WHERE l.id IN :ids")
+    int deleteAllByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    /**
+     * Overwrites the language with the given ID in a single statement and increments its version.
+     *
+     * @param id the ID of the language.
+     * @param language the new state of the language. If its version is not null, only that version is updated.
+     * @return the number of updated rows: zero if no language has the ID or, when the version is not
+     *         null, if the language has been updated since that version was read.
+     */
+    default int update(int id, @Nonnull LanguageEntity language) {
+        return language.getVersion() == null
+                ? updateAnyVersionById(id, language.getName(), language.getDescription())
+                : updateById(id, language.getVersion(), language.getName(), language.getDescription());
+    }
+
+    @Modifying
+    @Query("UPDATE Language l SET l.name = :name, l.description = :description, l.version = l.version + 1 "
+            + "WHERE l.id = :id AND l.version = :version")
+    int updateById(@Param("id") int id, @Param("version") int version, @Param("name") String name,
+            @Param("description") String description);
+
+    @Modifying
+    @Query("UPDATE Language l SET l.name = :name, l.description = :description, l.version = l.version + 1 "
+            + "WHERE l.id = :id")
+    int updateAnyVersionById(@Param("id") int id, @Param("name") String name,
+            @Param("description") String description);
+
 }
@@ -1,29 +1,140 @@
 package com.wilson.movie.library.repository;
 
 import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.MovieView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import javax.annotation.Nonnull;
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for {@link MovieEntity}.
  *
  * @author Zach Wilson
  */
-public interface MovieRepository extends JpaRepository<MovieEntity, Integer> {
+public interface MovieRepository extends JpaRepository<MovieEntity, Integer>, MovieRepositoryCustom {
 
-    @Query("SELECT m FROM Movie m WHERE m.title LIKE :title")
+    /**
+     * Gets every movie, fetching its rating, genre and language in the same statement.
+     *
+     * @return all movies.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"rating", "genre", "language"})
+    List<MovieEntity> findAll();
+
+    @Query("SELECT m FROM Movie m JOIN FETCH m.rating JOIN FETCH m.genre JOIN FETCH m.language WHERE m.title LIKE :title")
     MovieEntity findByTitle(@Nonnull @Param("title") String title);
 
-    @Query("SELECT m FROM Movie m WHERE m.studio LIKE :studio")
+    @Query("SELECT m FROM Movie m JOIN FETCH m.rating JOIN FETCH m.genre JOIN FETCH m.language WHERE m.studio LIKE :studio")
     Collection<MovieEntity> findAllByStudio(@Nonnull @Param("studio") String studio);
 
-    Collection<MovieEntity> findAllById(@Nonnull Collection<Integer> ids);
+    @Query("SELECT m FROM Movie m JOIN FETCH m.rating JOIN FETCH m.genre JOIN FETCH m.language WHERE m.id IN :ids")
+    Collection<MovieEntity> findAllById(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    /**
+     * Checks that a movie exists with the given version, e.g., before a write that changes nothing.
+     *
+     * @param id the ID of the movie.
+     * @param version the expected version.
+     * @return true if the movie exists and has not been updated since that version was read.
+     */
+    boolean existsByIdAndVersion(int id, int version);
 
+    @EntityGraph(attributePaths = {"rating", "genre", "language"})
     Collection<MovieEntity> findAllByReleaseDate(@Nonnull LocalDate releaseDate);
 
+    @Query("SELECT m FROM Movie m JOIN FETCH m.rating JOIN FETCH m.genre JOIN FETCH m.language WHERE m.id > :after ORDER BY m.id")
+    List<MovieEntity> findAllAfter(@Param("after") int after, @Nonnull Pageable pageable);
+
+    /**
+     * Gets a page of movies as views, selecting the names of their rating, genre and language in the
+     * same statement.
+     *
+     * @param after the ID after which the page starts.
+     * @param pageable the maximum number of movies to return.
+     * @return the movies, ordered by ID.
+     */
+    @Query("SELECT NEW com.wilson.movie.library.domain.MovieView(m.id, m.version, m.title, m.releaseDate, "
+           + "m.studio, r.name, g.name, l.name, m.plotSummary, m.notes) "
+           + "FROM Movie m JOIN m.rating r JOIN m.genre g JOIN m.language l "
+           + "WHERE m.id > :after ORDER BY m.id")
+    List<MovieView> findViewsAfter(@Param("after") int after, @Nonnull Pageable pageable);
+
+    /**
+     * Gets a page of the movies released within a range of dates as views, selecting the names of
+     * their rating, genre and language in the same statement. Uses the MOVIE_RELEASE_DATE_IDX index
+     * when the range is narrow.
+     *
+     * @param from the first release date, inclusive.
+     * @param to the last release date, inclusive.
+     * @param after the ID after which the page starts.
+     * @param pageable the maximum number of movies to return.
+     * @return the movies, ordered by ID.
+     */
+    @Query("SELECT NEW com.wilson.movie.library.domain.MovieView(m.id, m.version, m.title, m.releaseDate, "
+           + "m.studio, r.name, g.name, l.name, m.plotSummary, m.notes) "
+           + "FROM Movie m JOIN m.rating r JOIN m.genre g JOIN m.language l "
+           + "WHERE m.releaseDate BETWEEN :from AND :to AND m.id > :after ORDER BY m.id")
+    List<MovieView> findViewsByReleaseDateBetween(@Nonnull @Param("from") LocalDate from,
+            @Nonnull @Param("to") LocalDate to, @Param("after") int after, @Nonnull Pageable pageable);
+
+    /**
+     * Counts the movies released in each year, reading only the MOVIE_RELEASE_DATE_IDX index.
+     *
+     * @return pairs of a year and its number of movies, ordered by year.
+     */
+    @Query("SELECT YEAR(m.releaseDate), COUNT(m) FROM Movie m GROUP BY YEAR(m.releaseDate) ORDER BY YEAR(m.releaseDate)")
+    List<Object[]> countAllByReleaseYear();
+
+    /**
+     * Streams every movie, fetching its rating, genre and language in the same statement. Rows are
+     * read from the database in batches of 500 and the movies are not tracked for changes.
+     * <p>
+     * Must be called within a transaction and the returned stream must be closed.
+     *
+     * @return a stream over all movies.
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+                 @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT m FROM Movie m JOIN FETCH m.rating JOIN FETCH m.genre JOIN FETCH m.language")
+    Stream<MovieEntity> streamAll();
+
+    /**
+     * Finds the IDs of the movies whose title or plot summary match a full-text query, most relevant
+     * first. Uses the MOVIE_TITLE_PLOT_SUMMARY_FT full-text index.
+     *
+     * @param query the natural language query.
+     * @param limit the maximum number of IDs to return.
+     * @param offset the number of matching IDs to skip.
+     * @return the IDs of the matching movies, ordered by relevance.
+     */
+    @Query(value = "SELECT ID FROM MOVIE "
+                   + "WHERE MATCH (TITLE, PLOT_SUMMARY) AGAINST (:query IN NATURAL LANGUAGE MODE) "
+                   + "ORDER BY MATCH (TITLE, PLOT_SUMMARY) AGAINST (:query IN NATURAL LANGUAGE MODE) DESC, ID "
+                   + "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<Number> searchIds(@Nonnull @Param("query") String query, @Param("limit") int limit,
+            @Param("offset") int offset);
+
+    @Query("SELECT m.id FROM Movie m WHERE m.id IN :ids")
+    List<Integer> findIdsByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT m.id FROM Movie m")
+    List<Integer> findAllIds();
+
+    @Modifying
+    @Query("DELETE FROM Movie m WHERE m.id IN :ids")
+    int deleteAllByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
 }
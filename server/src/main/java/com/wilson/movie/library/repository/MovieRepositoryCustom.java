@@ -0,0 +1,63 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.FacetCount;
+import com.wilson.movie.library.domain.MovieEntity;
+
+import javax.annotation.Nonnull;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Movie repository operations that are not derived by Spring Data.
+ *
+ * @author Zach Wilson
+ */
+public interface MovieRepositoryCustom {
+
+    /**
+     * Inserts the given movies with a single JDBC batch and assigns each movie its generated ID.
+     * <p>
+     * Unlike {@code save}, this bypasses the persistence context: the movies are not managed
+     * afterwards, and their rating, genre and language must already exist.
+     *
+     * @param movies the movies to insert.
+     * @return the generated IDs, in the same order as {@code movies}.
+     */
+    List<Integer> insertAll(@Nonnull List<MovieEntity> movies);
+
+    /**
+     * Overwrites the movie with the given ID in a single statement and increments its version.
+     *
+     * @param id the ID of the movie.
+     * @param movie the new state of the movie. If its version is not null, only that version is updated.
+     * @return the number of updated rows: zero if no movie has the ID or, when the version is not
+     *         null, if the movie has been updated since that version was read.
+     */
+    int update(int id, @Nonnull MovieEntity movie);
+
+    /**
+     * Sets only the given attributes of a movie, in a single statement, and increments its version.
+     *
+     * @param id the ID of the movie.
+     * @param version the version the update applies to, or null to update any version.
+     * @param changes the movie attributes to set and their new values.
+     * @return the number of updated rows: zero if no movie has the ID or, when {@code version} is not
+     *         null, if the movie has been updated since that version was read.
+     */
+    int patch(int id, Integer version, @Nonnull Map<String, Object> changes);
+
+    /**
+     * Counts the movies released within a range of dates and matching a filter by their rating, genre
+     * or language, in a single statement.
+     *
+     * @param facet the attribute to count by, one of {@link FacetCount#FACETS}.
+     * @param from the earliest date, inclusive.
+     * @param to the latest date, inclusive.
+     * @param filter the attributes, e.g., {@code studio} or {@code genre}, that must equal the given values.
+     * @return the count of each value of the facet, largest first.
+     */
+    List<FacetCount> countByFacet(@Nonnull String facet, @Nonnull LocalDate from, @Nonnull LocalDate to,
+            @Nonnull Map<String, Object> filter);
+
+}
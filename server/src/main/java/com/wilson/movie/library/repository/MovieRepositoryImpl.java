@@ -0,0 +1,80 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.FacetCount;
+import com.wilson.movie.library.domain.MovieEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC, SQL and JPQL implementation of {@link MovieRepositoryCustom}.
+ *
+ * @author Zach Wilson
+ */
+public class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO MOVIE (TITLE, RELEASE_DATE, STUDIO, RATING_ID, GENRE_ID, LANGUAGE_ID, PLOT_SUMMARY, NOTES, "
+            + "VERSION) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public MovieRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Integer> insertAll(@Nonnull List<MovieEntity> movies) {
+        return BatchInserts.insertAll(jdbcTemplate, INSERT_SQL, movies, (statement, movie) -> {
+            statement.setString(1, movie.getTitle());
+            statement.setDate(2, Date.valueOf(movie.getReleaseDate()));
+            statement.setString(3, movie.getStudio());
+            statement.setInt(4, movie.getRating().getId());
+            statement.setInt(5, movie.getGenre().getId());
+            statement.setInt(6, movie.getLanguage().getId());
+            statement.setString(7, movie.getPlotSummary());
+            statement.setString(8, movie.getNotes());
+        }, (movie, id) -> {
+            movie.setId(id);
+            movie.setVersion(0);
+        });
+    }
+
+    @Override
+    public int update(int id, @Nonnull MovieEntity movie) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("title", movie.getTitle());
+        changes.put("releaseDate", movie.getReleaseDate());
+        changes.put("studio", movie.getStudio());
+        changes.put("rating", movie.getRating());
+        changes.put("genre", movie.getGenre());
+        changes.put("language", movie.getLanguage());
+        changes.put("plotSummary", movie.getPlotSummary());
+        changes.put("notes", movie.getNotes());
+        return PartialUpdates.update(entityManager, MovieEntity.class, id, movie.getVersion(), changes);
+    }
+
+    @Override
+    public int patch(int id, Integer version, @Nonnull Map<String, Object> changes) {
+        return PartialUpdates.update(entityManager, MovieEntity.class, id, version, changes);
+    }
+
+    @Override
+    public List<FacetCount> countByFacet(@Nonnull String facet, @Nonnull LocalDate from, @Nonnull LocalDate to,
+            @Nonnull Map<String, Object> filter) {
+        return FacetQueries.count(entityManager, MovieEntity.class, facet, "releaseDate", from, to, filter);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.wilson.movie.library.repository;
+
+import org.hibernate.SQLQuery;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.StandardBasicTypes;
+
+import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.EntityType;
+import java.util.Map;
+
+/**
+ * Builds the {@code UPDATE} statements of full and partial updates, which set the given attributes
+ * without reading the entity first.
+ * <p>
+ * A JPQL bulk update would make Hibernate invalidate the entity's whole second-level cache region,
+ * so that updating one movie would empty the cache of all movies. The statements are native SQL
+ * instead, synchronized with a query space of their own, and only the updated entity's cache entry
+ * is locked until the transaction completes, as Hibernate does when it updates a managed entity.
+ *
+ * @author Zach Wilson
+ */
+final class PartialUpdates {
+
+    /**
+     * Query space of the statements, which no entity maps to so that no cache region is invalidated.
+     */
+    private static final String QUERY_SPACE = "PARTIAL_UPDATE";
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private PartialUpdates() {
+    }
+
+    /**
+     * Sets the given attributes of an entity in a single statement and increments its version.
+     *
+     * @param entityManager the entity manager of the current transaction.
+     * @param entityClass the class of the entity, which must have an {@code id} and a {@code version}.
+     * @param id the ID of the entity.
+     * @param version the version the update applies to, or null to update any version.
+     * @param changes the attributes to set and their new values. Must name attributes of the entity.
+     * @return the number of updated rows.
+     * @throws IllegalArgumentException if a change names no attribute of the entity.
+     */
+    static int update(@Nonnull EntityManager entityManager, @Nonnull Class<?> entityClass, int id, Integer version,
+            @Nonnull Map<String, Object> changes) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        AbstractEntityPersister persister =
+                (AbstractEntityPersister) session.getFactory().getEntityPersister(entityClass.getName());
+        String idColumn = persister.getIdentifierColumnNames()[0];
+        String versionColumn = persister.getVersionColumnName();
+
+        StringBuilder sql = new StringBuilder("UPDATE ").append(persister.getTableName()).append(" SET ");
+        for (String attribute : changes.keySet()) {
+            // Attribute names are part of the statement, so only the entity's own are accepted
+            entityType.getSingularAttribute(attribute);
+            sql.append(persister.getPropertyColumnNames(attribute)[0]).append(" = :").append(attribute).append(", ");
+        }
+        sql.append(versionColumn).append(" = ").append(versionColumn).append(" + 1 WHERE ").append(idColumn)
+                .append(" = :id");
+        if (version != null) {
+            sql.append(" AND ").append(versionColumn).append(" = :version");
+        }
+
+        SQLQuery query = entityManager.createNativeQuery(sql.toString()).unwrap(SQLQuery.class);
+        query.addSynchronizedQuerySpace(QUERY_SPACE);
+        query.setParameter("id", id, StandardBasicTypes.INTEGER);
+        if (version != null) {
+            query.setParameter("version", version, StandardBasicTypes.INTEGER);
+        }
+        // The mapped types bind associations by their IDs and dates as DATE columns
+        changes.forEach((attribute, value) -> query.setParameter(attribute, value,
+                persister.getPropertyType(attribute)));
+
+        if (persister.hasCache()) {
+            lockCacheEntry(session, persister, id);
+        }
+        return query.executeUpdate();
+    }
+
+    /**
+     * Locks the cache entry of an entity until the current transaction completes: meanwhile it is
+     * read from the database, and afterwards it is loaded again.
+     */
+    private static void lockCacheEntry(@Nonnull SessionImplementor session, @Nonnull AbstractEntityPersister persister,
+            int id) {
+        EntityRegionAccessStrategy cache = persister.getCacheAccessStrategy();
+        Object key = cache.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+        SoftLock lock = cache.lockItem(session, key, null);
+        ((EventSource) session).getActionQueue().registerProcess((success, completedSession) ->
+                cache.unlockItem(completedSession, key, lock));
+    }
+
+}
@@ -1,43 +1,62 @@
 package com.wilson.movie.library.repository;
 
 import com.wilson.movie.library.domain.PersonEntity;
+import com.wilson.movie.library.domain.PersonView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import javax.annotation.Nonnull;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository for {@link PersonEntity}.
  *
  * @author Zach Wilson
  */
-public interface PersonRepository extends JpaRepository<PersonEntity, Integer> {
+public interface PersonRepository extends JpaRepository<PersonEntity, Integer>, PersonRepositoryCustom {
 
-    @Query("SELECT p FROM Person p WHERE p.firstName LIKE :first")
-    Collection<PersonEntity> findAllByFirstName(@Nonnull @Param("first") String firstName);
+    // Names are compared by their keys (see NameKeys), each of which has an index
 
-    @Query("SELECT p FROM Person p WHERE p.middleName LIKE :middle")
-    Collection<PersonEntity> findAllByMiddleName(@Nonnull @Param("middle") String middleName);
+    Collection<PersonEntity> findAllByFirstNameKey(@Nonnull String firstNameKey);
 
-    @Query("SELECT p FROM Person p WHERE p.lastName LIKE :last")
-    Collection<PersonEntity> findAllByLastName(@Nonnull @Param("last") String lastName);
+    Collection<PersonEntity> findAllByMiddleNameKey(@Nonnull String middleNameKey);
 
-    @Query("SELECT p FROM Person p WHERE p.firstName LIKE :first AND p.lastName LIKE :last")
-    Collection<PersonEntity> findAllByName(@Nonnull @Param("first") String firstName,
-                                           @Nonnull @Param("last") String lastName);
+    Collection<PersonEntity> findAllByLastNameKey(@Nonnull String lastNameKey);
 
-    @Query("SELECT p FROM Person p WHERE p.firstName LIKE :first AND p.middleName LIKE :middle AND p.lastName LIKE :last")
-    Collection<PersonEntity> findAllByName(@Nonnull @Param("first") String firstName,
-                                           @Nonnull @Param("middle") String middleName,
-                                           @Nonnull @Param("last") String lastName);
+    Collection<PersonEntity> findAllByFirstNameKeyAndLastNameKey(@Nonnull String firstNameKey,
+            @Nonnull String lastNameKey);
 
-    Collection<PersonEntity> findAllById(@Nonnull Collection<Integer> ids);
+    Collection<PersonEntity> findAllByFirstNameKeyAndMiddleNameKeyAndLastNameKey(@Nonnull String firstNameKey,
+            @Nonnull String middleNameKey, @Nonnull String lastNameKey);
+
+    @Query("SELECT p FROM Person p WHERE p.id IN :ids")
+    Collection<PersonEntity> findAllById(@Nonnull @Param("ids") Collection<Integer> ids);
 
     Collection<PersonEntity> findAllByDateOfBirth(@Nonnull LocalDate date);
 
     Collection<PersonEntity> findAllByDateOfDeath(@Nonnull LocalDate date);
 
+    /**
+     * Gets every person as a view.
+     *
+     * @return all persons, ordered by ID.
+     */
+    @Query("SELECT NEW com.wilson.movie.library.domain.PersonView(p.id, p.version, p.firstName, p.middleName, "
+           + "p.lastName, p.dateOfBirth, p.dateOfDeath) FROM Person p ORDER BY p.id")
+    List<PersonView> findAllViews();
+
+    @Query("SELECT p.id FROM Person p WHERE p.id IN :ids")
+    List<Integer> findIdsByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT p.id FROM Person p")
+    List<Integer> findAllIds();
+
+    @Modifying
+    @Query("DELETE FROM Person p WHERE p.id IN :ids")
+    int deleteAllByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
 }
@@ -0,0 +1,57 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.PersonEntity;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Person repository operations that are not derived by Spring Data.
+ *
+ * @author Zach Wilson
+ */
+public interface PersonRepositoryCustom {
+
+    /**
+     * Inserts the given persons with a single JDBC batch and assigns each person its generated ID.
+     * <p>
+     * Unlike {@code save}, this bypasses the persistence context: the persons are not managed
+     * afterwards.
+     *
+     * @param persons the persons to insert.
+     * @return the generated IDs, in the same order as {@code persons}.
+     */
+    List<Integer> insertAll(@Nonnull List<PersonEntity> persons);
+
+    /**
+     * Overwrites the person with the given ID in a single statement and increments its version.
+     *
+     * @param id the ID of the person.
+     * @param person the new state of the person. If its version is not null, only that version is updated.
+     * @return the number of updated rows: zero if no person has the ID or, when the version is not
+     *         null, if the person has been updated since that version was read.
+     */
+    int update(int id, @Nonnull PersonEntity person);
+
+    /**
+     * Replaces the name words of the given persons, which {@link #findAllByNameWordPrefixes(List, int)}
+     * finds them by. {@link #insertAll(List)} and {@link #update(int, PersonEntity)} keep the words
+     * themselves; a person saved otherwise, e.g., with {@code save}, must be passed here afterwards.
+     *
+     * @param persons the persons, which must have been inserted.
+     */
+    void saveNameWords(@Nonnull Collection<PersonEntity> persons);
+
+    /**
+     * Finds the persons with a name word starting with each of the given prefixes, e.g., "de niro"
+     * for ["niro", "de"]. Each prefix is looked up in the PERSON_NAME_WORD primary key, and the
+     * persons are intersected in the same statement.
+     *
+     * @param prefixes the keys of the beginnings of words. Must not be empty.
+     * @param limit the maximum number of persons to return.
+     * @return the matching persons: first those with the most words equal to a prefix, then by ID.
+     */
+    List<PersonEntity> findAllByNameWordPrefixes(@Nonnull List<String> prefixes, int limit);
+
+}
@@ -0,0 +1,136 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.NameKeys;
+import com.wilson.movie.library.domain.PersonEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC and SQL implementation of {@link PersonRepositoryCustom}.
+ *
+ * @author Zach Wilson
+ */
+public class PersonRepositoryImpl implements PersonRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO PERSON (FIRST_NAME, MIDDLE_NAME, LAST_NAME, FIRST_NAME_KEY, MIDDLE_NAME_KEY, LAST_NAME_KEY, "
+            + "DATE_OF_BIRTH, DATE_OF_DEATH, VERSION) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String DELETE_NAME_WORDS_SQL = "DELETE FROM PERSON_NAME_WORD WHERE PERSON_ID = ?";
+
+    private static final String INSERT_NAME_WORD_SQL = "INSERT INTO PERSON_NAME_WORD (WORD, PERSON_ID) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public PersonRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Integer> insertAll(@Nonnull List<PersonEntity> persons) {
+        List<Integer> ids = BatchInserts.insertAll(jdbcTemplate, INSERT_SQL, persons, (statement, person) -> {
+            statement.setString(1, person.getFirstName());
+            statement.setString(2, person.getMiddleName());
+            statement.setString(3, person.getLastName());
+            statement.setString(4, NameKeys.of(person.getFirstName()));
+            statement.setString(5, NameKeys.of(person.getMiddleName()));
+            statement.setString(6, NameKeys.of(person.getLastName()));
+            statement.setDate(7, Date.valueOf(person.getDateOfBirth()));
+            statement.setDate(8, person.getDateOfDeath() != null ? Date.valueOf(person.getDateOfDeath()) : null);
+        }, (person, id) -> {
+            person.setId(id);
+            person.setVersion(0);
+        });
+        insertNameWords(persons);
+        return ids;
+    }
+
+    @Override
+    public int update(int id, @Nonnull PersonEntity person) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("firstName", person.getFirstName());
+        changes.put("middleName", person.getMiddleName());
+        changes.put("lastName", person.getLastName());
+        changes.put("firstNameKey", NameKeys.of(person.getFirstName()));
+        changes.put("middleNameKey", NameKeys.of(person.getMiddleName()));
+        changes.put("lastNameKey", NameKeys.of(person.getLastName()));
+        changes.put("dateOfBirth", person.getDateOfBirth());
+        changes.put("dateOfDeath", person.getDateOfDeath());
+        int updatedRows = PartialUpdates.update(entityManager, PersonEntity.class, id, person.getVersion(), changes);
+        if (updatedRows > 0) {
+            jdbcTemplate.update(DELETE_NAME_WORDS_SQL, id);
+            insertNameWords(id, person);
+        }
+        return updatedRows;
+    }
+
+    @Override
+    public void saveNameWords(@Nonnull Collection<PersonEntity> persons) {
+        jdbcTemplate.batchUpdate(DELETE_NAME_WORDS_SQL, persons.stream()
+                .map((person) -> new Object[]{person.getId()})
+                .collect(Collectors.toList()));
+        insertNameWords(persons);
+    }
+
+    @Override
+    public List<PersonEntity> findAllByNameWordPrefixes(@Nonnull List<String> prefixes, int limit) {
+        // Keys hold only letters, digits and spaces, so a prefix needs no escaping in LIKE
+        StringBuilder sql = new StringBuilder("SELECT p.* FROM PERSON p WHERE ");
+        for (int i = 0; i < prefixes.size(); i++) {
+            sql.append(i > 0 ? " AND " : "")
+                    .append("p.ID IN (SELECT w.PERSON_ID FROM PERSON_NAME_WORD w WHERE w.WORD LIKE :prefix")
+                    .append(i).append(")");
+        }
+        sql.append(" ORDER BY (SELECT COUNT(*) FROM PERSON_NAME_WORD w WHERE w.PERSON_ID = p.ID "
+                   + "AND w.WORD IN (:words)) DESC, p.ID");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), PersonEntity.class)
+                .setParameter("words", prefixes)
+                .setHint("org.hibernate.readOnly", true)
+                .setMaxResults(limit);
+        for (int i = 0; i < prefixes.size(); i++) {
+            query.setParameter("prefix" + i, prefixes.get(i) + "%");
+        }
+        return ((List<?>) query.getResultList()).stream()
+                .map(PersonEntity.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    private void insertNameWords(@Nonnull Collection<PersonEntity> persons) {
+        List<Object[]> rows = new ArrayList<>();
+        for (PersonEntity person : persons) {
+            for (String word : nameWords(person)) {
+                rows.add(new Object[]{word, person.getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_NAME_WORD_SQL, rows);
+    }
+
+    private void insertNameWords(int id, @Nonnull PersonEntity person) {
+        jdbcTemplate.batchUpdate(INSERT_NAME_WORD_SQL, nameWords(person).stream()
+                .map((word) -> new Object[]{word, id})
+                .collect(Collectors.toList()));
+    }
+
+    private static Set<String> nameWords(@Nonnull PersonEntity person) {
+        return NameKeys.wordsOf(person.getFirstName(), person.getMiddleName(), person.getLastName());
+    }
+
+}
@@ -2,11 +2,13 @@ package com.wilson.movie.library.repository;
 
 import com.wilson.movie.library.domain.RatingEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository for {@link RatingEntity}.
@@ -20,4 +22,40 @@ public interface RatingRepository extends JpaRepository<RatingEntity, Integer> {
     @Query("SELECT r FROM Rating r WHERE r.name LIKE :name")
     RatingEntity findByName(@Nonnull @Param("name") String name);
 
+    @Query("SELECT r.id FROM Rating r WHERE r.id IN :ids")
+    List<Integer> findIdsByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT r.id FROM Rating r")
+    List<Integer> findAllIds();
+
+    @Modifying
+    @Query("DELETE FROM Rating r WHERE r.id IN :ids")
+    int deleteAllByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    /**
+     * Overwrites the rating with the given ID in a single statement and increments its version.
+     *
+     * @param id the ID of the rating.
+     * @param rating the new state of the rating. If its version is not null, only that version is updated.
+     * @return the number of updated rows: zero if no rating has the ID or, when the version is not
+     *         null, if the rating has been updated since that version was read.
+     */
+    default int update(int id, @Nonnull RatingEntity rating) {
+        return rating.getVersion() == null
+                ? updateAnyVersionById(id, rating.getName(), rating.getDescription())
+                : updateById(id, rating.getVersion(), rating.getName(), rating.getDescription());
+    }
+
+    @Modifying
+    @Query("UPDATE Rating r SET r.name = :name, r.description = :description, r.version = r.version + 1 "
+            + "WHERE r.id = :id AND r.version = :version")
+    int updateById(@Param("id") int id, @Param("version") int version, @Param("name") String name,
+            @Param("description") String description);
+
+    @Modifying
+    @Query("UPDATE Rating r SET r.name = :name, r.description = :description, r.version = r.version + 1 "
+            + "WHERE r.id = :id")
+    int updateAnyVersionById(@Param("id") int id, @Param("name") String name,
+            @Param("description") String description);
+
 }
@@ -1,29 +1,116 @@
 package com.wilson.movie.library.repository;
 
 import com.wilson.movie.library.domain.TvShowEntity;
+import com.wilson.movie.library.domain.TvShowView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import javax.annotation.Nonnull;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository for {@link TvShowEntity}.
  *
  * @author Zach Wilson
  */
-public interface TvShowRepository extends JpaRepository<TvShowEntity, Integer> {
+public interface TvShowRepository extends JpaRepository<TvShowEntity, Integer>, TvShowRepositoryCustom {
 
-    @Query("SELECT t FROM TvShow t WHERE t.title LIKE :title")
+    /**
+     * Gets every TV show, fetching its rating, genre and language in the same statement.
+     *
+     * @return all TV shows.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"rating", "genre", "language"})
+    List<TvShowEntity> findAll();
+
+    @Query("SELECT t FROM TvShow t JOIN FETCH t.rating JOIN FETCH t.genre JOIN FETCH t.language WHERE t.title LIKE :title")
     TvShowEntity findByTitle(@Nonnull @Param("title") String title);
 
-    @Query("SELECT t FROM TvShow t WHERE t.network LIKE :network")
+    @Query("SELECT t FROM TvShow t JOIN FETCH t.rating JOIN FETCH t.genre JOIN FETCH t.language WHERE t.network LIKE :network")
     Collection<TvShowEntity> findAllByNetwork(@Nonnull @Param("network") String network);
 
-    Collection<TvShowEntity> findAllById(@Nonnull Collection<Integer> id);
+    @Query("SELECT t FROM TvShow t JOIN FETCH t.rating JOIN FETCH t.genre JOIN FETCH t.language WHERE t.id IN :ids")
+    Collection<TvShowEntity> findAllById(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    /**
+     * Checks that a TV show exists with the given version, e.g., before a write that changes nothing.
+     *
+     * @param id the ID of the TV show.
+     * @param version the expected version.
+     * @return true if the TV show exists and has not been updated since that version was read.
+     */
+    boolean existsByIdAndVersion(int id, int version);
 
+    @EntityGraph(attributePaths = {"rating", "genre", "language"})
     Collection<TvShowEntity> findAllByDateAired(@Nonnull LocalDate dateAired);
 
+    @Query("SELECT t FROM TvShow t JOIN FETCH t.rating JOIN FETCH t.genre JOIN FETCH t.language WHERE t.id > :after ORDER BY t.id")
+    List<TvShowEntity> findAllAfter(@Param("after") int after, @Nonnull Pageable pageable);
+
+    /**
+     * Gets a page of TV shows as views, selecting the names of their rating, genre and language in
+     * the same statement.
+     *
+     * @param after the ID after which the page starts.
+     * @param pageable the maximum number of TV shows to return.
+     * @return the TV shows, ordered by ID.
+     */
+    @Query("SELECT NEW com.wilson.movie.library.domain.TvShowView(t.id, t.version, t.title, t.dateAired, "
+           + "t.network, r.name, g.name, l.name, t.plotSummary, t.series) "
+           + "FROM TvShow t JOIN t.rating r JOIN t.genre g JOIN t.language l "
+           + "WHERE t.id > :after ORDER BY t.id")
+    List<TvShowView> findViewsAfter(@Param("after") int after, @Nonnull Pageable pageable);
+
+    /**
+     * Gets a page of the TV shows aired within a range of dates as views, selecting the names of
+     * their rating, genre and language in the same statement. Uses the TV_SHOW_DATE_AIRED_IDX index
+     * when the range is narrow.
+     *
+     * @param from the first date aired, inclusive.
+     * @param to the last date aired, inclusive.
+     * @param after the ID after which the page starts.
+     * @param pageable the maximum number of TV shows to return.
+     * @return the TV shows, ordered by ID.
+     */
+    @Query("SELECT NEW com.wilson.movie.library.domain.TvShowView(t.id, t.version, t.title, t.dateAired, "
+           + "t.network, r.name, g.name, l.name, t.plotSummary, t.series) "
+           + "FROM TvShow t JOIN t.rating r JOIN t.genre g JOIN t.language l "
+           + "WHERE t.dateAired BETWEEN :from AND :to AND t.id > :after ORDER BY t.id")
+    List<TvShowView> findViewsByDateAiredBetween(@Nonnull @Param("from") LocalDate from,
+            @Nonnull @Param("to") LocalDate to, @Param("after") int after, @Nonnull Pageable pageable);
+
+    /**
+     * Finds the IDs of the TV shows whose title or plot summary match a full-text query, most relevant
+     * first. Uses the TV_SHOW_TITLE_PLOT_SUMMARY_FT full-text index.
+     *
+     * @param query the natural language query.
+     * @param limit the maximum number of IDs to return.
+     * @param offset the number of matching IDs to skip.
+     * @return the IDs of the matching TV shows, ordered by relevance.
+     */
+    @Query(value = "SELECT ID FROM TV_SHOW "
+                   + "WHERE MATCH (TITLE, PLOT_SUMMARY) AGAINST (:query IN NATURAL LANGUAGE MODE) "
+                   + "ORDER BY MATCH (TITLE, PLOT_SUMMARY) AGAINST (:query IN NATURAL LANGUAGE MODE) DESC, ID "
+                   + "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<Number> searchIds(@Nonnull @Param("query") String query, @Param("limit") int limit,
+            @Param("offset") int offset);
+
+    @Query("SELECT t.id FROM TvShow t WHERE t.id IN :ids")
+    List<Integer> findIdsByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT t.id FROM TvShow t")
+    List<Integer> findAllIds();
+
+    @Modifying
+    @Query("DELETE FROM TvShow t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Nonnull @Param("ids") Collection<Integer> ids);
+
 }
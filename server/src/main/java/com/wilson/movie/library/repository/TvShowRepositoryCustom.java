@@ -0,0 +1,63 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.FacetCount;
+import com.wilson.movie.library.domain.TvShowEntity;
+
+import javax.annotation.Nonnull;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TV show repository operations that are not derived by Spring Data.
+ *
+ * @author Zach Wilson
+ */
+public interface TvShowRepositoryCustom {
+
+    /**
+     * Inserts the given TV shows with a single JDBC batch and assigns each TV show its generated ID.
+     * <p>
+     * Unlike {@code save}, this bypasses the persistence context: the TV shows are not managed
+     * afterwards, and their rating, genre and language must already exist.
+     *
+     * @param tvShows the TV shows to insert.
+     * @return the generated IDs, in the same order as {@code tvShows}.
+     */
+    List<Integer> insertAll(@Nonnull List<TvShowEntity> tvShows);
+
+    /**
+     * Overwrites the TV show with the given ID in a single statement and increments its version.
+     *
+     * @param id the ID of the TV show.
+     * @param tvShow the new state of the TV show. If its version is not null, only that version is updated.
+     * @return the number of updated rows: zero if no TV show has the ID or, when the version is not
+     *         null, if the TV show has been updated since that version was read.
+     */
+    int update(int id, @Nonnull TvShowEntity tvShow);
+
+    /**
+     * Sets only the given attributes of a TV show, in a single statement, and increments its version.
+     *
+     * @param id the ID of the TV show.
+     * @param version the version the update applies to, or null to update any version.
+     * @param changes the TV show attributes to set and their new values.
+     * @return the number of updated rows: zero if no TV show has the ID or, when {@code version} is not
+     *         null, if the TV show has been updated since that version was read.
+     */
+    int patch(int id, Integer version, @Nonnull Map<String, Object> changes);
+
+    /**
+     * Counts the TV shows aired within a range of dates and matching a filter by their rating, genre
+     * or language, in a single statement.
+     *
+     * @param facet the attribute to count by, one of {@link FacetCount#FACETS}.
+     * @param from the earliest date, inclusive.
+     * @param to the latest date, inclusive.
+     * @param filter the attributes, e.g., {@code network} or {@code genre}, that must equal the given values.
+     * @return the count of each value of the facet, largest first.
+     */
+    List<FacetCount> countByFacet(@Nonnull String facet, @Nonnull LocalDate from, @Nonnull LocalDate to,
+            @Nonnull Map<String, Object> filter);
+
+}
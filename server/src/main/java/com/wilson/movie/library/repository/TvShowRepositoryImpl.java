@@ -0,0 +1,80 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.FacetCount;
+import com.wilson.movie.library.domain.TvShowEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC, SQL and JPQL implementation of {@link TvShowRepositoryCustom}.
+ *
+ * @author Zach Wilson
+ */
+public class TvShowRepositoryImpl implements TvShowRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO TV_SHOW (TITLE, DATE_AIRED, NETWORK, RATING_ID, GENRE_ID, LANGUAGE_ID, PLOT_SUMMARY, IS_SERIES, "
+            + "VERSION) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public TvShowRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Integer> insertAll(@Nonnull List<TvShowEntity> tvShows) {
+        return BatchInserts.insertAll(jdbcTemplate, INSERT_SQL, tvShows, (statement, tvShow) -> {
+            statement.setString(1, tvShow.getTitle());
+            statement.setDate(2, Date.valueOf(tvShow.getDateAired()));
+            statement.setString(3, tvShow.getNetwork());
+            statement.setInt(4, tvShow.getRating().getId());
+            statement.setInt(5, tvShow.getGenre().getId());
+            statement.setInt(6, tvShow.getLanguage().getId());
+            statement.setString(7, tvShow.getPlotSummary());
+            statement.setBoolean(8, tvShow.isSeries());
+        }, (tvShow, id) -> {
+            tvShow.setId(id);
+            tvShow.setVersion(0);
+        });
+    }
+
+    @Override
+    public int update(int id, @Nonnull TvShowEntity tvShow) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("title", tvShow.getTitle());
+        changes.put("dateAired", tvShow.getDateAired());
+        changes.put("network", tvShow.getNetwork());
+        changes.put("rating", tvShow.getRating());
+        changes.put("genre", tvShow.getGenre());
+        changes.put("language", tvShow.getLanguage());
+        changes.put("plotSummary", tvShow.getPlotSummary());
+        changes.put("series", tvShow.isSeries());
+        return PartialUpdates.update(entityManager, TvShowEntity.class, id, tvShow.getVersion(), changes);
+    }
+
+    @Override
+    public int patch(int id, Integer version, @Nonnull Map<String, Object> changes) {
+        return PartialUpdates.update(entityManager, TvShowEntity.class, id, version, changes);
+    }
+
+    @Override
+    public List<FacetCount> countByFacet(@Nonnull String facet, @Nonnull LocalDate from, @Nonnull LocalDate to,
+            @Nonnull Map<String, Object> filter) {
+        return FacetQueries.count(entityManager, TvShowEntity.class, facet, "dateAired", from, to, filter);
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.wilson.movie.library.resource;
+
+import com.wilson.movie.library.domain.CreditEntity;
+import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.PersonEntity;
+import com.wilson.movie.library.domain.TvShowEntity;
+import com.wilson.movie.library.resource.model.Credit;
+import com.wilson.movie.library.service.CreditService;
+import com.wilson.movie.library.service.MovieService;
+import com.wilson.movie.library.service.PersonService;
+import com.wilson.movie.library.service.TvShowService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.Optional;
+
+import static com.wilson.movie.library.resource.utils.Adapters.toCredit;
+import static org.springframework.web.bind.annotation.RequestMethod.*;
+
+/**
+ * Rest resource controller for credits. The credits of a movie, a TV show or a person are read
+ * from their own resources.
+ *
+ * @author Zach Wilson
+ */
+@RequestMapping("/credits")
+@RestController
+@Slf4j
+public class CreditResource {
+
+    private final CreditService creditService;
+    private final PersonService personService;
+    private final MovieService movieService;
+    private final TvShowService tvShowService;
+
+    @Autowired
+    public CreditResource(CreditService creditService, PersonService personService, MovieService movieService,
+            TvShowService tvShowService) {
+        this.creditService = creditService;
+        this.personService = personService;
+        this.movieService = movieService;
+        this.tvShowService = tvShowService;
+    }
+
+    @RequestMapping(method = POST)
+    public ResponseEntity<?> create(@RequestBody Credit credit) {
+        log.trace("Received request to create credit: {}", credit);
+
+        if ((credit.getMovieId() == null) == (credit.getTvShowId() == null)) {
+            log.debug("Cannot create credit: exactly one of a movie ID or a TV show ID must be provided");
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Get the person
+        Optional<PersonEntity> person = credit.getPersonId() != null
+                ? personService.getById(credit.getPersonId())
+                : Optional.empty();
+        if (!person.isPresent()) {
+            log.debug("Cannot create credit: provided person does not exist: {}", credit.getPersonId());
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Get the movie or TV show
+        MovieEntity movie = null;
+        TvShowEntity tvShow = null;
+        if (credit.getMovieId() != null) {
+            Optional<MovieEntity> optionalMovie = movieService.getById(credit.getMovieId());
+            if (!optionalMovie.isPresent()) {
+                log.debug("Cannot create credit: provided movie does not exist: {}", credit.getMovieId());
+                return ResponseEntity.badRequest().build();
+            }
+            movie = optionalMovie.get();
+        } else {
+            Optional<TvShowEntity> optionalTvShow = tvShowService.getById(credit.getTvShowId());
+            if (!optionalTvShow.isPresent()) {
+                log.debug("Cannot create credit: provided TV show does not exist: {}", credit.getTvShowId());
+                return ResponseEntity.badRequest().build();
+            }
+            tvShow = optionalTvShow.get();
+        }
+
+        CreditEntity createdCredit = creditService.create(toCredit(credit.withVersion(null), person.get(), movie,
+                                                                   tvShow));
+
+        return ResponseEntity.created(
+                ServletUriComponentsBuilder
+                        .fromCurrentRequest()
+                        .path("/{id}")
+                        .buildAndExpand(createdCredit.getId())
+                        .toUri())
+                .build();
+    }
+
+    @RequestMapping(method = GET, value = "/{id}")
+    public ResponseEntity<Credit> getById(@PathVariable("id") Integer id) {
+        log.trace("Received request to get credit by ID: {}", id);
+
+        Optional<CreditEntity> credit = creditService.getById(id);
+
+        if (credit.isPresent()) {
+            return ResponseEntity.ok(toCredit(credit.get()));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @RequestMapping(method = DELETE, value = "/{id}")
+    public ResponseEntity<Void> deleteById(@PathVariable("id") Integer id) {
+        log.trace("Received request to delete credit by ID: {}", id);
+
+        Optional<Integer> optionalDeletedCreditId = creditService.deleteById(id);
+
+        if (optionalDeletedCreditId.isPresent()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+}
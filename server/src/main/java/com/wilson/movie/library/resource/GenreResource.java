@@ -2,11 +2,16 @@ package com.wilson.movie.library.resource;
 
 import com.wilson.movie.library.domain.GenreEntity;
 import com.wilson.movie.library.resource.model.Genre;
+import com.wilson.movie.library.resource.utils.Adapters;
+import com.wilson.movie.library.resource.utils.ETags;
 import com.wilson.movie.library.service.GenreService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.Collection;
@@ -37,7 +42,7 @@ public class GenreResource {
     public ResponseEntity<?> create(@RequestBody Genre genre) {
         log.trace("Received request to create genre: {}", genre);
 
-        GenreEntity createdGenre = service.create(toGenre(genre));
+        GenreEntity createdGenre = service.create(toGenre(genre.withVersion(null)));
 
         return ResponseEntity.created(
                 ServletUriComponentsBuilder
@@ -49,15 +54,10 @@ public class GenreResource {
     }
 
     @RequestMapping(method = GET, value = "/{id}")
-    public ResponseEntity<Genre> getById(@PathVariable("id") Integer id) {
+    public ResponseEntity<Genre> getById(@PathVariable("id") Integer id, WebRequest request) {
         log.trace("Received request to get genre by ID: {}", id);
 
-        Optional<GenreEntity> optionalGenre = service.getById(id);
-
-        if (optionalGenre.isPresent()) {
-            return ResponseEntity.ok(toGenre(optionalGenre.get()));
-        }
-        return ResponseEntity.notFound().build();
+        return ETags.get(request, service.getById(id), ETags::of, Adapters::toGenre);
     }
 
     @RequestMapping(method = GET, params = "ids")
@@ -85,27 +85,38 @@ public class GenreResource {
     }
 
     @RequestMapping(method = GET)
-    public ResponseEntity<Collection<Genre>> getAll() {
+    public ResponseEntity<Collection<Genre>> getAll(WebRequest request) {
         log.trace("Received request tog et all genres");
 
         Collection<GenreEntity> genres = service.getAll();
+        Optional<Collection<GenreEntity>> optionalGenres = genres.isEmpty() ? Optional.empty() : Optional.of(genres);
 
-        if (!genres.isEmpty()) {
-            return ResponseEntity.ok(toGenres(genres));
-        }
-        return ResponseEntity.notFound().build();
+        return ETags.get(request, optionalGenres, (all) -> ETags.ofAll(all, ETags::of), Adapters::toGenres);
     }
 
     @RequestMapping(method = PUT, value = "/{id}")
-    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody Genre genre) {
+    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody Genre genre,
+            WebRequest request) {
         log.trace("Received request to update genre with ID {}: {}", id, genre);
 
-        Optional<GenreEntity> optionalUpdatedGenre = service.update(id, toGenre(genre));
+        Optional<ResponseEntity<Void>> preconditionFailed = ETags.preconditionFailed(request, id);
+        if (preconditionFailed.isPresent()) {
+            return preconditionFailed.get();
+        }
+
+        Genre versionedGenre = ETags.ifMatchVersion(request, id).map(genre::withVersion).orElse(genre);
+        Optional<Integer> optionalUpdatedGenreId;
+        try {
+            optionalUpdatedGenreId = service.update(id, toGenre(versionedGenre));
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Cannot update genre with ID {}: {}", id, e.getMessage());
+            return ETags.preconditionFailedOr(request, HttpStatus.CONFLICT);
+        }
 
-        if (optionalUpdatedGenre.isPresent()) {
+        if (optionalUpdatedGenreId.isPresent()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.notFound().build();
+        return ETags.preconditionFailedOr(request, HttpStatus.NOT_FOUND);
     }
 
     @RequestMapping(method = DELETE, value = "/{id}")
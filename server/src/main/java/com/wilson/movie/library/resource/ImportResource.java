@@ -0,0 +1,175 @@
+package com.wilson.movie.library.resource;
+
+import com.wilson.movie.library.resource.model.ImportStatus;
+import com.wilson.movie.library.service.ImportService;
+import com.wilson.movie.library.service.imports.ImportFormat;
+import com.wilson.movie.library.service.imports.ImportJob;
+import com.wilson.movie.library.service.imports.ImportKind;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Optional;
+
+import static com.wilson.movie.library.resource.utils.Adapters.toImportStatus;
+import static com.wilson.movie.library.resource.utils.Adapters.toImportStatuses;
+import static org.springframework.web.bind.annotation.RequestMethod.*;
+
+/**
+ * Rest resource controller for imports of movies, TV shows and persons from CSV or TSV files.
+ * <p>
+ * A file is either the UTF-8 body of the request, which is streamed to a temporary file before
+ * being imported, or a file in the import directory of the server. Imports run in the background:
+ * starting one returns its status, whose location can be polled until the import has finished.
+ *
+ * @author Zach Wilson
+ */
+@RequestMapping("/imports")
+@RestController
+@Slf4j
+public class ImportResource {
+
+    private final ImportService importService;
+    private final Optional<Path> directory;
+
+    @Autowired
+    public ImportResource(ImportService importService,
+            @Value("${movie-library.import.directory:}") String directory) {
+        this.importService = importService;
+        this.directory = directory.isEmpty()
+                ? Optional.empty()
+                : Optional.of(Paths.get(directory).toAbsolutePath().normalize());
+    }
+
+    @RequestMapping(method = POST, value = "/{kind}", params = "!file",
+                    consumes = {ImportFormat.TEXT_CSV_VALUE, ImportFormat.TEXT_TSV_VALUE})
+    public ResponseEntity<ImportStatus> upload(@PathVariable("kind") String kind, HttpServletRequest request)
+            throws IOException {
+        log.trace("Received request to import {} from upload", kind);
+
+        Optional<ImportKind> importKind = ImportKind.ofPath(kind);
+        if (!importKind.isPresent()) {
+            log.debug("Cannot import: unknown kind: {}", kind);
+            return ResponseEntity.notFound().build();
+        }
+        ImportFormat format = ImportFormat.of(MediaType.parseMediaType(request.getContentType())).get();
+
+        Path file = Files.createTempFile("import-", "." + format.name().toLowerCase());
+        try (InputStream body = request.getInputStream()) {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        return accepted(importService.start(importKind.get(), format, file, true));
+    }
+
+    @RequestMapping(method = POST, value = "/{kind}", params = "file")
+    public ResponseEntity<ImportStatus> importFile(@PathVariable("kind") String kind,
+            @RequestParam("file") String fileName,
+            @RequestParam(value = "format", required = false) ImportFormat format) {
+        log.trace("Received request to import {} from file: {}", kind, fileName);
+
+        Optional<ImportKind> importKind = ImportKind.ofPath(kind);
+        if (!importKind.isPresent()) {
+            log.debug("Cannot import: unknown kind: {}", kind);
+            return ResponseEntity.notFound().build();
+        }
+        if (!directory.isPresent()) {
+            log.debug("Cannot import: no import directory is configured");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        Optional<Path> file = resolve(directory.get(), fileName);
+        if (!file.isPresent()) {
+            log.debug("Cannot import: file is not readable in the import directory: {}", fileName);
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<ImportFormat> fileFormat = format != null
+                ? Optional.of(format)
+                : ImportFormat.ofFileName(fileName);
+        if (!fileFormat.isPresent()) {
+            log.debug("Cannot import: format of file is unknown: {}", fileName);
+            return ResponseEntity.badRequest().build();
+        }
+
+        return accepted(importService.start(importKind.get(), fileFormat.get(), file.get(), false));
+    }
+
+    @RequestMapping(method = GET, value = "/{id}")
+    public ResponseEntity<ImportStatus> getById(@PathVariable("id") Integer id) {
+        log.trace("Received request to get import by ID: {}", id);
+
+        Optional<ImportJob> job = importService.getById(id);
+
+        if (job.isPresent()) {
+            return ResponseEntity.ok(toImportStatus(job.get()));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @RequestMapping(method = GET)
+    public ResponseEntity<Collection<ImportStatus>> getAll() {
+        log.trace("Received request to get all imports");
+
+        Collection<ImportJob> jobs = importService.getAll();
+
+        if (!jobs.isEmpty()) {
+            return ResponseEntity.ok(toImportStatuses(jobs));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Resolves the name of a file in the import directory.
+     * <p>
+     * Only files within the directory can be imported: symbolic links are followed before comparing,
+     * so that neither {@code ..} nor a link can escape the directory.
+     *
+     * @param directory the import directory.
+     * @param fileName the name of the file, relative to the directory.
+     * @return the real path of the file, or empty if it is not a readable file within the directory.
+     */
+    private static Optional<Path> resolve(Path directory, String fileName) {
+        Path realDirectory;
+        Path file;
+        try {
+            realDirectory = directory.toRealPath();
+            file = realDirectory.resolve(fileName).toRealPath();
+        } catch (IOException | InvalidPathException e) {
+            return Optional.empty();
+        }
+
+        if (!file.startsWith(realDirectory) || !Files.isRegularFile(file) || !Files.isReadable(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    private static ResponseEntity<ImportStatus> accepted(ImportJob job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder
+                                  .fromCurrentContextPath()
+                                  .path("/imports/{id}")
+                                  .buildAndExpand(job.getId())
+                                  .toUri())
+                .body(toImportStatus(job));
+    }
+
+}
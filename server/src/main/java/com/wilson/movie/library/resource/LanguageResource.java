@@ -2,11 +2,16 @@ package com.wilson.movie.library.resource;
 
 import com.wilson.movie.library.domain.LanguageEntity;
 import com.wilson.movie.library.resource.model.Language;
+import com.wilson.movie.library.resource.utils.Adapters;
+import com.wilson.movie.library.resource.utils.ETags;
 import com.wilson.movie.library.service.LanguageService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.Collection;
@@ -37,7 +42,7 @@ public class LanguageResource {
     public ResponseEntity<?> create(@RequestBody Language language) {
         log.trace("Received request to create language: {}", language);
 
-        LanguageEntity createdLanguage = service.create(toLanguage(language));
+        LanguageEntity createdLanguage = service.create(toLanguage(language.withVersion(null)));
 
         return ResponseEntity.created(
                 ServletUriComponentsBuilder
@@ -49,15 +54,10 @@ public class LanguageResource {
     }
 
     @RequestMapping(method = GET, value = "/{id}")
-    public ResponseEntity<Language> getById(@PathVariable("id") Integer id) {
+    public ResponseEntity<Language> getById(@PathVariable("id") Integer id, WebRequest request) {
         log.trace("Received request to get language by ID: {}", id);
 
-        Optional<LanguageEntity> optionalLanguage = service.getById(id);
-
-        if (optionalLanguage.isPresent()) {
-            return ResponseEntity.ok(toLanguage(optionalLanguage.get()));
-        }
-        return ResponseEntity.notFound().build();
+        return ETags.get(request, service.getById(id), ETags::of, Adapters::toLanguage);
     }
 
     @RequestMapping(method = GET, params = "ids")
@@ -85,27 +85,38 @@ public class LanguageResource {
     }
 
     @RequestMapping(method = GET)
-    public ResponseEntity<Collection<Language>> getAll() {
+    public ResponseEntity<Collection<Language>> getAll(WebRequest request) {
         log.trace("Received request tog et all languages");
 
         Collection<LanguageEntity> languages = service.getAll();
+        Optional<Collection<LanguageEntity>> optionalLanguages = languages.isEmpty() ? Optional.empty() : Optional.of(languages);
 
-        if (!languages.isEmpty()) {
-            return ResponseEntity.ok(toLanguages(languages));
-        }
-        return ResponseEntity.notFound().build();
+        return ETags.get(request, optionalLanguages, (all) -> ETags.ofAll(all, ETags::of), Adapters::toLanguages);
     }
 
     @RequestMapping(method = PUT, value = "/{id}")
-    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody Language language) {
+    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody Language language,
+            WebRequest request) {
         log.trace("Received request to update language with ID {}: {}", id, language);
 
-        Optional<LanguageEntity> optionalUpdatedLanguage = service.update(id, toLanguage(language));
+        Optional<ResponseEntity<Void>> preconditionFailed = ETags.preconditionFailed(request, id);
+        if (preconditionFailed.isPresent()) {
+            return preconditionFailed.get();
+        }
+
+        Language versionedLanguage = ETags.ifMatchVersion(request, id).map(language::withVersion).orElse(language);
+        Optional<Integer> optionalUpdatedLanguageId;
+        try {
+            optionalUpdatedLanguageId = service.update(id, toLanguage(versionedLanguage));
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Cannot update language with ID {}: {}", id, e.getMessage());
+            return ETags.preconditionFailedOr(request, HttpStatus.CONFLICT);
+        }
 
-        if (optionalUpdatedLanguage.isPresent()) {
+        if (optionalUpdatedLanguageId.isPresent()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.notFound().build();
+        return ETags.preconditionFailedOr(request, HttpStatus.NOT_FOUND);
     }
 
     @RequestMapping(method = DELETE, value = "/{id}")
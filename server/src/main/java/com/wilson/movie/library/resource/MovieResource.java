@@ -1,23 +1,55 @@
 package com.wilson.movie.library.resource;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wilson.movie.library.domain.CreditEntity;
+import com.wilson.movie.library.domain.FacetCount;
 import com.wilson.movie.library.domain.GenreEntity;
 import com.wilson.movie.library.domain.LanguageEntity;
 import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.MovieView;
 import com.wilson.movie.library.domain.RatingEntity;
+import com.wilson.movie.library.resource.model.BulkResult;
+import com.wilson.movie.library.resource.model.Credit;
+import com.wilson.movie.library.resource.model.Facets;
 import com.wilson.movie.library.resource.model.Movie;
+import com.wilson.movie.library.resource.model.YearCount;
+import com.wilson.movie.library.resource.utils.Adapters;
+import com.wilson.movie.library.resource.utils.DateRanges;
+import com.wilson.movie.library.resource.utils.ETags;
+import com.wilson.movie.library.resource.utils.IdArrays;
+import com.wilson.movie.library.resource.utils.MergePatch;
+import com.wilson.movie.library.resource.utils.Pagination;
+import com.wilson.movie.library.service.CreditService;
 import com.wilson.movie.library.service.GenreService;
 import com.wilson.movie.library.service.LanguageService;
 import com.wilson.movie.library.service.MovieService;
 import com.wilson.movie.library.service.RatingService;
+import com.wilson.movie.library.service.imports.Lookups;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Collection;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.wilson.movie.library.resource.utils.Adapters.*;
 import static org.springframework.web.bind.annotation.RequestMethod.*;
@@ -32,18 +64,35 @@ import static org.springframework.web.bind.annotation.RequestMethod.*;
 @Slf4j
 public class MovieResource {
 
+    /**
+     * Newline-delimited JSON: one movie per line.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Number of movies written to an export between flushes of the response.
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 256;
+
     private final MovieService movieService;
+    private final CreditService creditService;
     private final RatingService ratingService;
     private final GenreService genreService;
     private final LanguageService languageService;
+    private final ObjectMapper objectMapper;
+    private final int bulkChunkSize;
 
     @Autowired
     public MovieResource(MovieService movieService, RatingService ratingService, GenreService genreService,
-            LanguageService languageService) {
+            LanguageService languageService, CreditService creditService, ObjectMapper objectMapper,
+            @Value("${movie-library.bulk.chunk-size:500}") int bulkChunkSize) {
         this.movieService = movieService;
         this.ratingService = ratingService;
         this.genreService = genreService;
         this.languageService = languageService;
+        this.creditService = creditService;
+        this.objectMapper = objectMapper;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     @RequestMapping(method = POST)
@@ -71,10 +120,10 @@ public class MovieResource {
             return ResponseEntity.badRequest().build();
         }
 
-        MovieEntity createdMovie = movieService.create(toMovie(movie,
-                                                               toRating(rating.get()),
-                                                               toGenre(genre.get()),
-                                                               toLanguage(language.get())));
+        MovieEntity createdMovie = movieService.create(toMovie(movie.withVersion(null),
+                                                               rating.get(),
+                                                               genre.get(),
+                                                               language.get()));
 
         return ResponseEntity.created(
                 ServletUriComponentsBuilder
@@ -85,14 +134,75 @@ public class MovieResource {
                 .build();
     }
 
+    @RequestMapping(method = POST, value = "/_bulk")
+    public ResponseEntity<List<BulkResult>> createAll(@RequestBody List<Movie> movies) {
+        log.trace("Received request to create {} movies", movies.size());
+
+        BulkResult[] results = new BulkResult[movies.size()];
+
+        // Resolve each distinct rating, genre and language name only once
+        Lookups lookups = new Lookups(ratingService, genreService, languageService);
+
+        List<MovieEntity> chunk = new ArrayList<>(bulkChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(bulkChunkSize);
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+
+            if (movie == null || movie.getTitle() == null || movie.getReleaseDate() == null
+                    || movie.getStudio() == null || movie.getRating() == null || movie.getGenre() == null
+                    || movie.getLanguage() == null) {
+                results[i] = rejected(i, HttpStatus.BAD_REQUEST, "Missing required field");
+                continue;
+            }
+
+            Optional<RatingEntity> rating = lookups.rating(movie.getRating());
+            if (!rating.isPresent()) {
+                results[i] = rejected(i, HttpStatus.BAD_REQUEST, "Rating does not exist: " + movie.getRating());
+                continue;
+            }
+
+            Optional<GenreEntity> genre = lookups.genre(movie.getGenre());
+            if (!genre.isPresent()) {
+                results[i] = rejected(i, HttpStatus.BAD_REQUEST, "Genre does not exist: " + movie.getGenre());
+                continue;
+            }
+
+            Optional<LanguageEntity> language = lookups.language(movie.getLanguage());
+            if (!language.isPresent()) {
+                results[i] = rejected(i, HttpStatus.BAD_REQUEST, "Language does not exist: " + movie.getLanguage());
+                continue;
+            }
+
+            chunk.add(toMovie(movie, rating.get(), genre.get(), language.get()));
+            chunkIndexes.add(i);
+            if (chunk.size() == bulkChunkSize) {
+                createChunk(chunk, chunkIndexes, results);
+                chunk = new ArrayList<>(bulkChunkSize);
+                chunkIndexes = new ArrayList<>(bulkChunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            createChunk(chunk, chunkIndexes, results);
+        }
+
+        return ResponseEntity.ok(Arrays.asList(results));
+    }
+
     @RequestMapping(method = GET, value = "/{id}")
-    public ResponseEntity<Movie> getById(@PathVariable("id") Integer id) {
+    public ResponseEntity<Movie> getById(@PathVariable("id") Integer id, WebRequest request) {
         log.trace("Received request to get movie by ID: {}", id);
 
-        Optional<MovieEntity> optionalMovie = movieService.getById(id);
+        return ETags.get(request, movieService.getById(id), ETags::of, Adapters::toMovie);
+    }
 
-        if (optionalMovie.isPresent()) {
-            return ResponseEntity.ok(toMovie(optionalMovie.get()));
+    @RequestMapping(method = GET, value = "/{id}/credits")
+    public ResponseEntity<Collection<Credit>> getCredits(@PathVariable("id") Integer id) {
+        log.trace("Received request to get credits of movie with ID: {}", id);
+
+        List<CreditEntity> credits = creditService.getAllByMovieId(id);
+
+        if (!credits.isEmpty()) {
+            return ResponseEntity.ok(toCredits(credits));
         }
         return ResponseEntity.notFound().build();
     }
@@ -109,6 +219,26 @@ public class MovieResource {
         return ResponseEntity.notFound().build();
     }
 
+    @RequestMapping(method = POST, value = "/_mget",
+                    consumes = {MediaType.APPLICATION_JSON_VALUE, IdArrays.APPLICATION_VARINT_VALUE})
+    public ResponseEntity<Collection<Movie>> getAllInOrder(HttpServletRequest request) throws IOException {
+        int[] ids;
+        try {
+            ids = IdArrays.read(request.getInputStream(), MediaType.parseMediaType(request.getContentType()));
+        } catch (IllegalArgumentException e) {
+            log.debug("Cannot get movies by IDs: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        log.trace("Received request to get {} movies by IDs", ids.length);
+
+        List<MovieEntity> movies = movieService.getAllInOrder(ids);
+
+        if (!movies.isEmpty()) {
+            return ResponseEntity.ok(toMovies(movies));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
     @RequestMapping(method = GET, params = "title")
     public ResponseEntity<Movie> getByTitle(@RequestParam("title") String title) {
         log.trace("Received request to get movie by title: \"{}\"", title);
@@ -148,11 +278,132 @@ public class MovieResource {
         return ResponseEntity.notFound().build();
     }
 
+    @RequestMapping(method = GET, params = "released-from")
+    public ResponseEntity<Collection<Movie>> getAllByDateRange(
+            @RequestParam("released-from") Integer fromEpochDay,
+            @RequestParam(value = "released-to", required = false) Integer toEpochDay,
+            @RequestParam(value = "after", defaultValue = Pagination.FIRST_CURSOR) Integer after,
+            @RequestParam(value = "limit", defaultValue = Pagination.DEFAULT_LIMIT) Integer limit) {
+        return getAllBetween(fromEpochDay, toEpochDay, after, limit);
+    }
+
+    @RequestMapping(method = GET, params = {"released-to", "!released-from"})
+    public ResponseEntity<Collection<Movie>> getAllByDateRangeTo(
+            @RequestParam("released-to") Integer toEpochDay,
+            @RequestParam(value = "after", defaultValue = Pagination.FIRST_CURSOR) Integer after,
+            @RequestParam(value = "limit", defaultValue = Pagination.DEFAULT_LIMIT) Integer limit) {
+        return getAllBetween(null, toEpochDay, after, limit);
+    }
+
     @RequestMapping(method = GET)
-    public ResponseEntity<Collection<Movie>> getAll() {
-        log.trace("Received request to get all movies");
+    public ResponseEntity<Collection<Movie>> getAll(
+            @RequestParam(value = "after", defaultValue = Pagination.FIRST_CURSOR) Integer after,
+            @RequestParam(value = "limit", defaultValue = Pagination.DEFAULT_LIMIT) Integer limit) {
+        log.trace("Received request to get up to {} movies after ID: {}", limit, after);
+
+        if (after < 0 || limit < 1) {
+            log.debug("Cannot get movies: invalid cursor {} or limit {}", after, limit);
+            return ResponseEntity.badRequest().build();
+        }
 
-        Collection<MovieEntity> movies = movieService.getAll();
+        int pageLimit = Pagination.clampLimit(limit);
+        List<MovieView> movies = movieService.getViewsAfter(after, pageLimit);
+
+        if (!movies.isEmpty()) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (movies.size() == pageLimit) {
+                int lastId = movies.get(movies.size() - 1).getId();
+                response.header(Pagination.NEXT_CURSOR_HEADER, String.valueOf(lastId));
+            }
+            return response.body(toMovies(movies));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @RequestMapping(method = GET, value = "/stats/by-year")
+    public ResponseEntity<List<YearCount>> countAllByReleaseYear() {
+        log.trace("Received request to count movies by year of release");
+
+        SortedMap<Integer, Long> counts = movieService.countAllByReleaseYear();
+
+        if (!counts.isEmpty()) {
+            List<YearCount> years = new ArrayList<>(counts.size());
+            counts.forEach((year, count) -> years.add(new YearCount(year, count)));
+            return ResponseEntity.ok(years);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @RequestMapping(method = GET, value = "/facets")
+    public ResponseEntity<Facets> countByFacets(
+            @RequestParam(value = "released-from", required = false) Integer fromEpochDay,
+            @RequestParam(value = "released-to", required = false) Integer toEpochDay,
+            @RequestParam(value = "studio", required = false) String studio,
+            @RequestParam(value = "rating", required = false) String rating,
+            @RequestParam(value = "genre", required = false) String genre,
+            @RequestParam(value = "language", required = false) String language) {
+        LocalDate from = DateRanges.from(fromEpochDay);
+        LocalDate to = DateRanges.to(toEpochDay);
+        log.trace("Received request to count movies from {} to {} by facet", from, to);
+
+        if (from.isAfter(to)) {
+            log.debug("Cannot count movies: invalid range {} to {}", from, to);
+            return ResponseEntity.badRequest().build();
+        }
+
+        Map<String, Object> filter = new HashMap<>();
+        if (studio != null) {
+            filter.put("studio", studio);
+        }
+        if (rating != null) {
+            Optional<RatingEntity> ratingEntity = ratingService.getByName(rating);
+            if (!ratingEntity.isPresent()) {
+                log.debug("Cannot count movies: provided rating does not exist: \"{}\"", rating);
+                return ResponseEntity.badRequest().build();
+            }
+            filter.put(FacetCount.RATING, ratingEntity.get());
+        }
+        if (genre != null) {
+            Optional<GenreEntity> genreEntity = genreService.getByName(genre);
+            if (!genreEntity.isPresent()) {
+                log.debug("Cannot count movies: provided genre does not exist: \"{}\"", genre);
+                return ResponseEntity.badRequest().build();
+            }
+            filter.put(FacetCount.GENRE, genreEntity.get());
+        }
+        if (language != null) {
+            Optional<LanguageEntity> languageEntity = languageService.getByName(language);
+            if (!languageEntity.isPresent()) {
+                log.debug("Cannot count movies: provided language does not exist: \"{}\"", language);
+                return ResponseEntity.badRequest().build();
+            }
+            filter.put(FacetCount.LANGUAGE, languageEntity.get());
+        }
+
+        Facets facets = toFacets(movieService.countByFacets(from, to, filter));
+
+        // Every matching movie has a rating, so no ratings means no matches
+        if (!facets.getRatings().isEmpty()) {
+            return ResponseEntity.ok(facets);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @RequestMapping(method = GET, value = "/search")
+    public ResponseEntity<Collection<Movie>> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = Pagination.FIRST_PAGE) Integer page,
+            @RequestParam(value = "limit", defaultValue = Pagination.DEFAULT_LIMIT) Integer limit) {
+        log.trace("Received request to search page {} of up to {} movies matching: \"{}\"", page, limit, query);
+
+        if (query.trim().isEmpty() || page < 0 || limit < 1
+                || page > Integer.MAX_VALUE / Pagination.clampLimit(limit)) {
+            log.debug("Cannot search movies: invalid query \"{}\", page {} or limit {}", query, page, limit);
+            return ResponseEntity.badRequest().build();
+        }
+
+        int pageLimit = Pagination.clampLimit(limit);
+        List<MovieEntity> movies = movieService.search(query, page, pageLimit);
 
         if (!movies.isEmpty()) {
             return ResponseEntity.ok(toMovies(movies));
@@ -160,10 +411,47 @@ public class MovieResource {
         return ResponseEntity.notFound().build();
     }
 
+    @RequestMapping(method = GET, produces = APPLICATION_NDJSON_VALUE)
+    public void exportAll(HttpServletResponse response) throws IOException {
+        log.trace("Received request to export all movies");
+
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // Flush explicitly: once after the first movie so that the client starts receiving data
+        // right away, and then every few hundred movies
+        ObjectWriter writer = objectMapper.writerFor(Movie.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        AtomicLong written = new AtomicLong();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+
+            movieService.exportAll((movie) -> {
+                try {
+                    writer.writeValue(generator, toMovie(movie));
+                    generator.writeRaw('\n');
+                    if (written.getAndIncrement() % EXPORT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     @RequestMapping(method = PUT, value = "/{id}")
-    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody Movie movie) {
+    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody Movie movie,
+            WebRequest request) {
         log.trace("Received request to update movie with ID {}: {}", id, movie);
 
+        Optional<ResponseEntity<Void>> preconditionFailed = ETags.preconditionFailed(request, id);
+        if (preconditionFailed.isPresent()) {
+            return preconditionFailed.get();
+        }
+
         // Get the rating
         Optional<RatingEntity> rating = ratingService.getByName(movie.getRating());
         if (!rating.isPresent()) {
@@ -185,16 +473,65 @@ public class MovieResource {
             return ResponseEntity.badRequest().build();
         }
 
-        Optional<MovieEntity> optionalUpdatedMovie =
-                movieService.update(id, toMovie(movie,
-                                                toRating(rating.get()),
-                                                toGenre(genre.get()),
-                                                toLanguage(language.get())));
+        Movie versionedMovie = ETags.ifMatchVersion(request, id).map(movie::withVersion).orElse(movie);
+        Optional<Integer> optionalUpdatedMovieId;
+        try {
+            optionalUpdatedMovieId = movieService.update(id, toMovie(versionedMovie, rating.get(), genre.get(), language.get()));
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Cannot update movie with ID {}: {}", id, e.getMessage());
+            return ETags.preconditionFailedOr(request, HttpStatus.CONFLICT);
+        }
 
-        if (optionalUpdatedMovie.isPresent()) {
+        if (optionalUpdatedMovieId.isPresent()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.notFound().build();
+        return ETags.preconditionFailedOr(request, HttpStatus.NOT_FOUND);
+    }
+
+    @RequestMapping(method = PATCH, value = "/{id}", consumes = MergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+    public ResponseEntity<Void> patch(@PathVariable("id") Integer id, @RequestBody ObjectNode patch,
+            WebRequest request) {
+        log.trace("Received request to patch movie with ID {}: {}", id, patch);
+
+        Optional<ResponseEntity<Void>> preconditionFailed = ETags.preconditionFailed(request, id);
+        if (preconditionFailed.isPresent()) {
+            return preconditionFailed.get();
+        }
+
+        // The rating, genre and language are only looked up when the patch changes them
+        MergePatch mergePatch = new MergePatch(patch);
+        Map<String, Object> changes;
+        Optional<Integer> version;
+        try {
+            changes = mergePatch
+                    .text("title", false)
+                    .date("releaseDate", false)
+                    .text("studio", false)
+                    .lookup("rating", ratingService::getByName)
+                    .lookup("genre", genreService::getByName)
+                    .lookup("language", languageService::getByName)
+                    .text("plotSummary", true)
+                    .text("notes", true)
+                    .changes();
+            version = mergePatch.version();
+        } catch (IllegalArgumentException e) {
+            log.debug("Cannot patch movie with ID {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        Integer expectedVersion = ETags.ifMatchVersion(request, id).orElse(version.orElse(null));
+        Optional<Integer> optionalPatchedMovieId;
+        try {
+            optionalPatchedMovieId = movieService.patch(id, expectedVersion, changes);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Cannot patch movie with ID {}: {}", id, e.getMessage());
+            return ETags.preconditionFailedOr(request, HttpStatus.CONFLICT);
+        }
+
+        if (optionalPatchedMovieId.isPresent()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ETags.preconditionFailedOr(request, HttpStatus.NOT_FOUND);
     }
 
     @RequestMapping(method = DELETE, value = "/{id}")
@@ -233,4 +570,65 @@ public class MovieResource {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Creates a chunk of movies in its own transaction and records the outcome of each movie.
+     *
+     * @param chunk the movies to create.
+     * @param indexes the index of each movie in the bulk request.
+     * @param results the results of the bulk request, by index.
+     */
+    private void createChunk(List<MovieEntity> chunk, List<Integer> indexes, BulkResult[] results) {
+        try {
+            List<MovieEntity> createdMovies = movieService.createAll(chunk);
+            for (int i = 0; i < createdMovies.size(); i++) {
+                results[indexes.get(i)] = BulkResult.builder()
+                        .index(indexes.get(i))
+                        .status(HttpStatus.CREATED.value())
+                        .id(createdMovies.get(i).getId())
+                        .build();
+            }
+        } catch (DataAccessException e) {
+            log.debug("Cannot create chunk of {} movies: {}", chunk.size(), e.getMessage());
+
+            HttpStatus status = e instanceof DataIntegrityViolationException
+                    ? HttpStatus.BAD_REQUEST
+                    : HttpStatus.INTERNAL_SERVER_ERROR;
+            for (Integer index : indexes) {
+                results[index] = rejected(index, status, "Chunk could not be persisted");
+            }
+        }
+    }
+
+    private static BulkResult rejected(int index, HttpStatus status, String error) {
+        return BulkResult.builder().index(index).status(status.value()).error(error).build();
+    }
+
+    /**
+     * Gets a page of the movies released within a range of dates, ordered by ID like any other page.
+     */
+    private ResponseEntity<Collection<Movie>> getAllBetween(Integer fromEpochDay, Integer toEpochDay,
+            Integer after, Integer limit) {
+        LocalDate from = DateRanges.from(fromEpochDay);
+        LocalDate to = DateRanges.to(toEpochDay);
+        log.trace("Received request to get up to {} movies released from {} to {} after ID: {}", limit, from, to, after);
+
+        if (from.isAfter(to) || after < 0 || limit < 1) {
+            log.debug("Cannot get movies: invalid range {} to {}, cursor {} or limit {}", from, to, after, limit);
+            return ResponseEntity.badRequest().build();
+        }
+
+        int pageLimit = Pagination.clampLimit(limit);
+        List<MovieView> movies = movieService.getViewsByReleaseDateBetween(from, to, after, pageLimit);
+
+        if (!movies.isEmpty()) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (movies.size() == pageLimit) {
+                int lastId = movies.get(movies.size() - 1).getId();
+                response.header(Pagination.NEXT_CURSOR_HEADER, String.valueOf(lastId));
+            }
+            return response.body(toMovies(movies));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
 }
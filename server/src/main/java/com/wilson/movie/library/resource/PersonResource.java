@@ -1,18 +1,34 @@
 package com.wilson.movie.library.resource;
 
+import com.wilson.movie.library.domain.CreditEntity;
 import com.wilson.movie.library.domain.PersonEntity;
+import com.wilson.movie.library.domain.PersonView;
+import com.wilson.movie.library.resource.model.Credit;
 import com.wilson.movie.library.resource.model.Person;
+import com.wilson.movie.library.resource.utils.Adapters;
+import com.wilson.movie.library.resource.utils.ETags;
+import com.wilson.movie.library.resource.utils.IdArrays;
+import com.wilson.movie.library.resource.utils.Pagination;
+import com.wilson.movie.library.service.CreditService;
 import com.wilson.movie.library.service.PersonService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static com.wilson.movie.library.resource.utils.Adapters.toCredits;
 import static com.wilson.movie.library.resource.utils.Adapters.toPerson;
 import static com.wilson.movie.library.resource.utils.Adapters.toPersons;
 import static org.springframework.web.bind.annotation.RequestMethod.*;
@@ -27,18 +43,26 @@ import static org.springframework.web.bind.annotation.RequestMethod.*;
 @Slf4j
 public class PersonResource {
 
+    /**
+     * Number of search results returned when no limit is requested: enough to suggest names as
+     * they are typed.
+     */
+    private static final String SEARCH_DEFAULT_LIMIT = "10";
+
     private final PersonService service;
+    private final CreditService creditService;
 
     @Autowired
-    public PersonResource(PersonService service) {
+    public PersonResource(PersonService service, CreditService creditService) {
         this.service = service;
+        this.creditService = creditService;
     }
 
     @RequestMapping(method = POST)
     public ResponseEntity<?> create(@RequestBody Person person) {
         log.trace("Received request to create person: {}", person);
 
-        PersonEntity createdPerson = service.create(toPerson(person));
+        PersonEntity createdPerson = service.create(toPerson(person.withVersion(null)));
 
         return ResponseEntity.created(
                 ServletUriComponentsBuilder
@@ -50,13 +74,20 @@ public class PersonResource {
     }
 
     @RequestMapping(method = GET, value = "/{id}")
-    public ResponseEntity<Person> getById(@PathVariable("id") Integer id) {
+    public ResponseEntity<Person> getById(@PathVariable("id") Integer id, WebRequest request) {
         log.trace("Received request to get person by ID: {}", id);
 
-        Optional<PersonEntity> optionalPerson = service.getById(id);
+        return ETags.get(request, service.getById(id), ETags::of, Adapters::toPerson);
+    }
+
+    @RequestMapping(method = GET, value = "/{id}/filmography")
+    public ResponseEntity<Collection<Credit>> getFilmography(@PathVariable("id") Integer id) {
+        log.trace("Received request to get filmography of person with ID: {}", id);
+
+        List<CreditEntity> credits = creditService.getAllByPersonId(id);
 
-        if (optionalPerson.isPresent()) {
-            return ResponseEntity.ok(toPerson(optionalPerson.get()));
+        if (!credits.isEmpty()) {
+            return ResponseEntity.ok(toCredits(credits));
         }
         return ResponseEntity.notFound().build();
     }
@@ -73,6 +104,26 @@ public class PersonResource {
         return ResponseEntity.notFound().build();
     }
 
+    @RequestMapping(method = POST, value = "/_mget",
+                    consumes = {MediaType.APPLICATION_JSON_VALUE, IdArrays.APPLICATION_VARINT_VALUE})
+    public ResponseEntity<Collection<Person>> getAllInOrder(HttpServletRequest request) throws IOException {
+        int[] ids;
+        try {
+            ids = IdArrays.read(request.getInputStream(), MediaType.parseMediaType(request.getContentType()));
+        } catch (IllegalArgumentException e) {
+            log.debug("Cannot get persons by IDs: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        log.trace("Received request to get {} persons by IDs", ids.length);
+
+        List<PersonEntity> persons = service.getAllInOrder(ids);
+
+        if (!persons.isEmpty()) {
+            return ResponseEntity.ok(toPersons(persons));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
     @RequestMapping(method = GET, params = "first-name")
     public ResponseEntity<Collection<Person>> getByFirstName(@RequestParam("first-name") String firstName) {
         log.trace("Received request to get person by first name: \"{}\"", firstName);
@@ -135,6 +186,29 @@ public class PersonResource {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Searches for persons by name as it is typed, e.g., "tom han", best matches first. Each word
+     * matches the beginning of a first, middle or last name, ignoring case and accents.
+     */
+    @RequestMapping(method = GET, value = "/search")
+    public ResponseEntity<Collection<Person>> search(
+            @RequestParam("name") String name,
+            @RequestParam(value = "limit", defaultValue = SEARCH_DEFAULT_LIMIT) Integer limit) {
+        log.trace("Received request to search up to {} persons matching: \"{}\"", limit, name);
+
+        if (name.trim().isEmpty() || limit < 1) {
+            log.debug("Cannot search persons: invalid name \"{}\" or limit {}", name, limit);
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<PersonEntity> persons = service.search(name, Pagination.clampLimit(limit));
+
+        if (!persons.isEmpty()) {
+            return ResponseEntity.ok(toPersons(persons));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
     @RequestMapping(method = GET, params = "date-of-birth")
     public ResponseEntity<Collection<Person>> getAllByDateOfBirth(
             @RequestParam("date-of-birth") Integer dateDateOfBirthEpochDay) {
@@ -171,7 +245,7 @@ public class PersonResource {
     public ResponseEntity<Collection<Person>> getAll() {
         log.trace("Received request to get all persons");
 
-        Collection<PersonEntity> persons = service.getAll();
+        List<PersonView> persons = service.getAllViews();
 
         if (!persons.isEmpty()) {
             return ResponseEntity.ok(toPersons(persons));
@@ -180,15 +254,28 @@ public class PersonResource {
     }
 
     @RequestMapping(method = PUT, value = "/{id}")
-    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody Person person) {
+    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody Person person,
+            WebRequest request) {
         log.trace("Received request to update person with ID {}: {}", id, person);
 
-        Optional<PersonEntity> optionalUpdatedPerson = service.update(id, toPerson(person));
+        Optional<ResponseEntity<Void>> preconditionFailed = ETags.preconditionFailed(request, id);
+        if (preconditionFailed.isPresent()) {
+            return preconditionFailed.get();
+        }
+
+        Person versionedPerson = ETags.ifMatchVersion(request, id).map(person::withVersion).orElse(person);
+        Optional<Integer> optionalUpdatedPersonId;
+        try {
+            optionalUpdatedPersonId = service.update(id, toPerson(versionedPerson));
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Cannot update person with ID {}: {}", id, e.getMessage());
+            return ETags.preconditionFailedOr(request, HttpStatus.CONFLICT);
+        }
 
-        if (optionalUpdatedPerson.isPresent()) {
+        if (optionalUpdatedPersonId.isPresent()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.notFound().build();
+        return ETags.preconditionFailedOr(request, HttpStatus.NOT_FOUND);
     }
 
     @RequestMapping(method = DELETE, value = "/{id}")
@@ -2,11 +2,16 @@ package com.wilson.movie.library.resource;
 
 import com.wilson.movie.library.domain.RatingEntity;
 import com.wilson.movie.library.resource.model.Rating;
+import com.wilson.movie.library.resource.utils.Adapters;
+import com.wilson.movie.library.resource.utils.ETags;
 import com.wilson.movie.library.service.RatingService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.Collection;
@@ -37,7 +42,7 @@ public class RatingResource {
     public ResponseEntity<?> create(@RequestBody Rating rating) {
         log.trace("Received request to create rating: {}", rating);
 
-        RatingEntity createdRating = service.create(toRating(rating));
+        RatingEntity createdRating = service.create(toRating(rating.withVersion(null)));
 
         return ResponseEntity.created(
                 ServletUriComponentsBuilder
@@ -49,15 +54,10 @@ public class RatingResource {
     }
 
     @RequestMapping(method = GET, value = "/{id}")
-    public ResponseEntity<Rating> getById(@PathVariable("id") Integer id) {
+    public ResponseEntity<Rating> getById(@PathVariable("id") Integer id, WebRequest request) {
         log.trace("Received request to get rating by ID: {}", id);
 
-        Optional<RatingEntity> optionalRating = service.getById(id);
-
-        if (optionalRating.isPresent()) {
-            return ResponseEntity.ok(toRating(optionalRating.get()));
-        }
-        return ResponseEntity.notFound().build();
+        return ETags.get(request, service.getById(id), ETags::of, Adapters::toRating);
     }
 
     @RequestMapping(method = GET, params = "ids")
@@ -85,27 +85,38 @@ public class RatingResource {
     }
 
     @RequestMapping(method = GET)
-    public ResponseEntity<Collection<Rating>> getAll() {
+    public ResponseEntity<Collection<Rating>> getAll(WebRequest request) {
         log.trace("Received request tog et all ratings");
 
         Collection<RatingEntity> ratings = service.getAll();
+        Optional<Collection<RatingEntity>> optionalRatings = ratings.isEmpty() ? Optional.empty() : Optional.of(ratings);
 
-        if (!ratings.isEmpty()) {
-            return ResponseEntity.ok(toRatings(ratings));
-        }
-        return ResponseEntity.notFound().build();
+        return ETags.get(request, optionalRatings, (all) -> ETags.ofAll(all, ETags::of), Adapters::toRatings);
     }
 
     @RequestMapping(method = PUT, value = "/{id}")
-    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody Rating rating) {
+    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody Rating rating,
+            WebRequest request) {
         log.trace("Received request to update rating with ID {}: {}", id, rating);
 
-        Optional<RatingEntity> optionalUpdatedRating = service.update(id, toRating(rating));
+        Optional<ResponseEntity<Void>> preconditionFailed = ETags.preconditionFailed(request, id);
+        if (preconditionFailed.isPresent()) {
+            return preconditionFailed.get();
+        }
+
+        Rating versionedRating = ETags.ifMatchVersion(request, id).map(rating::withVersion).orElse(rating);
+        Optional<Integer> optionalUpdatedRatingId;
+        try {
+            optionalUpdatedRatingId = service.update(id, toRating(versionedRating));
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Cannot update rating with ID {}: {}", id, e.getMessage());
+            return ETags.preconditionFailedOr(request, HttpStatus.CONFLICT);
+        }
 
-        if (optionalUpdatedRating.isPresent()) {
+        if (optionalUpdatedRatingId.isPresent()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.notFound().build();
+        return ETags.preconditionFailedOr(request, HttpStatus.NOT_FOUND);
     }
 
     @RequestMapping(method = DELETE, value = "/{id}")
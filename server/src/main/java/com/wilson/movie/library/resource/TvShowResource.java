@@ -1,22 +1,44 @@
 package com.wilson.movie.library.resource;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wilson.movie.library.domain.CreditEntity;
+import com.wilson.movie.library.domain.FacetCount;
 import com.wilson.movie.library.domain.GenreEntity;
 import com.wilson.movie.library.domain.LanguageEntity;
 import com.wilson.movie.library.domain.RatingEntity;
 import com.wilson.movie.library.domain.TvShowEntity;
+import com.wilson.movie.library.domain.TvShowView;
+import com.wilson.movie.library.resource.model.Credit;
+import com.wilson.movie.library.resource.model.Facets;
 import com.wilson.movie.library.resource.model.TvShow;
+import com.wilson.movie.library.resource.utils.Adapters;
+import com.wilson.movie.library.resource.utils.DateRanges;
+import com.wilson.movie.library.resource.utils.ETags;
+import com.wilson.movie.library.resource.utils.IdArrays;
+import com.wilson.movie.library.resource.utils.MergePatch;
+import com.wilson.movie.library.resource.utils.Pagination;
+import com.wilson.movie.library.service.CreditService;
 import com.wilson.movie.library.service.GenreService;
 import com.wilson.movie.library.service.LanguageService;
 import com.wilson.movie.library.service.RatingService;
 import com.wilson.movie.library.service.TvShowService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.wilson.movie.library.resource.utils.Adapters.*;
@@ -33,17 +55,19 @@ import static org.springframework.web.bind.annotation.RequestMethod.*;
 public class TvShowResource {
 
     private final TvShowService tvShowService;
+    private final CreditService creditService;
     private final RatingService ratingService;
     private final GenreService genreService;
     private final LanguageService languageService;
 
     @Autowired
     public TvShowResource(TvShowService tvShowService, RatingService ratingService,
-            GenreService genreService, LanguageService languageService) {
+            GenreService genreService, LanguageService languageService, CreditService creditService) {
         this.tvShowService = tvShowService;
         this.ratingService = ratingService;
         this.genreService = genreService;
         this.languageService = languageService;
+        this.creditService = creditService;
     }
 
     @RequestMapping(method = POST)
@@ -71,10 +95,10 @@ public class TvShowResource {
             return ResponseEntity.badRequest().build();
         }
 
-        TvShowEntity createdTvShow = tvShowService.create(toTvShow(tvShow,
-                                                                   toRating(rating.get()),
-                                                                   toGenre(genre.get()),
-                                                                   toLanguage(language.get())));
+        TvShowEntity createdTvShow = tvShowService.create(toTvShow(tvShow.withVersion(null),
+                                                                   rating.get(),
+                                                                   genre.get(),
+                                                                   language.get()));
 
         return ResponseEntity.created(
                 ServletUriComponentsBuilder
@@ -86,13 +110,20 @@ public class TvShowResource {
     }
 
     @RequestMapping(method = GET, value = "/{id}")
-    public ResponseEntity<TvShow> getById(@PathVariable("id") Integer id) {
+    public ResponseEntity<TvShow> getById(@PathVariable("id") Integer id, WebRequest request) {
         log.trace("Received request to get TV show by ID: {}", id);
 
-        Optional<TvShowEntity> optionalTvShow = tvShowService.getById(id);
+        return ETags.get(request, tvShowService.getById(id), ETags::of, Adapters::toTvShow);
+    }
 
-        if (optionalTvShow.isPresent()) {
-            return ResponseEntity.ok(toTvShow(optionalTvShow.get()));
+    @RequestMapping(method = GET, value = "/{id}/credits")
+    public ResponseEntity<Collection<Credit>> getCredits(@PathVariable("id") Integer id) {
+        log.trace("Received request to get credits of TV show with ID: {}", id);
+
+        List<CreditEntity> credits = creditService.getAllByTvShowId(id);
+
+        if (!credits.isEmpty()) {
+            return ResponseEntity.ok(toCredits(credits));
         }
         return ResponseEntity.notFound().build();
     }
@@ -109,6 +140,26 @@ public class TvShowResource {
         return ResponseEntity.notFound().build();
     }
 
+    @RequestMapping(method = POST, value = "/_mget",
+                    consumes = {MediaType.APPLICATION_JSON_VALUE, IdArrays.APPLICATION_VARINT_VALUE})
+    public ResponseEntity<Collection<TvShow>> getAllInOrder(HttpServletRequest request) throws IOException {
+        int[] ids;
+        try {
+            ids = IdArrays.read(request.getInputStream(), MediaType.parseMediaType(request.getContentType()));
+        } catch (IllegalArgumentException e) {
+            log.debug("Cannot get TV shows by IDs: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        log.trace("Received request to get {} TV shows by IDs", ids.length);
+
+        List<TvShowEntity> tvShows = tvShowService.getAllInOrder(ids);
+
+        if (!tvShows.isEmpty()) {
+            return ResponseEntity.ok(toTvShows(tvShows));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
     @RequestMapping(method = GET, params = "title")
     public ResponseEntity<TvShow> getByTitle(@RequestParam("title") String title) {
         log.trace("Received request to get TV show by title: \"{}\"", title);
@@ -148,11 +199,118 @@ public class TvShowResource {
         return ResponseEntity.notFound().build();
     }
 
+    @RequestMapping(method = GET, params = "aired-from")
+    public ResponseEntity<Collection<TvShow>> getAllByDateRange(
+            @RequestParam("aired-from") Integer fromEpochDay,
+            @RequestParam(value = "aired-to", required = false) Integer toEpochDay,
+            @RequestParam(value = "after", defaultValue = Pagination.FIRST_CURSOR) Integer after,
+            @RequestParam(value = "limit", defaultValue = Pagination.DEFAULT_LIMIT) Integer limit) {
+        return getAllBetween(fromEpochDay, toEpochDay, after, limit);
+    }
+
+    @RequestMapping(method = GET, params = {"aired-to", "!aired-from"})
+    public ResponseEntity<Collection<TvShow>> getAllByDateRangeTo(
+            @RequestParam("aired-to") Integer toEpochDay,
+            @RequestParam(value = "after", defaultValue = Pagination.FIRST_CURSOR) Integer after,
+            @RequestParam(value = "limit", defaultValue = Pagination.DEFAULT_LIMIT) Integer limit) {
+        return getAllBetween(null, toEpochDay, after, limit);
+    }
+
     @RequestMapping(method = GET)
-    public ResponseEntity<Collection<TvShow>> getAll() {
-        log.trace("Received request to get all TV shows");
+    public ResponseEntity<Collection<TvShow>> getAll(
+            @RequestParam(value = "after", defaultValue = Pagination.FIRST_CURSOR) Integer after,
+            @RequestParam(value = "limit", defaultValue = Pagination.DEFAULT_LIMIT) Integer limit) {
+        log.trace("Received request to get up to {} TV shows after ID: {}", limit, after);
+
+        if (after < 0 || limit < 1) {
+            log.debug("Cannot get TV shows: invalid cursor {} or limit {}", after, limit);
+            return ResponseEntity.badRequest().build();
+        }
+
+        int pageLimit = Pagination.clampLimit(limit);
+        List<TvShowView> tvShows = tvShowService.getViewsAfter(after, pageLimit);
+
+        if (!tvShows.isEmpty()) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (tvShows.size() == pageLimit) {
+                int lastId = tvShows.get(tvShows.size() - 1).getId();
+                response.header(Pagination.NEXT_CURSOR_HEADER, String.valueOf(lastId));
+            }
+            return response.body(toTvShows(tvShows));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @RequestMapping(method = GET, value = "/facets")
+    public ResponseEntity<Facets> countByFacets(
+            @RequestParam(value = "aired-from", required = false) Integer fromEpochDay,
+            @RequestParam(value = "aired-to", required = false) Integer toEpochDay,
+            @RequestParam(value = "network", required = false) String network,
+            @RequestParam(value = "rating", required = false) String rating,
+            @RequestParam(value = "genre", required = false) String genre,
+            @RequestParam(value = "language", required = false) String language) {
+        LocalDate from = DateRanges.from(fromEpochDay);
+        LocalDate to = DateRanges.to(toEpochDay);
+        log.trace("Received request to count TV shows from {} to {} by facet", from, to);
+
+        if (from.isAfter(to)) {
+            log.debug("Cannot count TV shows: invalid range {} to {}", from, to);
+            return ResponseEntity.badRequest().build();
+        }
+
+        Map<String, Object> filter = new HashMap<>();
+        if (network != null) {
+            filter.put("network", network);
+        }
+        if (rating != null) {
+            Optional<RatingEntity> ratingEntity = ratingService.getByName(rating);
+            if (!ratingEntity.isPresent()) {
+                log.debug("Cannot count TV shows: provided rating does not exist: \"{}\"", rating);
+                return ResponseEntity.badRequest().build();
+            }
+            filter.put(FacetCount.RATING, ratingEntity.get());
+        }
+        if (genre != null) {
+            Optional<GenreEntity> genreEntity = genreService.getByName(genre);
+            if (!genreEntity.isPresent()) {
+                log.debug("Cannot count TV shows: provided genre does not exist: \"{}\"", genre);
+                return ResponseEntity.badRequest().build();
+            }
+            filter.put(FacetCount.GENRE, genreEntity.get());
+        }
+        if (language != null) {
+            Optional<LanguageEntity> languageEntity = languageService.getByName(language);
+            if (!languageEntity.isPresent()) {
+                log.debug("Cannot count TV shows: provided language does not exist: \"{}\"", language);
+                return ResponseEntity.badRequest().build();
+            }
+            filter.put(FacetCount.LANGUAGE, languageEntity.get());
+        }
+
+        Facets facets = toFacets(tvShowService.countByFacets(from, to, filter));
+
+        // Every matching TV show has a rating, so no ratings means no matches
+        if (!facets.getRatings().isEmpty()) {
+            return ResponseEntity.ok(facets);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @RequestMapping(method = GET, value = "/search")
+    public ResponseEntity<Collection<TvShow>> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = Pagination.FIRST_PAGE) Integer page,
+            @RequestParam(value = "limit", defaultValue = Pagination.DEFAULT_LIMIT) Integer limit) {
+        log.trace("Received request to search page {} of up to {} TV shows matching: \"{}\"", page, limit, query);
+
+        if (query.trim().isEmpty() || page < 0 || limit < 1
+                || page > Integer.MAX_VALUE / Pagination.clampLimit(limit)) {
+            log.debug("Cannot search TV shows: invalid query \"{}\", page {} or limit {}", query, page, limit);
+            return ResponseEntity.badRequest().build();
+        }
 
-        Collection<TvShowEntity> tvShows = tvShowService.getAll();
+        int pageLimit = Pagination.clampLimit(limit);
+        List<TvShowEntity> tvShows = tvShowService.search(query, page, pageLimit);
 
         if (!tvShows.isEmpty()) {
             return ResponseEntity.ok(toTvShows(tvShows));
@@ -161,9 +319,15 @@ public class TvShowResource {
     }
 
     @RequestMapping(method = PUT, value = "/{id}")
-    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody TvShow tvShow) {
+    public ResponseEntity<Void> update(@PathVariable("id") Integer id, @RequestBody TvShow tvShow,
+            WebRequest request) {
         log.trace("Received request to update TV show with ID {}: {}", id, tvShow);
 
+        Optional<ResponseEntity<Void>> preconditionFailed = ETags.preconditionFailed(request, id);
+        if (preconditionFailed.isPresent()) {
+            return preconditionFailed.get();
+        }
+
         // Get the rating
         Optional<RatingEntity> rating = ratingService.getByName(tvShow.getRating());
         if (!rating.isPresent()) {
@@ -185,16 +349,65 @@ public class TvShowResource {
             return ResponseEntity.badRequest().build();
         }
 
-        Optional<TvShowEntity> optionalUpdatedTvShow =
-                tvShowService.update(id, toTvShow(tvShow,
-                                                  toRating(rating.get()),
-                                                  toGenre(genre.get()),
-                                                  toLanguage(language.get())));
+        TvShow versionedTvShow = ETags.ifMatchVersion(request, id).map(tvShow::withVersion).orElse(tvShow);
+        Optional<Integer> optionalUpdatedTvShowId;
+        try {
+            optionalUpdatedTvShowId = tvShowService.update(id, toTvShow(versionedTvShow, rating.get(), genre.get(), language.get()));
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Cannot update TV show with ID {}: {}", id, e.getMessage());
+            return ETags.preconditionFailedOr(request, HttpStatus.CONFLICT);
+        }
 
-        if (optionalUpdatedTvShow.isPresent()) {
+        if (optionalUpdatedTvShowId.isPresent()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.notFound().build();
+        return ETags.preconditionFailedOr(request, HttpStatus.NOT_FOUND);
+    }
+
+    @RequestMapping(method = PATCH, value = "/{id}", consumes = MergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+    public ResponseEntity<Void> patch(@PathVariable("id") Integer id, @RequestBody ObjectNode patch,
+            WebRequest request) {
+        log.trace("Received request to patch TV show with ID {}: {}", id, patch);
+
+        Optional<ResponseEntity<Void>> preconditionFailed = ETags.preconditionFailed(request, id);
+        if (preconditionFailed.isPresent()) {
+            return preconditionFailed.get();
+        }
+
+        // The rating, genre and language are only looked up when the patch changes them
+        MergePatch mergePatch = new MergePatch(patch);
+        Map<String, Object> changes;
+        Optional<Integer> version;
+        try {
+            changes = mergePatch
+                    .text("title", false)
+                    .date("dateAired", false)
+                    .text("network", false)
+                    .lookup("rating", ratingService::getByName)
+                    .lookup("genre", genreService::getByName)
+                    .lookup("language", languageService::getByName)
+                    .text("plotSummary", false)
+                    .bool("series")
+                    .changes();
+            version = mergePatch.version();
+        } catch (IllegalArgumentException e) {
+            log.debug("Cannot patch TV show with ID {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        Integer expectedVersion = ETags.ifMatchVersion(request, id).orElse(version.orElse(null));
+        Optional<Integer> optionalPatchedTvShowId;
+        try {
+            optionalPatchedTvShowId = tvShowService.patch(id, expectedVersion, changes);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Cannot patch TV show with ID {}: {}", id, e.getMessage());
+            return ETags.preconditionFailedOr(request, HttpStatus.CONFLICT);
+        }
+
+        if (optionalPatchedTvShowId.isPresent()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ETags.preconditionFailedOr(request, HttpStatus.NOT_FOUND);
     }
 
     @RequestMapping(method = DELETE, value = "/{id}")
@@ -233,4 +446,32 @@ public class TvShowResource {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Gets a page of the TV shows aired within a range of dates, ordered by ID like any other page.
+     */
+    private ResponseEntity<Collection<TvShow>> getAllBetween(Integer fromEpochDay, Integer toEpochDay,
+            Integer after, Integer limit) {
+        LocalDate from = DateRanges.from(fromEpochDay);
+        LocalDate to = DateRanges.to(toEpochDay);
+        log.trace("Received request to get up to {} TV shows aired from {} to {} after ID: {}", limit, from, to, after);
+
+        if (from.isAfter(to) || after < 0 || limit < 1) {
+            log.debug("Cannot get TV shows: invalid range {} to {}, cursor {} or limit {}", from, to, after, limit);
+            return ResponseEntity.badRequest().build();
+        }
+
+        int pageLimit = Pagination.clampLimit(limit);
+        List<TvShowView> tvShows = tvShowService.getViewsByDateAiredBetween(from, to, after, pageLimit);
+
+        if (!tvShows.isEmpty()) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (tvShows.size() == pageLimit) {
+                int lastId = tvShows.get(tvShows.size() - 1).getId();
+                response.header(Pagination.NEXT_CURSOR_HEADER, String.valueOf(lastId));
+            }
+            return response.body(toTvShows(tvShows));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
 }
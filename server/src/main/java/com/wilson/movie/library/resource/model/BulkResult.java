@@ -0,0 +1,32 @@
+package com.wilson.movie.library.resource.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRootName;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable outcome of a single item of a bulk request.
+ *
+ * @author Zach Wilson
+ */
+@JsonRootName("result")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Value
+@Builder
+public final class BulkResult {
+
+    @JsonProperty("index")
+    private final int index;
+
+    @JsonProperty("status")
+    private final int status;
+
+    @JsonProperty("id")
+    private final Integer id;
+
+    @JsonProperty("error")
+    private final String error;
+
+}
@@ -0,0 +1,70 @@
+package com.wilson.movie.library.resource.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonRootName;
+import lombok.Builder;
+import lombok.Value;
+import lombok.experimental.Wither;
+
+/**
+ * Immutable credit DTO.
+ * <p>
+ * The person, movie or TV show is only embedded when it was fetched along with the credit, e.g.,
+ * the person in the credits of a movie, or the movie in the filmography of a person.
+ *
+ * @author Zach Wilson
+ */
+@JsonRootName("credit")
+@Value
+@Builder
+public final class Credit {
+
+    @JsonProperty("id")
+    @Wither
+    private final int id;
+
+    @JsonProperty("version")
+    @Wither
+    private final Integer version;
+
+    @JsonProperty("personId")
+    @Wither
+    private final Integer personId;
+
+    @JsonProperty("movieId")
+    @JsonPropertyDescription("Either a movie ID or a TV show ID")
+    @Wither
+    private final Integer movieId;
+
+    @JsonProperty("tvShowId")
+    @JsonPropertyDescription("Either a movie ID or a TV show ID")
+    @Wither
+    private final Integer tvShowId;
+
+    @JsonProperty("role")
+    @JsonPropertyDescription("e.g., Actor, Director")
+    @Wither
+    private final String role;
+
+    @JsonProperty("billingOrder")
+    @Wither
+    private final int billingOrder;
+
+    @JsonProperty("person")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Wither
+    private final Person person;
+
+    @JsonProperty("movie")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Wither
+    private final Movie movie;
+
+    @JsonProperty("tvShow")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Wither
+    private final TvShow tvShow;
+
+}
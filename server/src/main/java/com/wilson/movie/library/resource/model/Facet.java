@@ -0,0 +1,23 @@
+package com.wilson.movie.library.resource.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+/**
+ * Immutable count of the movies or TV shows that have a rating, genre or language.
+ *
+ * @author Zach Wilson
+ */
+@Value
+public final class Facet {
+
+    @JsonProperty("id")
+    private final int id;
+
+    @JsonProperty("name")
+    private final String name;
+
+    @JsonProperty("count")
+    private final long count;
+
+}
@@ -0,0 +1,28 @@
+package com.wilson.movie.library.resource.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Immutable counts of the movies or TV shows matching a filter, by rating, genre and language.
+ * Only the values that at least one of them has are counted, largest count first.
+ *
+ * @author Zach Wilson
+ */
+@Value
+@Builder
+public final class Facets {
+
+    @JsonProperty("ratings")
+    private final List<Facet> ratings;
+
+    @JsonProperty("genres")
+    private final List<Facet> genres;
+
+    @JsonProperty("languages")
+    private final List<Facet> languages;
+
+}
@@ -0,0 +1,84 @@
+package com.wilson.movie.library.resource.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonRootName;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Immutable status of an import.
+ *
+ * @author Zach Wilson
+ */
+@JsonRootName("import")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Value
+@Builder
+public final class ImportStatus {
+
+    /**
+     * Rejection of a record, or of the chunk of records starting at the line.
+     */
+    @Value
+    public static class Error {
+
+        @JsonProperty("line")
+        private final long line;
+
+        @JsonProperty("message")
+        private final String message;
+
+    }
+
+    @JsonProperty("id")
+    private final int id;
+
+    @JsonProperty("kind")
+    @JsonPropertyDescription("movies, tv-shows or persons")
+    private final String kind;
+
+    @JsonProperty("format")
+    @JsonPropertyDescription("CSV or TSV")
+    private final String format;
+
+    @JsonProperty("state")
+    @JsonPropertyDescription("QUEUED, RUNNING, SUCCEEDED or FAILED")
+    private final String state;
+
+    @JsonProperty("rowsRead")
+    private final long rowsRead;
+
+    @JsonProperty("rowsImported")
+    private final long rowsImported;
+
+    @JsonProperty("rowsRejected")
+    private final long rowsRejected;
+
+    @JsonProperty("rowsPerSecond")
+    private final long rowsPerSecond;
+
+    @JsonProperty("createdAt")
+    @JsonPropertyDescription("ISO instant format, e.g., 2017-12-03T10:15:30Z")
+    private final String createdAt;
+
+    @JsonProperty("startedAt")
+    @JsonPropertyDescription("ISO instant format, e.g., 2017-12-03T10:15:30Z")
+    private final String startedAt;
+
+    @JsonProperty("finishedAt")
+    @JsonPropertyDescription("ISO instant format, e.g., 2017-12-03T10:15:30Z")
+    private final String finishedAt;
+
+    @JsonProperty("failure")
+    @JsonPropertyDescription("Why the import stopped before the end of the file")
+    private final String failure;
+
+    @JsonProperty("errors")
+    @JsonPropertyDescription("The first 100 rejected records or chunks")
+    private final List<Error> errors;
+
+}
@@ -20,6 +20,10 @@ public final class Language {
     @Wither
     private final int id;
 
+    @JsonProperty("version")
+    @Wither
+    private final Integer version;
+
     @JsonProperty("name")
     @Wither
     private final String name;
@@ -27,6 +27,10 @@ public final class Movie {
     @Wither
     private final int id;
 
+    @JsonProperty("version")
+    @Wither
+    private final Integer version;
+
     @JsonProperty("title")
     @Wither
     private final String title;
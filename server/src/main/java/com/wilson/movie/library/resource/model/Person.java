@@ -27,6 +27,10 @@ public final class Person {
     @Wither
     private final int id;
 
+    @JsonProperty("version")
+    @Wither
+    private final Integer version;
+
     @JsonProperty("firstName")
     @Wither
     private final String firstName;
@@ -20,6 +20,10 @@ public final class Rating {
     @Wither
     private final int id;
 
+    @JsonProperty("version")
+    @Wither
+    private final Integer version;
+
     @JsonProperty("name")
     @Wither
     private final String name;
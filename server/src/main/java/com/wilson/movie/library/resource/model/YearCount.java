@@ -0,0 +1,20 @@
+package com.wilson.movie.library.resource.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+/**
+ * Immutable count of the resources dated within a year, e.g., the movies released in it.
+ *
+ * @author Zach Wilson
+ */
+@Value
+public final class YearCount {
+
+    @JsonProperty("year")
+    private final int year;
+
+    @JsonProperty("count")
+    private final long count;
+
+}
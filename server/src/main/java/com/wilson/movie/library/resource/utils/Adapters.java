@@ -2,10 +2,16 @@ package com.wilson.movie.library.resource.utils;
 
 import com.wilson.movie.library.domain.*;
 import com.wilson.movie.library.resource.model.*;
+import com.wilson.movie.library.service.imports.ImportJob;
+import org.hibernate.Hibernate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +36,7 @@ public final class Adapters {
 
         return Movie.builder()
                 .id(movie.getId())
+                .version(movie.getVersion())
                 .title(movie.getTitle())
                 .releaseDate(movie.getReleaseDate())
                 .studio(movie.getStudio())
@@ -48,14 +55,35 @@ public final class Adapters {
             return null;
         }
 
-        return new MovieEntity(movie.getTitle(),
-                               movie.getReleaseDate(),
-                               movie.getStudio(),
-                               toRating(rating),
-                               toGenre(genre),
-                               toLanguage(language),
-                               movie.getPlotSummary(),
-                               movie.getNotes());
+        MovieEntity entity = new MovieEntity(movie.getTitle(),
+                                             movie.getReleaseDate(),
+                                             movie.getStudio(),
+                                             toRating(rating),
+                                             toGenre(genre),
+                                             toLanguage(language),
+                                             movie.getPlotSummary(),
+                                             movie.getNotes());
+        entity.setVersion(movie.getVersion());
+        return entity;
+    }
+
+    @Nullable
+    public static MovieEntity toMovie(@Nullable Movie movie, @Nullable RatingEntity rating,
+            @Nullable GenreEntity genre, @Nullable LanguageEntity language) {
+        if (movie == null || rating == null || genre == null || language == null) {
+            return null;
+        }
+
+        MovieEntity entity = new MovieEntity(movie.getTitle(),
+                                             movie.getReleaseDate(),
+                                             movie.getStudio(),
+                                             rating,
+                                             genre,
+                                             language,
+                                             movie.getPlotSummary(),
+                                             movie.getNotes());
+        entity.setVersion(movie.getVersion());
+        return entity;
     }
 
     @Nonnull
@@ -63,6 +91,27 @@ public final class Adapters {
         return movies.stream().map(Adapters::toMovie).collect(Collectors.toList());
     }
 
+    @Nonnull
+    public static Movie toMovie(@Nonnull MovieView movie) {
+        return Movie.builder()
+                .id(movie.getId())
+                .version(movie.getVersion())
+                .title(movie.getTitle())
+                .releaseDate(movie.getReleaseDate())
+                .studio(movie.getStudio())
+                .rating(movie.getRating())
+                .genre(movie.getGenre())
+                .language(movie.getLanguage())
+                .plotSummary(movie.getPlotSummary())
+                .notes(movie.getNotes())
+                .build();
+    }
+
+    @Nonnull
+    public static List<Movie> toMovies(@Nonnull List<MovieView> movies) {
+        return movies.stream().map(Adapters::toMovie).collect(Collectors.toList());
+    }
+
     @Nullable
     public static TvShow toTvShow(@Nullable TvShowEntity tvShow) {
         if (tvShow == null) {
@@ -71,6 +120,7 @@ public final class Adapters {
 
         return TvShow.builder()
                 .id(tvShow.getId())
+                .version(tvShow.getVersion())
                 .title(tvShow.getTitle())
                 .dateAired(tvShow.getDateAired())
                 .network(tvShow.getNetwork())
@@ -89,14 +139,35 @@ public final class Adapters {
             return null;
         }
 
-        return new TvShowEntity(tvShow.getTitle(),
-                                tvShow.getDateAired(),
-                                tvShow.getNetwork(),
-                                toRating(rating),
-                                toGenre(genre),
-                                toLanguage(language),
-                                tvShow.getPlotSummary(),
-                                tvShow.isSeries());
+        TvShowEntity entity = new TvShowEntity(tvShow.getTitle(),
+                                               tvShow.getDateAired(),
+                                               tvShow.getNetwork(),
+                                               toRating(rating),
+                                               toGenre(genre),
+                                               toLanguage(language),
+                                               tvShow.getPlotSummary(),
+                                               tvShow.isSeries());
+        entity.setVersion(tvShow.getVersion());
+        return entity;
+    }
+
+    @Nullable
+    public static TvShowEntity toTvShow(@Nullable TvShow tvShow, @Nullable RatingEntity rating,
+            @Nullable GenreEntity genre, @Nullable LanguageEntity language) {
+        if (tvShow == null || rating == null || genre == null || language == null) {
+            return null;
+        }
+
+        TvShowEntity entity = new TvShowEntity(tvShow.getTitle(),
+                                               tvShow.getDateAired(),
+                                               tvShow.getNetwork(),
+                                               rating,
+                                               genre,
+                                               language,
+                                               tvShow.getPlotSummary(),
+                                               tvShow.isSeries());
+        entity.setVersion(tvShow.getVersion());
+        return entity;
     }
 
     @Nonnull
@@ -104,6 +175,27 @@ public final class Adapters {
         return tvShows.stream().map(Adapters::toTvShow).collect(Collectors.toList());
     }
 
+    @Nonnull
+    public static TvShow toTvShow(@Nonnull TvShowView tvShow) {
+        return TvShow.builder()
+                .id(tvShow.getId())
+                .version(tvShow.getVersion())
+                .title(tvShow.getTitle())
+                .dateAired(tvShow.getDateAired())
+                .network(tvShow.getNetwork())
+                .rating(tvShow.getRating())
+                .genre(tvShow.getGenre())
+                .language(tvShow.getLanguage())
+                .plotSummary(tvShow.getPlotSummary())
+                .series(tvShow.isSeries())
+                .build();
+    }
+
+    @Nonnull
+    public static List<TvShow> toTvShows(@Nonnull List<TvShowView> tvShows) {
+        return tvShows.stream().map(Adapters::toTvShow).collect(Collectors.toList());
+    }
+
     @Nullable
     public static Rating toRating(@Nullable RatingEntity rating) {
         if (rating == null) {
@@ -112,6 +204,7 @@ public final class Adapters {
 
         return Rating.builder()
                 .id(rating.getId())
+                .version(rating.getVersion())
                 .name(rating.getName())
                 .description(rating.getDescription())
                 .build();
@@ -123,7 +216,9 @@ public final class Adapters {
             return null;
         }
 
-        return new RatingEntity(rating.getName(), rating.getDescription());
+        RatingEntity entity = new RatingEntity(rating.getName(), rating.getDescription());
+        entity.setVersion(rating.getVersion());
+        return entity;
     }
 
     @Nonnull
@@ -139,6 +234,7 @@ public final class Adapters {
 
         return Genre.builder()
                 .id(rating.getId())
+                .version(rating.getVersion())
                 .name(rating.getName())
                 .description(rating.getDescription())
                 .build();
@@ -150,7 +246,9 @@ public final class Adapters {
             return null;
         }
 
-        return new GenreEntity(rating.getName(), rating.getDescription());
+        GenreEntity entity = new GenreEntity(rating.getName(), rating.getDescription());
+        entity.setVersion(rating.getVersion());
+        return entity;
     }
 
     @Nonnull
@@ -166,6 +264,7 @@ public final class Adapters {
 
         return Language.builder()
                 .id(rating.getId())
+                .version(rating.getVersion())
                 .name(rating.getName())
                 .description(rating.getDescription())
                 .build();
@@ -177,7 +276,9 @@ public final class Adapters {
             return null;
         }
 
-        return new LanguageEntity(rating.getName(), rating.getDescription());
+        LanguageEntity entity = new LanguageEntity(rating.getName(), rating.getDescription());
+        entity.setVersion(rating.getVersion());
+        return entity;
     }
 
     @Nonnull
@@ -193,6 +294,7 @@ public final class Adapters {
 
         return Person.builder()
                 .id(person.getId())
+                .version(person.getVersion())
                 .firstName(person.getFirstName())
                 .middleName(person.getMiddleName())
                 .lastName(person.getLastName())
@@ -207,11 +309,13 @@ public final class Adapters {
             return null;
         }
 
-        return new PersonEntity(person.getFirstName(),
-                                person.getMiddleName(),
-                                person.getLastName(),
-                                person.getDateOfBirth(),
-                                person.getDateOfDeath());
+        PersonEntity entity = new PersonEntity(person.getFirstName(),
+                                               person.getMiddleName(),
+                                               person.getLastName(),
+                                               person.getDateOfBirth(),
+                                               person.getDateOfDeath());
+        entity.setVersion(person.getVersion());
+        return entity;
     }
 
     @Nonnull
@@ -219,4 +323,107 @@ public final class Adapters {
         return persons.stream().map(Adapters::toPerson).collect(Collectors.toList());
     }
 
+    @Nonnull
+    public static Person toPerson(@Nonnull PersonView person) {
+        return Person.builder()
+                .id(person.getId())
+                .version(person.getVersion())
+                .firstName(person.getFirstName())
+                .middleName(person.getMiddleName())
+                .lastName(person.getLastName())
+                .dateOfBirth(person.getDateOfBirth())
+                .dateOfDeath(person.getDateOfDeath())
+                .build();
+    }
+
+    @Nonnull
+    public static List<Person> toPersons(@Nonnull List<PersonView> persons) {
+        return persons.stream().map(Adapters::toPerson).collect(Collectors.toList());
+    }
+
+    /**
+     * Converts a credit, embedding its person, movie or TV show only if it has already been loaded.
+     */
+    @Nullable
+    public static Credit toCredit(@Nullable CreditEntity credit) {
+        if (credit == null) {
+            return null;
+        }
+
+        return Credit.builder()
+                .id(credit.getId())
+                .version(credit.getVersion())
+                .personId(credit.getPersonId())
+                .movieId(credit.getMovieId())
+                .tvShowId(credit.getTvShowId())
+                .role(credit.getRole())
+                .billingOrder(credit.getBillingOrder())
+                .person(Hibernate.isInitialized(credit.getPerson()) ? toPerson(credit.getPerson()) : null)
+                .movie(Hibernate.isInitialized(credit.getMovie()) ? toMovie(credit.getMovie()) : null)
+                .tvShow(Hibernate.isInitialized(credit.getTvShow()) ? toTvShow(credit.getTvShow()) : null)
+                .build();
+    }
+
+    @Nullable
+    public static CreditEntity toCredit(@Nullable Credit credit, @Nonnull PersonEntity person,
+            @Nullable MovieEntity movie, @Nullable TvShowEntity tvShow) {
+        if (credit == null) {
+            return null;
+        }
+
+        CreditEntity entity = new CreditEntity(person, movie, tvShow, credit.getRole(), credit.getBillingOrder());
+        entity.setVersion(credit.getVersion());
+        return entity;
+    }
+
+    @Nonnull
+    public static Collection<Credit> toCredits(@Nonnull Collection<CreditEntity> credits) {
+        return credits.stream().map(Adapters::toCredit).collect(Collectors.toList());
+    }
+
+    @Nonnull
+    public static ImportStatus toImportStatus(@Nonnull ImportJob job) {
+        return ImportStatus.builder()
+                .id(job.getId())
+                .kind(job.getKind().getPath())
+                .format(job.getFormat().name())
+                .state(job.getState().name())
+                .rowsRead(job.getRowsRead())
+                .rowsImported(job.getRowsImported())
+                .rowsRejected(job.getRowsRejected())
+                .rowsPerSecond(job.getRowsPerSecond())
+                .createdAt(job.getCreatedAt().toString())
+                .startedAt(job.getStartedAt().map(Instant::toString).orElse(null))
+                .finishedAt(job.getFinishedAt().map(Instant::toString).orElse(null))
+                .failure(job.getFailure().orElse(null))
+                .errors(job.getErrors().stream()
+                                .map((error) -> new ImportStatus.Error(error.getLine(), error.getMessage()))
+                                .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Nonnull
+    public static Collection<ImportStatus> toImportStatuses(@Nonnull Collection<ImportJob> jobs) {
+        return jobs.stream().map(Adapters::toImportStatus).collect(Collectors.toList());
+    }
+
+    @Nonnull
+    public static Facets toFacets(@Nonnull Map<String, List<FacetCount>> counts) {
+        return Facets.builder()
+                .ratings(toFacetList(counts.get(FacetCount.RATING)))
+                .genres(toFacetList(counts.get(FacetCount.GENRE)))
+                .languages(toFacetList(counts.get(FacetCount.LANGUAGE)))
+                .build();
+    }
+
+    @Nonnull
+    private static List<Facet> toFacetList(@Nullable List<FacetCount> counts) {
+        if (counts == null) {
+            return Collections.emptyList();
+        }
+        return counts.stream()
+                .map((count) -> new Facet(count.getId(), count.getName(), count.getCount()))
+                .collect(Collectors.toList());
+    }
+
 }
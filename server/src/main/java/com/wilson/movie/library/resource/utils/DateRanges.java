@@ -0,0 +1,51 @@
+package com.wilson.movie.library.resource.utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.LocalDate;
+
+/**
+ * Helpers for collection endpoints filtered by a range of dates, e.g.,
+ * {@code ?released-from=7305&released-to=10956} for the 1990s. Like exact dates, both bounds are
+ * epoch days; they are inclusive, and either may be left out.
+ *
+ * @author Zach Wilson
+ */
+public final class DateRanges {
+
+    /**
+     * Earliest date that can be stored, used when a range has no lower bound.
+     */
+    public static final LocalDate EARLIEST = LocalDate.of(1000, 1, 1);
+
+    /**
+     * Latest date that can be stored, used when a range has no upper bound.
+     */
+    public static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private DateRanges() {
+    }
+
+    /**
+     * @param fromEpochDay the lower bound of a range, if it has one.
+     * @return the date of the lower bound, or {@link #EARLIEST} if there is none.
+     */
+    @Nonnull
+    public static LocalDate from(@Nullable Integer fromEpochDay) {
+        return fromEpochDay != null ? LocalDate.ofEpochDay(fromEpochDay) : EARLIEST;
+    }
+
+    /**
+     * @param toEpochDay the upper bound of a range, if it has one.
+     * @return the date of the upper bound, or {@link #LATEST} if there is none.
+     */
+    @Nonnull
+    public static LocalDate to(@Nullable Integer toEpochDay) {
+        return toEpochDay != null ? LocalDate.ofEpochDay(toEpochDay) : LATEST;
+    }
+
+}
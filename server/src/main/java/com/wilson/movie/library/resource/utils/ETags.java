@@ -0,0 +1,286 @@
+package com.wilson.movie.library.resource.utils;
+
+import com.wilson.movie.library.domain.GenreEntity;
+import com.wilson.movie.library.domain.LanguageEntity;
+import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.PersonEntity;
+import com.wilson.movie.library.domain.RatingEntity;
+import com.wilson.movie.library.domain.TvShowEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Serves conditional requests with strong ETags.
+ * <p>
+ * An ETag is derived from the ID and {@code @Version} of an entity, e.g., {@code "12.3"} for
+ * version 3 of the genre with ID 12, so it is known as soon as the entity is read and needs no
+ * cache. Movies and TV shows embed the names of their rating, genre and language, whose versions
+ * are appended, e.g., {@code "7.2.1.4.1"}.
+ *
+ * @author Zach Wilson
+ */
+@Slf4j
+public final class ETags {
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private ETags() {
+    }
+
+    /**
+     * Serves a conditional {@code GET}.
+     *
+     * @param request the request, possibly with an {@code If-None-Match} header.
+     * @param entity the entity, if it exists.
+     * @param eTag computes the ETag of the entity.
+     * @param adapter converts the entity into its representation.
+     * @return {@code 304 Not Modified} if the entity matches {@code If-None-Match},
+     *         {@code 404 Not Found} if it does not exist, and its representation with its ETag otherwise.
+     */
+    @Nonnull
+    public static <E, T> ResponseEntity<T> get(@Nonnull WebRequest request, @Nonnull Optional<E> entity,
+            @Nonnull Function<E, String> eTag, @Nonnull Function<E, T> adapter) {
+        if (!entity.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String currentETag = eTag.apply(entity.get());
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), currentETag, true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+        }
+        return ResponseEntity.ok().eTag(currentETag).body(adapter.apply(entity.get()));
+    }
+
+    /**
+     * Checks the {@code If-Match} precondition of a write before the write is attempted.
+     * <p>
+     * {@code If-Match} becomes the version that the write expects, see
+     * {@link #ifMatchVersion(WebRequest, int)}. The write passes the version to its conditional
+     * {@code UPDATE}, so the precondition is evaluated by the statement itself, on the primary,
+     * instead of by reading the entity first. Only an {@code If-Match} that names no single version
+     * of the entity fails here, without touching the database.
+     *
+     * @param request the request, possibly with an {@code If-Match} header.
+     * @param id the ID of the entity to write.
+     * @return {@code 412 Precondition Failed} if {@code If-Match} names no version, or several
+     *         versions, of the entity, and empty otherwise.
+     */
+    @Nonnull
+    public static <T> Optional<ResponseEntity<T>> preconditionFailed(@Nonnull WebRequest request, int id) {
+        try {
+            ifMatchVersion(request, id);
+        } catch (IllegalArgumentException e) {
+            log.debug("Precondition failed for the entity with ID {}: {}", id, e.getMessage());
+            return Optional.of(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads the version that the {@code If-Match} precondition of a write expects.
+     * <p>
+     * Only the entity's own version is compared: the rating, genre and language versions in the
+     * ETag of a movie or TV show are ignored, because the write sets those by name.
+     *
+     * @param request the request, possibly with an {@code If-Match} header.
+     * @param id the ID of the entity to write.
+     * @return the version of the entity that {@code If-Match} names, or empty if the request has
+     *         no {@code If-Match} header or it is {@code *}.
+     * @throws IllegalArgumentException if {@code If-Match} names no version, or several versions, of
+     *         the entity: the precondition fails.
+     */
+    @Nonnull
+    public static Optional<Integer> ifMatchVersion(@Nonnull WebRequest request, int id) {
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null) {
+            return Optional.empty();
+        }
+
+        Integer version = null;
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifMatch)) {
+            candidate = candidate.trim();
+            if (candidate.equals("*")) {
+                return Optional.empty();
+            }
+
+            // Weak ETags never match If-Match, and neither do the ETags of other entities
+            String[] parts = candidate.length() > 2 && candidate.startsWith("\"") && candidate.endsWith("\"")
+                    ? candidate.substring(1, candidate.length() - 1).split("\\.")
+                    : new String[0];
+            if (parts.length < 2 || !parts[0].equals(String.valueOf(id))) {
+                continue;
+            }
+
+            int candidateVersion;
+            try {
+                candidateVersion = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (version != null && version != candidateVersion) {
+                throw new IllegalArgumentException("If-Match names several versions: " + ifMatch);
+            }
+            version = candidateVersion;
+        }
+
+        if (version == null) {
+            throw new IllegalArgumentException("If-Match names no version of the entity: " + ifMatch);
+        }
+        return Optional.of(version);
+    }
+
+    /**
+     * Answers a write that did not happen because its entity does not exist or has another version.
+     *
+     * @param request the request, possibly with an {@code If-Match} header.
+     * @param status the status to answer without {@code If-Match}, e.g., {@code 404 Not Found}.
+     * @return {@code 412 Precondition Failed} if the request has an {@code If-Match} header, and
+     *         the given status otherwise.
+     */
+    @Nonnull
+    public static <T> ResponseEntity<T> preconditionFailedOr(@Nonnull WebRequest request,
+            @Nonnull HttpStatus status) {
+        boolean conditional = request.getHeader(HttpHeaders.IF_MATCH) != null;
+        return ResponseEntity.status(conditional ? HttpStatus.PRECONDITION_FAILED : status).build();
+    }
+
+    /**
+     * Computes the ETag of a movie.
+     *
+     * @param movie the movie.
+     * @return the ETag of the movie, which also changes when its rating, genre or language does.
+     */
+    @Nonnull
+    public static String of(@Nonnull MovieEntity movie) {
+        return eTag(movie.getId(), movie.getVersion(), movie.getRating().getVersion(),
+                movie.getGenre().getVersion(), movie.getLanguage().getVersion());
+    }
+
+    /**
+     * Computes the ETag of a TV show.
+     *
+     * @param tvShow the TV show.
+     * @return the ETag of the TV show, which also changes when its rating, genre or language does.
+     */
+    @Nonnull
+    public static String of(@Nonnull TvShowEntity tvShow) {
+        return eTag(tvShow.getId(), tvShow.getVersion(), tvShow.getRating().getVersion(),
+                tvShow.getGenre().getVersion(), tvShow.getLanguage().getVersion());
+    }
+
+    /**
+     * Computes the ETag of a person.
+     *
+     * @param person the person.
+     * @return the ETag of the person.
+     */
+    @Nonnull
+    public static String of(@Nonnull PersonEntity person) {
+        return eTag(person.getId(), person.getVersion());
+    }
+
+    /**
+     * Computes the ETag of a rating.
+     *
+     * @param rating the rating.
+     * @return the ETag of the rating.
+     */
+    @Nonnull
+    public static String of(@Nonnull RatingEntity rating) {
+        return eTag(rating.getId(), rating.getVersion());
+    }
+
+    /**
+     * Computes the ETag of a genre.
+     *
+     * @param genre the genre.
+     * @return the ETag of the genre.
+     */
+    @Nonnull
+    public static String of(@Nonnull GenreEntity genre) {
+        return eTag(genre.getId(), genre.getVersion());
+    }
+
+    /**
+     * Computes the ETag of a language.
+     *
+     * @param language the language.
+     * @return the ETag of the language.
+     */
+    @Nonnull
+    public static String of(@Nonnull LanguageEntity language) {
+        return eTag(language.getId(), language.getVersion());
+    }
+
+    /**
+     * Computes the ETag of a collection, e.g., {@code GET /genres}.
+     *
+     * @param entities the entities of the collection, in the order they are represented.
+     * @param eTag computes the ETag of an entity.
+     * @return the quoted MD5 hash of the ETags of the entities, which changes when an entity is
+     *         added, updated or deleted.
+     */
+    @Nonnull
+    public static <E> String ofAll(@Nonnull Collection<E> entities, @Nonnull Function<E, String> eTag) {
+        StringBuilder eTags = new StringBuilder();
+        for (E entity : entities) {
+            eTags.append(eTag.apply(entity));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(eTags.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Checks whether an ETag matches an {@code If-Match} or {@code If-None-Match} header.
+     *
+     * @param header the header value: {@code *} or a comma-separated list of ETags.
+     * @param eTag the strong ETag of the resource.
+     * @param weak whether weak ETags in the header match too, as they do for {@code If-None-Match}.
+     * @return true if the header matches the ETag.
+     */
+    static boolean matches(String header, @Nonnull String eTag, boolean weak) {
+        if (header == null) {
+            return false;
+        }
+
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(header)) {
+            candidate = candidate.trim();
+            if (weak && candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Joins an ID and versions into a strong ETag.
+     *
+     * @param id the ID of the entity.
+     * @param versions the version of the entity, followed by those of the entities it embeds.
+     * @return the quoted, dot-separated ID and versions.
+     */
+    @Nonnull
+    static String eTag(int id, Integer... versions) {
+        StringBuilder eTag = new StringBuilder("\"").append(id);
+        for (Integer version : versions) {
+            eTag.append('.').append(version);
+        }
+        return eTag.append('"').toString();
+    }
+
+}
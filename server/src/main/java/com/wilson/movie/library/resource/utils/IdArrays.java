@@ -0,0 +1,125 @@
+package com.wilson.movie.library.resource.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.http.MediaType;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads request bodies holding many IDs into primitive arrays, without binding or boxing each ID.
+ *
+ * @author Zach Wilson
+ */
+public final class IdArrays {
+
+    /**
+     * Packed unsigned varints: each ID is written in base 128, least significant group first, with
+     * the high bit of every byte but the last set, as in protocol buffers.
+     */
+    public static final String APPLICATION_VARINT_VALUE = "application/x-varint";
+
+    /**
+     * Largest number of IDs accepted in a single request.
+     */
+    public static final int MAX_IDS = 100_000;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private IdArrays() {
+    }
+
+    /**
+     * Reads IDs in the format of the given content type.
+     *
+     * @param body the request body.
+     * @param contentType either JSON, for an array of integers, or {@link #APPLICATION_VARINT_VALUE}.
+     * @return the IDs, in the order they were read.
+     * @throws IllegalArgumentException if the body is malformed or holds more than {@link #MAX_IDS} IDs.
+     * @throws IOException if the body cannot be read.
+     */
+    @Nonnull
+    public static int[] read(@Nonnull InputStream body, @Nonnull MediaType contentType) throws IOException {
+        if (MediaType.valueOf(APPLICATION_VARINT_VALUE).includes(contentType)) {
+            return readVarints(body);
+        }
+        return readJson(body);
+    }
+
+    /**
+     * Reads a JSON array of integers, e.g., {@code [1, 2, 3]}.
+     */
+    @Nonnull
+    static int[] readJson(@Nonnull InputStream body) throws IOException {
+        int[] ids = new int[256];
+        int count = 0;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of IDs");
+            }
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT) {
+                    throw new IllegalArgumentException("Expected an integer ID, found: " + parser.getText());
+                }
+                ids = ensureCapacity(ids, count);
+                ids[count++] = parser.getIntValue();
+            }
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed JSON array of IDs", e);
+        }
+
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Reads packed unsigned varints, see {@link #APPLICATION_VARINT_VALUE}.
+     */
+    @Nonnull
+    static int[] readVarints(@Nonnull InputStream body) throws IOException {
+        int[] ids = new int[256];
+        int count = 0;
+
+        InputStream in = new BufferedInputStream(body);
+        for (int b = in.read(); b != -1; b = in.read()) {
+            int id = 0;
+            int shift = 0;
+            while (true) {
+                if (shift > 28 || (shift == 28 && (b & 0x70) != 0)) {
+                    throw new IllegalArgumentException("Varint ID does not fit in 32 bits");
+                }
+                id |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+                shift += 7;
+                b = in.read();
+                if (b == -1) {
+                    throw new IllegalArgumentException("Truncated varint ID");
+                }
+            }
+            ids = ensureCapacity(ids, count);
+            ids[count++] = id;
+        }
+
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static int[] ensureCapacity(int[] ids, int count) {
+        if (count == MAX_IDS) {
+            throw new IllegalArgumentException("More than " + MAX_IDS + " IDs in a single request");
+        }
+        return count < ids.length ? ids : Arrays.copyOf(ids, Math.min(ids.length * 2, MAX_IDS));
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.wilson.movie.library.resource.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.annotation.Nonnull;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Reads a JSON Merge Patch (RFC 7396) into the entity attributes it changes.
+ * <p>
+ * Only members present in the patch become changes, and {@code null} members set an attribute to
+ * {@code null}. Each accessor validates its member, so a patch whose {@link #changes()} are read
+ * has been checked completely.
+ *
+ * @author Zach Wilson
+ */
+public final class MergePatch {
+
+    /**
+     * Media type of a JSON Merge Patch.
+     */
+    public static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    private static final String ID = "id";
+    private static final String VERSION = "version";
+
+    private final ObjectNode patch;
+    private final Set<String> readFields = new HashSet<>(Arrays.asList(ID, VERSION));
+    private final Map<String, Object> changes = new LinkedHashMap<>();
+
+    public MergePatch(@Nonnull ObjectNode patch) {
+        this.patch = patch;
+    }
+
+    /**
+     * Reads a text member.
+     *
+     * @param field the member, which is also the name of the entity attribute.
+     * @param nullable whether the member may be {@code null}.
+     * @return this patch.
+     * @throws IllegalArgumentException if the member is not text, or is {@code null} but not nullable.
+     */
+    @Nonnull
+    public MergePatch text(@Nonnull String field, boolean nullable) {
+        JsonNode value = read(field, nullable);
+        if (value != null) {
+            if (!value.isNull() && !value.isTextual()) {
+                throw new IllegalArgumentException("Expected text for \"" + field + "\": " + value);
+            }
+            changes.put(field, value.isNull() ? null : value.textValue());
+        }
+        return this;
+    }
+
+    /**
+     * Reads an ISO date member, e.g., {@code 1980-05-23}.
+     *
+     * @param field the member, which is also the name of the entity attribute.
+     * @param nullable whether the member may be {@code null}.
+     * @return this patch.
+     * @throws IllegalArgumentException if the member is not a date, or is {@code null} but not nullable.
+     */
+    @Nonnull
+    public MergePatch date(@Nonnull String field, boolean nullable) {
+        JsonNode value = read(field, nullable);
+        if (value != null) {
+            try {
+                changes.put(field, value.isNull() ? null : LocalDate.parse(value.asText()));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Expected an ISO date for \"" + field + "\": " + value, e);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Reads a non-null boolean member.
+     *
+     * @param field the member, which is also the name of the entity attribute.
+     * @return this patch.
+     * @throws IllegalArgumentException if the member is not a boolean.
+     */
+    @Nonnull
+    public MergePatch bool(@Nonnull String field) {
+        JsonNode value = read(field, false);
+        if (value != null) {
+            if (!value.isBoolean()) {
+                throw new IllegalArgumentException("Expected a boolean for \"" + field + "\": " + value);
+            }
+            changes.put(field, value.booleanValue());
+        }
+        return this;
+    }
+
+    /**
+     * Reads a non-null member naming another entity, e.g., a rating. The entity is only looked up if
+     * the member is present.
+     *
+     * @param field the member, which is also the name of the entity attribute.
+     * @param resolver looks up an entity by name.
+     * @return this patch.
+     * @throws IllegalArgumentException if the member is not text or names no entity.
+     */
+    @Nonnull
+    public MergePatch lookup(@Nonnull String field, @Nonnull Function<String, Optional<?>> resolver) {
+        JsonNode value = read(field, false);
+        if (value != null) {
+            if (!value.isTextual()) {
+                throw new IllegalArgumentException("Expected a name for \"" + field + "\": " + value);
+            }
+            Object entity = resolver.apply(value.textValue()).orElseThrow(() ->
+                    new IllegalArgumentException("Provided " + field + " does not exist: \"" + value.textValue() + "\""));
+            changes.put(field, entity);
+        }
+        return this;
+    }
+
+    /**
+     * @return the version the patch applies to, if it has one.
+     * @throws IllegalArgumentException if the version is not an integer.
+     */
+    @Nonnull
+    public Optional<Integer> version() {
+        JsonNode value = patch.get(VERSION);
+        if (value == null || value.isNull()) {
+            return Optional.empty();
+        }
+        if (!value.canConvertToInt()) {
+            throw new IllegalArgumentException("Expected an integer for \"" + VERSION + "\": " + value);
+        }
+        return Optional.of(value.intValue());
+    }
+
+    /**
+     * @return the changed entity attributes and their new values, in the order they were read.
+     * @throws IllegalArgumentException if the patch has a member that was not read.
+     */
+    @Nonnull
+    public Map<String, Object> changes() {
+        patch.fieldNames().forEachRemaining((field) -> {
+            if (!readFields.contains(field)) {
+                throw new IllegalArgumentException("Unknown or read-only member: \"" + field + "\"");
+            }
+        });
+        return changes;
+    }
+
+    private JsonNode read(@Nonnull String field, boolean nullable) {
+        readFields.add(field);
+
+        JsonNode value = patch.get(field);
+        if (value != null && value.isNull() && !nullable) {
+            throw new IllegalArgumentException("\"" + field + "\" cannot be removed");
+        }
+        return value;
+    }
+
+}
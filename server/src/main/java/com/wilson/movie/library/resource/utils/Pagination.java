@@ -0,0 +1,60 @@
+package com.wilson.movie.library.resource.utils;
+
+/**
+ * Constants and helpers for keyset (cursor) paginated collection endpoints.
+ * <p>
+ * A page is requested with {@code ?after=<id>&limit=<n>} and contains up to {@code n} resources
+ * with an ID greater than {@code after}, ordered by ID. When a page is full, the ID of its last
+ * resource is returned in the {@value #NEXT_CURSOR_HEADER} header and can be passed as
+ * {@code after} to request the next page.
+ * <p>
+ * Search results are ordered by relevance rather than by ID, so they are paged by number instead:
+ * {@code ?page=<p>&limit=<n>} skips the first {@code p * n} results.
+ *
+ * @author Zach Wilson
+ */
+public final class Pagination {
+
+    /**
+     * Response header holding the cursor of the next page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Cursor of the first page.
+     */
+    public static final String FIRST_CURSOR = "0";
+
+    /**
+     * Number of the first page of search results.
+     */
+    public static final String FIRST_PAGE = "0";
+
+    /**
+     * Page size used when none is requested.
+     */
+    public static final String DEFAULT_LIMIT = "100";
+
+    /**
+     * Largest page size that will be served; larger requests are reduced to this size.
+     */
+    public static final int MAX_LIMIT = 1_000;
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private Pagination() {
+    }
+
+    /**
+     * Reduces a requested page size to {@link #MAX_LIMIT} if it exceeds it.
+     *
+     * @param limit the requested page size.
+     * @return the page size to serve.
+     */
+    public static int clampLimit(int limit) {
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.wilson.movie.library.service;
+
+import com.wilson.movie.library.domain.CreditEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Outlines the implementation of a credit service.
+ *
+ * @author Zach Wilson
+ */
+public interface CreditService {
+
+    CreditEntity create(CreditEntity credit);
+
+    Optional<CreditEntity> getById(Integer id);
+    List<CreditEntity> getAllByMovieId(Integer movieId);
+    List<CreditEntity> getAllByTvShowId(Integer tvShowId);
+    List<CreditEntity> getAllByPersonId(Integer personId);
+
+    Optional<Integer> deleteById(Integer id);
+
+}
@@ -19,7 +19,7 @@ public interface GenreService {
     Collection<GenreEntity> getAllWithIds(Collection<Integer> ids);
     Collection<GenreEntity> getAll();
 
-    Optional<GenreEntity> update(Integer id, GenreEntity genre);
+    Optional<Integer> update(Integer id, GenreEntity genre);
 
     Optional<Integer> deleteById(Integer id);
     Collection<Integer> deleteAllWithIds(Collection<Integer> ids);
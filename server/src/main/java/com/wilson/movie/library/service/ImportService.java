@@ -0,0 +1,23 @@
+package com.wilson.movie.library.service;
+
+import com.wilson.movie.library.service.imports.ImportFormat;
+import com.wilson.movie.library.service.imports.ImportJob;
+import com.wilson.movie.library.service.imports.ImportKind;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Outlines the implementation of an import service.
+ *
+ * @author Zach Wilson
+ */
+public interface ImportService {
+
+    ImportJob start(ImportKind kind, ImportFormat format, Path file, boolean deleteWhenDone);
+
+    Optional<ImportJob> getById(Integer id);
+    Collection<ImportJob> getAll();
+
+}
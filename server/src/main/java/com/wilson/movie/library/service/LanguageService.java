@@ -19,7 +19,7 @@ public interface LanguageService {
     Collection<LanguageEntity> getAllWithIds(Collection<Integer> ids);
     Collection<LanguageEntity> getAll();
 
-    Optional<LanguageEntity> update(Integer id, LanguageEntity language);
+    Optional<Integer> update(Integer id, LanguageEntity language);
 
     Optional<Integer> deleteById(Integer id);
     Collection<Integer> deleteAllWithIds(Collection<Integer> ids);
@@ -1,10 +1,16 @@
 package com.wilson.movie.library.service;
 
+import com.wilson.movie.library.domain.FacetCount;
 import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.MovieView;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.function.Consumer;
 
 /**
  * Outlines the implementation of a movie service.
@@ -14,6 +20,7 @@ import java.util.Optional;
 public interface MovieService {
 
     MovieEntity create(MovieEntity movie);
+    List<MovieEntity> createAll(List<MovieEntity> movies);
 
     Optional<MovieEntity> getById(Integer id);
     Optional<MovieEntity> getByTitle(String title);
@@ -21,9 +28,18 @@ public interface MovieService {
     Collection<MovieEntity> getAllByReleaseDate(Integer releaseDateEpochDay);
     Collection<MovieEntity> getAllByStudio(String studio);
     Collection<MovieEntity> getAllWithIds(Collection<Integer> ids);
+    List<MovieEntity> getAllInOrder(int[] ids);
     Collection<MovieEntity> getAll();
-
-    Optional<MovieEntity> update(Integer id, MovieEntity movie);
+    Collection<MovieEntity> getAllAfter(Integer after, Integer limit);
+    List<MovieView> getViewsAfter(Integer after, Integer limit);
+    List<MovieView> getViewsByReleaseDateBetween(LocalDate from, LocalDate to, Integer after, Integer limit);
+    Map<String, List<FacetCount>> countByFacets(LocalDate from, LocalDate to, Map<String, Object> filter);
+    List<MovieEntity> search(String query, Integer page, Integer limit);
+    long exportAll(Consumer<MovieEntity> consumer);
+    SortedMap<Integer, Long> countAllByReleaseYear();
+
+    Optional<Integer> update(Integer id, MovieEntity movie);
+    Optional<Integer> patch(Integer id, Integer version, Map<String, Object> changes);
 
     Optional<Integer> deleteById(Integer id);
     Collection<Integer> deleteAllWithIds(Collection<Integer> ids);
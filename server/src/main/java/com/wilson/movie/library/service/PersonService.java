@@ -1,9 +1,11 @@
 package com.wilson.movie.library.service;
 
 import com.wilson.movie.library.domain.PersonEntity;
+import com.wilson.movie.library.domain.PersonView;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,6 +16,7 @@ import java.util.Optional;
 public interface PersonService {
 
     PersonEntity create(PersonEntity person);
+    List<PersonEntity> createAll(List<PersonEntity> persons);
 
     Optional<PersonEntity> getById(Integer id);
     Collection<PersonEntity> getAllByFirstName(String firstName);
@@ -21,14 +24,17 @@ public interface PersonService {
     Collection<PersonEntity> getAllByLastName(String lastName);
     Collection<PersonEntity> getAllByName(String firstName, String lastName);
     Collection<PersonEntity> getAllByName(String firstName, String middleName, String lastName);
+    List<PersonEntity> search(String name, Integer limit);
     Collection<PersonEntity> getAllByDateOfBirth(LocalDate dateOfBirth);
     Collection<PersonEntity> getAllByDateOfBirth(Integer dateOfBirthEpochDay);
     Collection<PersonEntity> getAllByDateOfDeath(LocalDate dateOfDeath);
     Collection<PersonEntity> getAllByDateOfDeath(Integer dateOfDeathEpochDay);
     Collection<PersonEntity> getAllWithIds(Collection<Integer> ids);
+    List<PersonEntity> getAllInOrder(int[] ids);
     Collection<PersonEntity> getAll();
+    List<PersonView> getAllViews();
 
-    Optional<PersonEntity> update(Integer id, PersonEntity person);
+    Optional<Integer> update(Integer id, PersonEntity person);
 
     Optional<Integer> deleteById(Integer id);
     Collection<Integer> deleteAllWithIds(Collection<Integer> ids);
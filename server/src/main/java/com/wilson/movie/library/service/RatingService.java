@@ -19,7 +19,7 @@ public interface RatingService {
     Collection<RatingEntity> getAllWithIds(Collection<Integer> ids);
     Collection<RatingEntity> getAll();
 
-    Optional<RatingEntity> update(Integer id, RatingEntity rating);
+    Optional<Integer> update(Integer id, RatingEntity rating);
 
     Optional<Integer> deleteById(Integer id);
     Collection<Integer> deleteAllWithIds(Collection<Integer> ids);
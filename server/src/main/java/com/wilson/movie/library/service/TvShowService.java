@@ -1,9 +1,13 @@
 package com.wilson.movie.library.service;
 
+import com.wilson.movie.library.domain.FacetCount;
 import com.wilson.movie.library.domain.TvShowEntity;
+import com.wilson.movie.library.domain.TvShowView;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -14,6 +18,7 @@ import java.util.Optional;
 public interface TvShowService {
 
     TvShowEntity create(TvShowEntity tvShow);
+    List<TvShowEntity> createAll(List<TvShowEntity> tvShows);
 
     Optional<TvShowEntity> getById(Integer id);
     Optional<TvShowEntity> getByTitle(String title);
@@ -21,9 +26,16 @@ public interface TvShowService {
     Collection<TvShowEntity> getAllByDateAired(Integer dateAiredEpochDay);
     Collection<TvShowEntity> getAllByNetwork(String network);
     Collection<TvShowEntity> getAllWithIds(Collection<Integer> ids);
+    List<TvShowEntity> getAllInOrder(int[] ids);
     Collection<TvShowEntity> getAll();
-
-    Optional<TvShowEntity> update(Integer id, TvShowEntity tvShow);
+    Collection<TvShowEntity> getAllAfter(Integer after, Integer limit);
+    List<TvShowView> getViewsAfter(Integer after, Integer limit);
+    List<TvShowView> getViewsByDateAiredBetween(LocalDate from, LocalDate to, Integer after, Integer limit);
+    Map<String, List<FacetCount>> countByFacets(LocalDate from, LocalDate to, Map<String, Object> filter);
+    List<TvShowEntity> search(String query, Integer page, Integer limit);
+
+    Optional<Integer> update(Integer id, TvShowEntity tvShow);
+    Optional<Integer> patch(Integer id, Integer version, Map<String, Object> changes);
 
     Optional<Integer> deleteById(Integer id);
     Collection<Integer> deleteAllWithIds(Collection<Integer> ids);
@@ -0,0 +1,32 @@
+package com.wilson.movie.library.service.cache;
+
+/**
+ * Names of the caches managed by the application's {@link org.springframework.cache.CacheManager}.
+ *
+ * @author Zach Wilson
+ */
+public final class CacheNames {
+
+    /**
+     * Ratings keyed by name.
+     */
+    public static final String RATINGS_BY_NAME = "ratingsByName";
+
+    /**
+     * Genres keyed by name.
+     */
+    public static final String GENRES_BY_NAME = "genresByName";
+
+    /**
+     * Languages keyed by name.
+     */
+    public static final String LANGUAGES_BY_NAME = "languagesByName";
+
+    /**
+     * No instances of this class should be constructed: all fields intended for external use are
+     * <i>static</i>.
+     */
+    private CacheNames() {
+    }
+
+}
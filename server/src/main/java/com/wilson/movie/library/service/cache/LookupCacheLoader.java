@@ -0,0 +1,64 @@
+package com.wilson.movie.library.service.cache;
+
+import com.wilson.movie.library.domain.GenreEntity;
+import com.wilson.movie.library.domain.LanguageEntity;
+import com.wilson.movie.library.domain.RatingEntity;
+import com.wilson.movie.library.repository.GenreRepository;
+import com.wilson.movie.library.repository.LanguageRepository;
+import com.wilson.movie.library.repository.RatingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Loads the rating, genre and language lookup tables into their name caches on startup so that
+ * movie and TV show writes can resolve them without a round trip to the database.
+ *
+ * @author Zach Wilson
+ */
+@Component
+@Slf4j
+public class LookupCacheLoader {
+
+    private final CacheManager cacheManager;
+    private final RatingRepository ratingRepository;
+    private final GenreRepository genreRepository;
+    private final LanguageRepository languageRepository;
+
+    @Autowired
+    public LookupCacheLoader(CacheManager cacheManager, RatingRepository ratingRepository,
+            GenreRepository genreRepository, LanguageRepository languageRepository) {
+        this.cacheManager = cacheManager;
+        this.ratingRepository = ratingRepository;
+        this.genreRepository = genreRepository;
+        this.languageRepository = languageRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        load(CacheNames.RATINGS_BY_NAME, ratingRepository.findAll(), RatingEntity::getName);
+        load(CacheNames.GENRES_BY_NAME, genreRepository.findAll(), GenreEntity::getName);
+        load(CacheNames.LANGUAGES_BY_NAME, languageRepository.findAll(), LanguageEntity::getName);
+    }
+
+    private <E> void load(@Nonnull String cacheName, @Nonnull Collection<E> entities,
+            @Nonnull Function<E, String> nameGetter) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            log.warn("Cannot load lookup cache: no cache exists with name \"{}\"", cacheName);
+            return;
+        }
+
+        entities.forEach((entity) -> cache.put(nameGetter.apply(entity), entity));
+        log.debug("Loaded {} entries into lookup cache \"{}\"", entities.size(), cacheName);
+    }
+
+}
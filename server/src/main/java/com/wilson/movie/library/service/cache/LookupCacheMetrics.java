@@ -0,0 +1,53 @@
+package com.wilson.movie.library.service.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Exposes hit and miss counters of the lookup name caches through the actuator metrics endpoint.
+ * <p>
+ * The actuator already publishes hit and miss <i>ratios</i> for every cache; this adds the
+ * absolute counts, e.g., {@code cache.genresByName.hits}.
+ *
+ * @author Zach Wilson
+ */
+@Component
+public class LookupCacheMetrics implements PublicMetrics {
+
+    private static final List<String> CACHE_NAMES = Arrays.asList(CacheNames.RATINGS_BY_NAME,
+                                                                  CacheNames.GENRES_BY_NAME,
+                                                                  CacheNames.LANGUAGES_BY_NAME);
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public LookupCacheMetrics(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        Collection<Metric<?>> metrics = new ArrayList<>();
+        for (String cacheName : CACHE_NAMES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof CaffeineCache) {
+                CacheStats stats = ((CaffeineCache) cache).getNativeCache().stats();
+                metrics.add(new Metric<>("cache." + cacheName + ".hits", stats.hitCount()));
+                metrics.add(new Metric<>("cache." + cacheName + ".misses", stats.missCount()));
+            }
+        }
+        return metrics;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.wilson.movie.library.service.impl;
+
+import com.wilson.movie.library.domain.CreditEntity;
+import com.wilson.movie.library.repository.CreditRepository;
+import com.wilson.movie.library.service.CreditService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Credit service.
+ *
+ * @author Zach Wilson
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class CreditServiceImpl implements CreditService {
+
+    private final CreditRepository repository;
+
+    @Autowired
+    public CreditServiceImpl(CreditRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    @Nonnull
+    @Transactional
+    public CreditEntity create(@Nonnull CreditEntity credit) {
+        log.trace("Creating credit: {}", credit);
+
+        CreditEntity savedEntity = repository.save(credit);
+        log.debug("Persisted new credit: {}", savedEntity);
+
+        return savedEntity;
+    }
+
+    @Override
+    @Nonnull
+    public Optional<CreditEntity> getById(@Nonnull Integer id) {
+        log.trace("Getting credit by ID: {}", id);
+
+        return Optional.ofNullable(repository.findOne(id));
+    }
+
+    @Override
+    @Nonnull
+    public List<CreditEntity> getAllByMovieId(@Nonnull Integer movieId) {
+        log.trace("Getting all credits by movie ID: {}", movieId);
+
+        return repository.findAllByMovieId(movieId);
+    }
+
+    @Override
+    @Nonnull
+    public List<CreditEntity> getAllByTvShowId(@Nonnull Integer tvShowId) {
+        log.trace("Getting all credits by TV show ID: {}", tvShowId);
+
+        return repository.findAllByTvShowId(tvShowId);
+    }
+
+    @Override
+    @Nonnull
+    public List<CreditEntity> getAllByPersonId(@Nonnull Integer personId) {
+        log.trace("Getting all credits by person ID: {}", personId);
+
+        return repository.findAllByPersonId(personId);
+    }
+
+    @Override
+    @Nonnull
+    @Transactional
+    public Optional<Integer> deleteById(@Nonnull Integer id) {
+        log.trace("Deleting credit by ID: {}", id);
+
+        if (repository.exists(id)) {
+            repository.delete(id);
+            log.debug("Deleted credit with ID {}", id);
+            return Optional.of(id);
+        } else {
+            log.debug("No credit exists with ID {}. Nothing to delete", id);
+            return Optional.empty();
+        }
+    }
+
+}
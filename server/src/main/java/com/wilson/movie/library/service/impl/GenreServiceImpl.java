@@ -3,17 +3,22 @@ package com.wilson.movie.library.service.impl;
 import com.wilson.movie.library.domain.GenreEntity;
 import com.wilson.movie.library.repository.GenreRepository;
 import com.wilson.movie.library.service.GenreService;
+import com.wilson.movie.library.service.cache.CacheNames;
+import com.wilson.movie.library.service.utils.Batches;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Genre service.
@@ -21,7 +26,7 @@ import java.util.stream.Collectors;
  * @author Zach Wilson
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 @Slf4j
 public class GenreServiceImpl implements GenreService {
 
@@ -34,6 +39,8 @@ public class GenreServiceImpl implements GenreService {
 
     @Override
     @Nonnull
+    @CacheEvict(cacheNames = CacheNames.GENRES_BY_NAME, allEntries = true)
+    @Transactional
     public GenreEntity create(@Nonnull GenreEntity genre) {
         log.trace("Creating genre: {}", genre);
 
@@ -53,6 +60,7 @@ public class GenreServiceImpl implements GenreService {
 
     @Override
     @Nonnull
+    @Cacheable(cacheNames = CacheNames.GENRES_BY_NAME)
     public Optional<GenreEntity> getByName(@Nonnull String name) {
         log.trace("Getting genre by name: \"{}\"", name);
 
@@ -78,30 +86,29 @@ public class GenreServiceImpl implements GenreService {
     @Override
     @Nonnull
     @Transactional
-    public Optional<GenreEntity> update(@Nonnull Integer id, @Nonnull GenreEntity genre) {
+    @CacheEvict(cacheNames = CacheNames.GENRES_BY_NAME, allEntries = true)
+    public Optional<Integer> update(@Nonnull Integer id, @Nonnull GenreEntity genre) {
         log.trace("Updating genre with ID {}: {}", id, genre);
 
-        Optional<GenreEntity> optionalSavedEntity = Optional.empty();
-
-        Optional<GenreEntity> optionalCurrentEntity = Optional.ofNullable(repository.findOne(id));
-        if (optionalCurrentEntity.isPresent()) {
-            GenreEntity entity = optionalCurrentEntity.get();
-            entity.setName(genre.getName());
-            entity.setDescription(genre.getDescription());
-
-            optionalSavedEntity = Optional.ofNullable(repository.save(entity));
+        // One conditional UPDATE: the current genre is never read, unless to tell a conflict from a miss
+        if (repository.update(id, genre) > 0) {
+            log.debug("Persisted update to genre with ID {}: {}", id, genre);
+            return Optional.of(id);
+        }
 
-            optionalSavedEntity.ifPresent((e) -> log.debug("Persisted update to genre with ID {}: {}", id, e));
-        } else {
-            log.debug("No genre exists with ID {}. Nothing to update", id);
+        if (genre.getVersion() != null && repository.exists(id)) {
+            throw new OptimisticLockingFailureException(
+                    "Genre with ID " + id + " was updated after version " + genre.getVersion());
         }
 
-        return optionalSavedEntity;
+        log.debug("No genre exists with ID {}. Nothing to update", id);
+        return Optional.empty();
     }
 
     @Override
     @Nonnull
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.GENRES_BY_NAME, allEntries = true)
     public Optional<Integer> deleteById(@Nonnull Integer id) {
         log.trace("Deleting genre by ID: {}", id);
 
@@ -120,13 +127,20 @@ public class GenreServiceImpl implements GenreService {
     @Override
     @Nonnull
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.GENRES_BY_NAME, allEntries = true)
     public Collection<Integer> deleteAllWithIds(@Nonnull Collection<Integer> ids) {
         log.trace("Deleting all genre by IDs: {}", ids);
 
-        Collection<GenreEntity> entities = repository.findAllById(ids);
-        repository.deleteInBatch(entities);
+        // Only the IDs are read, never the entities, in batches small enough for one statement
+        Set<Integer> deletedEntityIds = new HashSet<>();
+        for (List<Integer> batch : Batches.partition(ids, Batches.MAX_IDS_PER_STATEMENT)) {
+            List<Integer> existingIds = repository.findIdsByIdIn(batch);
+            if (!existingIds.isEmpty()) {
+                repository.deleteAllByIdIn(existingIds);
+                deletedEntityIds.addAll(existingIds);
+            }
+        }
 
-        Collection<Integer> deletedEntityIds = entities.stream().map(GenreEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted {} genre with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
@@ -141,13 +155,13 @@ public class GenreServiceImpl implements GenreService {
     @Override
     @Nonnull
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.GENRES_BY_NAME, allEntries = true)
     public Collection<Integer> deleteAll() {
         log.trace("Deleting all genre");
 
-        List<GenreEntity> entities = repository.findAll();
-        repository.deleteInBatch(entities);
+        Set<Integer> deletedEntityIds = new HashSet<>(repository.findAllIds());
+        repository.deleteAllInBatch();
 
-        Set<Integer> deletedEntityIds = entities.stream().map(GenreEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted all {} genre with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
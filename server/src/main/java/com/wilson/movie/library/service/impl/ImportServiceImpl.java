@@ -0,0 +1,276 @@
+package com.wilson.movie.library.service.impl;
+
+import com.wilson.movie.library.service.GenreService;
+import com.wilson.movie.library.service.ImportService;
+import com.wilson.movie.library.service.LanguageService;
+import com.wilson.movie.library.service.MovieService;
+import com.wilson.movie.library.service.PersonService;
+import com.wilson.movie.library.service.RatingService;
+import com.wilson.movie.library.service.TvShowService;
+import com.wilson.movie.library.service.imports.DelimitedParser;
+import com.wilson.movie.library.service.imports.ImportFormat;
+import com.wilson.movie.library.service.imports.ImportJob;
+import com.wilson.movie.library.service.imports.ImportKind;
+import com.wilson.movie.library.service.imports.Lookups;
+import com.wilson.movie.library.service.imports.MovieRowMapper;
+import com.wilson.movie.library.service.imports.PersonRowMapper;
+import com.wilson.movie.library.service.imports.RowMapper;
+import com.wilson.movie.library.service.imports.TvShowRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Nonnull;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Import service.
+ * <p>
+ * Each import reads its file on a thread of its own, one record at a time, and hands chunks of
+ * mapped entities to a pool of workers shared by all imports, which insert each chunk with a single
+ * JDBC batch. The queue of the pool holds only one chunk per worker and, when it is full, the
+ * reading thread inserts the next chunk itself. Reading therefore never gets further ahead of the
+ * database than a few chunks, and the heap used by an import does not depend on the size of its
+ * file.
+ *
+ * @author Zach Wilson
+ */
+@Service
+@Slf4j
+public class ImportServiceImpl implements ImportService {
+
+    /**
+     * Number of imports whose status is kept; the oldest finished imports are forgotten first.
+     */
+    static final int MAX_JOBS = 100;
+
+    private final MovieService movieService;
+    private final TvShowService tvShowService;
+    private final PersonService personService;
+    private final RatingService ratingService;
+    private final GenreService genreService;
+    private final LanguageService languageService;
+
+    private final int chunkSize;
+    private final ExecutorService jobExecutor;
+    private final ThreadPoolExecutor chunkExecutor;
+
+    private final AtomicInteger jobCount = new AtomicInteger();
+    private final Map<Integer, ImportJob> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    public ImportServiceImpl(MovieService movieService, TvShowService tvShowService, PersonService personService,
+            RatingService ratingService, GenreService genreService, LanguageService languageService,
+            @Value("${movie-library.import.chunk-size:1000}") int chunkSize,
+            @Value("${movie-library.import.workers:4}") int workers,
+            @Value("${movie-library.import.concurrent-jobs:2}") int concurrentJobs) {
+        this.movieService = movieService;
+        this.tvShowService = tvShowService;
+        this.personService = personService;
+        this.ratingService = ratingService;
+        this.genreService = genreService;
+        this.languageService = languageService;
+        this.chunkSize = chunkSize;
+        this.jobExecutor = Executors.newFixedThreadPool(concurrentJobs, daemonThreads("import-job-"));
+        this.chunkExecutor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers), daemonThreads("import-worker-"), ImportServiceImpl::runInCaller);
+    }
+
+    @Override
+    @Nonnull
+    public ImportJob start(@Nonnull ImportKind kind, @Nonnull ImportFormat format, @Nonnull Path file,
+            boolean deleteWhenDone) {
+        ImportJob job = new ImportJob(jobCount.incrementAndGet(), kind, format);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            // Jobs are kept in the order they started, so the oldest finished ones are forgotten first
+            Iterator<ImportJob> iterator = jobs.values().iterator();
+            while (jobs.size() > MAX_JOBS && iterator.hasNext()) {
+                if (iterator.next().getFinishedAt().isPresent()) {
+                    iterator.remove();
+                }
+            }
+        }
+        log.debug("Queued import {} of {} from {}", job.getId(), kind, file);
+
+        jobExecutor.execute(() -> {
+            try {
+                run(job, file);
+            } finally {
+                if (deleteWhenDone) {
+                    deleteQuietly(file);
+                }
+            }
+        });
+        return job;
+    }
+
+    @Override
+    @Nonnull
+    public Optional<ImportJob> getById(@Nonnull Integer id) {
+        log.trace("Getting import by ID: {}", id);
+
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Collection<ImportJob> getAll() {
+        log.trace("Getting all imports");
+
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        chunkExecutor.shutdownNow();
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.started();
+        log.debug("Started import {}", job.getId());
+
+        try (DelimitedParser parser = new DelimitedParser(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), job.getFormat())) {
+            String[] header = parser.next();
+            if (header == null) {
+                throw new IllegalArgumentException("Missing header");
+            }
+
+            Lookups lookups = new Lookups(ratingService, genreService, languageService);
+            switch (job.getKind()) {
+                case MOVIES:
+                    importRows(job, parser, new MovieRowMapper(header, lookups), movieService::createAll);
+                    break;
+                case TV_SHOWS:
+                    importRows(job, parser, new TvShowRowMapper(header, lookups), tvShowService::createAll);
+                    break;
+                case PERSONS:
+                    importRows(job, parser, new PersonRowMapper(header), personService::createAll);
+                    break;
+            }
+
+            job.succeeded();
+            log.debug("Finished import {}: {} rows imported, {} rejected", job.getId(), job.getRowsImported(),
+                    job.getRowsRejected());
+        } catch (IOException | RuntimeException e) {
+            job.failed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            log.warn("Import {} failed after {} rows: {}", job.getId(), job.getRowsRead(), job.getFailure().get());
+        }
+    }
+
+    /**
+     * Reads the remaining records of the file and inserts them in chunks, returning once every
+     * chunk has been inserted or rejected.
+     */
+    private <E> void importRows(ImportJob job, DelimitedParser parser, RowMapper<E> mapper,
+            Consumer<List<E>> insert) throws IOException {
+        Phaser pendingChunks = new Phaser(1);
+        try {
+            List<E> chunk = new ArrayList<>(chunkSize);
+            long chunkLine = 0;
+            for (String[] row = parser.next(); row != null; row = parser.next()) {
+                job.rowRead();
+                try {
+                    chunk.add(mapper.map(row));
+                } catch (IllegalArgumentException e) {
+                    job.rowsRejected(1, parser.getLineNumber(), e.getMessage());
+                    continue;
+                }
+
+                if (chunk.size() == 1) {
+                    chunkLine = parser.getLineNumber();
+                }
+                if (chunk.size() == chunkSize) {
+                    submit(job, chunk, chunkLine, insert, pendingChunks);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(job, chunk, chunkLine, insert, pendingChunks);
+            }
+        } finally {
+            pendingChunks.arriveAndAwaitAdvance();
+        }
+    }
+
+    private <E> void submit(ImportJob job, List<E> chunk, long chunkLine, Consumer<List<E>> insert,
+            Phaser pendingChunks) {
+        pendingChunks.register();
+        Runnable task = () -> {
+            try {
+                insert.accept(chunk);
+                job.rowsImported(chunk.size());
+            } catch (RuntimeException e) {
+                log.debug("Cannot import chunk of {} rows from line {}: {}", chunk.size(), chunkLine, e.getMessage());
+                job.rowsRejected(chunk.size(), chunkLine,
+                        "Chunk of " + chunk.size() + " rows could not be persisted");
+            } finally {
+                pendingChunks.arriveAndDeregister();
+            }
+        };
+
+        try {
+            chunkExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            pendingChunks.arriveAndDeregister();
+            throw e;
+        }
+    }
+
+    /**
+     * Inserts a chunk on the reading thread when every worker is busy and the queue is full, which
+     * stops the reading until the chunk is inserted.
+     */
+    private static void runInCaller(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Import workers are shut down");
+        }
+        task.run();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Cannot delete imported file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return (runnable) -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
@@ -3,17 +3,22 @@ package com.wilson.movie.library.service.impl;
 import com.wilson.movie.library.domain.LanguageEntity;
 import com.wilson.movie.library.repository.LanguageRepository;
 import com.wilson.movie.library.service.LanguageService;
+import com.wilson.movie.library.service.cache.CacheNames;
+import com.wilson.movie.library.service.utils.Batches;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Language service.
@@ -21,7 +26,7 @@ import java.util.stream.Collectors;
  * @author Zach Wilson
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 @Slf4j
 public class LanguageServiceImpl implements LanguageService {
 
@@ -34,6 +39,8 @@ public class LanguageServiceImpl implements LanguageService {
 
     @Override
     @Nonnull
+    @CacheEvict(cacheNames = CacheNames.LANGUAGES_BY_NAME, allEntries = true)
+    @Transactional
     public LanguageEntity create(@Nonnull LanguageEntity language) {
         log.trace("Creating language: {}", language);
 
@@ -53,6 +60,7 @@ public class LanguageServiceImpl implements LanguageService {
 
     @Override
     @Nonnull
+    @Cacheable(cacheNames = CacheNames.LANGUAGES_BY_NAME)
     public Optional<LanguageEntity> getByName(@Nonnull String name) {
         log.trace("Getting language by name: \"{}\"", name);
 
@@ -78,30 +86,29 @@ public class LanguageServiceImpl implements LanguageService {
     @Override
     @Nonnull
     @Transactional
-    public Optional<LanguageEntity> update(@Nonnull Integer id, @Nonnull LanguageEntity language) {
+    @CacheEvict(cacheNames = CacheNames.LANGUAGES_BY_NAME, allEntries = true)
+    public Optional<Integer> update(@Nonnull Integer id, @Nonnull LanguageEntity language) {
         log.trace("Updating language with ID {}: {}", id, language);
 
-        Optional<LanguageEntity> optionalSavedEntity = Optional.empty();
-
-        Optional<LanguageEntity> optionalCurrentEntity = Optional.ofNullable(repository.findOne(id));
-        if (optionalCurrentEntity.isPresent()) {
-            LanguageEntity entity = optionalCurrentEntity.get();
-            entity.setName(language.getName());
-            entity.setDescription(language.getDescription());
-
-            optionalSavedEntity = Optional.ofNullable(repository.save(entity));
+        // One conditional UPDATE: the current language is never read, unless to tell a conflict from a miss
+        if (repository.update(id, language) > 0) {
+            log.debug("Persisted update to language with ID {}: {}", id, language);
+            return Optional.of(id);
+        }
 
-            optionalSavedEntity.ifPresent((e) -> log.debug("Persisted update to language with ID {}: {}", id, e));
-        } else {
-            log.debug("No language exists with ID {}. Nothing to update", id);
+        if (language.getVersion() != null && repository.exists(id)) {
+            throw new OptimisticLockingFailureException(
+                    "Language with ID " + id + " was updated after version " + language.getVersion());
         }
 
-        return optionalSavedEntity;
+        log.debug("No language exists with ID {}. Nothing to update", id);
+        return Optional.empty();
     }
 
     @Override
     @Nonnull
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.LANGUAGES_BY_NAME, allEntries = true)
     public Optional<Integer> deleteById(@Nonnull Integer id) {
         log.trace("Deleting language by ID: {}", id);
 
@@ -120,13 +127,20 @@ public class LanguageServiceImpl implements LanguageService {
     @Override
     @Nonnull
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.LANGUAGES_BY_NAME, allEntries = true)
     public Collection<Integer> deleteAllWithIds(@Nonnull Collection<Integer> ids) {
         log.trace("Deleting all language by IDs: {}", ids);
 
-        Collection<LanguageEntity> entities = repository.findAllById(ids);
-        repository.deleteInBatch(entities);
+        // Only the IDs are read, never the entities, in batches small enough for one statement
+        Set<Integer> deletedEntityIds = new HashSet<>();
+        for (List<Integer> batch : Batches.partition(ids, Batches.MAX_IDS_PER_STATEMENT)) {
+            List<Integer> existingIds = repository.findIdsByIdIn(batch);
+            if (!existingIds.isEmpty()) {
+                repository.deleteAllByIdIn(existingIds);
+                deletedEntityIds.addAll(existingIds);
+            }
+        }
 
-        Collection<Integer> deletedEntityIds = entities.stream().map(LanguageEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted {} language with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
@@ -141,13 +155,13 @@ public class LanguageServiceImpl implements LanguageService {
     @Override
     @Nonnull
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.LANGUAGES_BY_NAME, allEntries = true)
     public Collection<Integer> deleteAll() {
         log.trace("Deleting all language");
 
-        List<LanguageEntity> entities = repository.findAll();
-        repository.deleteInBatch(entities);
+        Set<Integer> deletedEntityIds = new HashSet<>(repository.findAllIds());
+        repository.deleteAllInBatch();
 
-        Set<Integer> deletedEntityIds = entities.stream().map(LanguageEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted all {} language with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
@@ -1,19 +1,40 @@
 package com.wilson.movie.library.service.impl;
 
+import com.wilson.movie.library.domain.FacetCount;
 import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.MovieView;
 import com.wilson.movie.library.repository.MovieRepository;
 import com.wilson.movie.library.service.MovieService;
+import com.wilson.movie.library.service.utils.Batches;
+import com.wilson.movie.library.service.utils.MultiGets;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Movie service.
@@ -21,19 +42,25 @@ import java.util.stream.Collectors;
  * @author Zach Wilson
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 @Slf4j
 public class MovieServiceImpl implements MovieService {
 
     private final MovieRepository repository;
+    private final MultiGets multiGets;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public MovieServiceImpl(MovieRepository repository) {
+    public MovieServiceImpl(MovieRepository repository, MultiGets multiGets) {
         this.repository = repository;
+        this.multiGets = multiGets;
     }
 
     @Override
     @Nonnull
+    @Transactional
     public MovieEntity create(@Nonnull MovieEntity movie) {
         log.trace("Creating movie: {}", movie);
 
@@ -43,6 +70,18 @@ public class MovieServiceImpl implements MovieService {
         return savedEntity;
     }
 
+    @Override
+    @Nonnull
+    @Transactional
+    public List<MovieEntity> createAll(@Nonnull List<MovieEntity> movies) {
+        log.trace("Creating {} movies", movies.size());
+
+        repository.insertAll(movies);
+        log.debug("Persisted {} new movies", movies.size());
+
+        return movies;
+    }
+
     @Override
     @Nonnull
     public Optional<MovieEntity> getById(@Nonnull Integer id) {
@@ -93,6 +132,15 @@ public class MovieServiceImpl implements MovieService {
         return repository.findAllById(ids);
     }
 
+    @Override
+    @Nonnull
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MovieEntity> getAllInOrder(@Nonnull int[] ids) {
+        log.trace("Getting {} movies by IDs, in order", ids.length);
+
+        return multiGets.getAll(ids, repository::findAllById, MovieEntity::getId);
+    }
+
     @Override
     @Nonnull
     public Collection<MovieEntity> getAll() {
@@ -101,31 +149,144 @@ public class MovieServiceImpl implements MovieService {
         return repository.findAll();
     }
 
+    @Override
+    @Nonnull
+    public Collection<MovieEntity> getAllAfter(@Nonnull Integer after, @Nonnull Integer limit) {
+        log.trace("Getting up to {} movies after ID: {}", limit, after);
+
+        return repository.findAllAfter(after, new PageRequest(0, limit));
+    }
+
+    @Override
+    @Nonnull
+    public List<MovieView> getViewsAfter(@Nonnull Integer after, @Nonnull Integer limit) {
+        log.trace("Getting up to {} movies as views after ID: {}", limit, after);
+
+        return repository.findViewsAfter(after, new PageRequest(0, limit));
+    }
+
+    @Override
+    @Nonnull
+    public List<MovieView> getViewsByReleaseDateBetween(@Nonnull LocalDate from, @Nonnull LocalDate to,
+            @Nonnull Integer after, @Nonnull Integer limit) {
+        log.trace("Getting up to {} movies as views released from {} to {} after ID: {}", limit, from, to, after);
+
+        return repository.findViewsByReleaseDateBetween(from, to, after, new PageRequest(0, limit));
+    }
+
+    @Override
+    @Nonnull
+    public Map<String, List<FacetCount>> countByFacets(@Nonnull LocalDate from, @Nonnull LocalDate to,
+            @Nonnull Map<String, Object> filter) {
+        log.trace("Counting movies released from {} to {} matching {} by facet", from, to, filter);
+
+        // One GROUP BY per facet, all within the same transaction
+        Map<String, List<FacetCount>> counts = new LinkedHashMap<>();
+        for (String facet : FacetCount.FACETS) {
+            counts.put(facet, repository.countByFacet(facet, from, to, filter));
+        }
+        return counts;
+    }
+
+    @Override
+    @Nonnull
+    public List<MovieEntity> search(@Nonnull String query, @Nonnull Integer page, @Nonnull Integer limit) {
+        log.trace("Searching page {} of up to {} movies matching: \"{}\"", page, limit, query);
+
+        List<Integer> ids = repository.searchIds(query, limit, page * limit).stream()
+                .map(Number::intValue)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Fetch the page in one statement, then restore the relevance order of the IDs
+        Map<Integer, MovieEntity> entitiesById = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(MovieEntity::getId, Function.identity()));
+        return ids.stream()
+                .map(entitiesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long exportAll(@Nonnull Consumer<MovieEntity> consumer) {
+        log.trace("Exporting all movies");
+
+        // Detach each movie once it has been consumed so the persistence context stays empty
+        AtomicLong count = new AtomicLong();
+        try (Stream<MovieEntity> movies = repository.streamAll()) {
+            movies.forEach((movie) -> {
+                consumer.accept(movie);
+                entityManager.detach(movie);
+                count.incrementAndGet();
+            });
+        }
+
+        log.debug("Exported {} movies", count.get());
+        return count.get();
+    }
+
+    @Override
+    @Nonnull
+    public SortedMap<Integer, Long> countAllByReleaseYear() {
+        log.trace("Counting movies by year of release");
+
+        SortedMap<Integer, Long> counts = new TreeMap<>();
+        for (Object[] row : repository.countAllByReleaseYear()) {
+            counts.put(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
     @Override
     @Nonnull
     @Transactional
-    public Optional<MovieEntity> update(@Nonnull Integer id, @Nonnull MovieEntity movie) {
+    public Optional<Integer> update(@Nonnull Integer id, @Nonnull MovieEntity movie) {
         log.trace("Updating movie with ID {}: {}", id, movie);
 
-        Optional<MovieEntity> optionalSavedEntity = Optional.empty();
+        // One conditional UPDATE: the current movie is never read, unless to tell a conflict from a miss
+        if (repository.update(id, movie) > 0) {
+            log.debug("Persisted update to movie with ID {}: {}", id, movie);
+            return Optional.of(id);
+        }
 
-        Optional<MovieEntity> optionalCurrentEntity = Optional.ofNullable(repository.findOne(id));
-        if (optionalCurrentEntity.isPresent()) {
-            MovieEntity entity = optionalCurrentEntity.get();
-            entity.setTitle(movie.getTitle());
-            entity.setStudio(movie.getStudio());
-            entity.setReleaseDate(movie.getReleaseDate());
-            entity.setPlotSummary(movie.getPlotSummary());
-            entity.setNotes(movie.getNotes());
+        if (movie.getVersion() != null && repository.exists(id)) {
+            throw new OptimisticLockingFailureException(
+                    "Movie with ID " + id + " was updated after version " + movie.getVersion());
+        }
 
-            optionalSavedEntity = Optional.ofNullable(repository.save(entity));
+        log.debug("No movie exists with ID {}. Nothing to update", id);
+        return Optional.empty();
+    }
 
-            optionalSavedEntity.ifPresent((e) -> log.debug("Persisted update to movie with ID {}: {}", id, e));
+    @Override
+    @Nonnull
+    @Transactional
+    public Optional<Integer> patch(@Nonnull Integer id, Integer version, @Nonnull Map<String, Object> changes) {
+        log.trace("Patching movie with ID {}: {}", id, changes);
+
+        if (changes.isEmpty()) {
+            // Nothing is written, so the version is not incremented, but the expected version is still checked
+            log.debug("Nothing to patch on movie with ID {}", id);
+            if (version == null ? repository.exists(id) : repository.existsByIdAndVersion(id, version)) {
+                return Optional.of(id);
+            }
         } else {
-            log.debug("No movie exists with ID: {}. Nothing to update", id);
+            // Only the changed columns are written, again without reading the current movie
+            if (repository.patch(id, version, changes) > 0) {
+                log.debug("Persisted patch to movie with ID {}: {}", id, changes.keySet());
+                return Optional.of(id);
+            }
         }
 
-        return optionalSavedEntity;
+        if (version != null && repository.exists(id)) {
+            throw new OptimisticLockingFailureException(
+                    "Movie with ID " + id + " was updated after version " + version);
+        }
+
+        log.debug("No movie exists with ID {}. Nothing to patch", id);
+        return Optional.empty();
     }
 
     @Override
@@ -152,10 +313,16 @@ public class MovieServiceImpl implements MovieService {
     public Collection<Integer> deleteAllWithIds(@Nonnull Collection<Integer> ids) {
         log.trace("Deleting all movies by IDs: {}", ids);
 
-        Collection<MovieEntity> entities = repository.findAllById(ids);
-        repository.deleteInBatch(entities);
+        // Only the IDs are read, never the entities, in batches small enough for one statement
+        Set<Integer> deletedEntityIds = new HashSet<>();
+        for (List<Integer> batch : Batches.partition(ids, Batches.MAX_IDS_PER_STATEMENT)) {
+            List<Integer> existingIds = repository.findIdsByIdIn(batch);
+            if (!existingIds.isEmpty()) {
+                repository.deleteAllByIdIn(existingIds);
+                deletedEntityIds.addAll(existingIds);
+            }
+        }
 
-        Collection<Integer> deletedEntityIds = entities.stream().map(MovieEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted {} movies with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
@@ -173,10 +340,9 @@ public class MovieServiceImpl implements MovieService {
     public Collection<Integer> deleteAll() {
         log.trace("Deleting all movies");
 
-        List<MovieEntity> entities = repository.findAll();
-        repository.deleteInBatch(entities);
+        Set<Integer> deletedEntityIds = new HashSet<>(repository.findAllIds());
+        repository.deleteAllInBatch();
 
-        Collection<Integer> deletedEntityIds = entities.stream().map(MovieEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted all {} movies with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
@@ -1,18 +1,30 @@
 package com.wilson.movie.library.service.impl;
 
+import com.wilson.movie.library.domain.NameKeys;
 import com.wilson.movie.library.domain.PersonEntity;
+import com.wilson.movie.library.domain.PersonView;
 import com.wilson.movie.library.repository.PersonRepository;
 import com.wilson.movie.library.service.PersonService;
+import com.wilson.movie.library.service.utils.Batches;
+import com.wilson.movie.library.service.utils.MultiGets;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.Nonnull;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -21,28 +33,50 @@ import java.util.stream.Collectors;
  * @author Zach Wilson
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 @Slf4j
 public class PersonServiceImpl implements PersonService {
 
+    /**
+     * Candidates read per person searched for, which are ranked by {@link #score(PersonEntity, List)}
+     * before the results are cut to the limit.
+     */
+    private static final int CANDIDATES_PER_RESULT = 4;
+
     private final PersonRepository repository;
+    private final MultiGets multiGets;
 
     @Autowired
-    public PersonServiceImpl(PersonRepository repository) {
+    public PersonServiceImpl(PersonRepository repository, MultiGets multiGets) {
         this.repository = repository;
+        this.multiGets = multiGets;
     }
 
     @Override
     @Nonnull
+    @Transactional
     public PersonEntity create(@Nonnull PersonEntity person) {
         log.trace("Creating person: {}", person);
 
         PersonEntity savedEntity = repository.save(person);
+        repository.saveNameWords(Collections.singletonList(savedEntity));
         log.debug("Persisted new person: {}", savedEntity);
 
         return savedEntity;
     }
 
+    @Override
+    @Nonnull
+    @Transactional
+    public List<PersonEntity> createAll(@Nonnull List<PersonEntity> persons) {
+        log.trace("Creating {} persons", persons.size());
+
+        repository.insertAll(persons);
+        log.debug("Persisted {} new persons", persons.size());
+
+        return persons;
+    }
+
     @Override
     @Nonnull
     public Optional<PersonEntity> getById(@Nonnull Integer id) {
@@ -56,7 +90,7 @@ public class PersonServiceImpl implements PersonService {
     public Collection<PersonEntity> getAllByFirstName(@Nonnull String firstName) {
         log.trace("Getting persons by first name: \"{}\"", firstName);
 
-        return repository.findAllByFirstName(firstName);
+        return repository.findAllByFirstNameKey(NameKeys.of(firstName));
     }
 
     @Override
@@ -64,7 +98,7 @@ public class PersonServiceImpl implements PersonService {
     public Collection<PersonEntity> getAllByMiddleName(@Nonnull String middleName) {
         log.trace("Getting persons by middle name: \"{}\"", middleName);
 
-        return repository.findAllByMiddleName(middleName);
+        return repository.findAllByMiddleNameKey(NameKeys.of(middleName));
     }
 
     @Override
@@ -72,7 +106,7 @@ public class PersonServiceImpl implements PersonService {
     public Collection<PersonEntity> getAllByLastName(@Nonnull String lastName) {
         log.trace("Getting persons by last name: \"{}\"", lastName);
 
-        return repository.findAllByLastName(lastName);
+        return repository.findAllByLastNameKey(NameKeys.of(lastName));
     }
 
     @Override
@@ -80,7 +114,7 @@ public class PersonServiceImpl implements PersonService {
     public Collection<PersonEntity> getAllByName(@Nonnull String firstName, @Nonnull String lastName) {
         log.trace("Getting persons by first name \"{}\" and last name \"{}\"", firstName, lastName);
 
-        return repository.findAllByName(firstName, lastName);
+        return repository.findAllByFirstNameKeyAndLastNameKey(NameKeys.of(firstName), NameKeys.of(lastName));
     }
 
     @Override
@@ -90,7 +124,41 @@ public class PersonServiceImpl implements PersonService {
         log.trace("Getting persons by first name \"{}\", middle name \"{}\", and last name \"{}\"",
                   firstName, middleName, lastName);
 
-        return repository.findAllByName(firstName, middleName, lastName);
+        return repository.findAllByFirstNameKeyAndMiddleNameKeyAndLastNameKey(NameKeys.of(firstName),
+                NameKeys.of(middleName), NameKeys.of(lastName));
+    }
+
+    @Override
+    @Nonnull
+    public List<PersonEntity> search(@Nonnull String name, @Nonnull Integer limit) {
+        log.trace("Searching up to {} persons matching: \"{}\"", limit, name);
+
+        List<String> words = NameKeys.words(name);
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // The database matches each word against the start of any word of any name, e.g., "niro" in
+        // "de niro", and keeps only the persons that every word matches
+        List<PersonEntity> candidates = repository.findAllByNameWordPrefixes(words, limit * CANDIDATES_PER_RESULT);
+
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (PersonEntity person : candidates) {
+            int score = score(person, words);
+            if (score > 0) {
+                scores.put(person.getId(), score);
+            }
+        }
+        log.debug("Ranked {} of {} candidates matching \"{}\"", scores.size(), candidates.size(), name);
+
+        return candidates.stream()
+                .filter((person) -> scores.containsKey(person.getId()))
+                .sorted(Comparator.comparing((PersonEntity person) -> scores.get(person.getId())).reversed()
+                                .thenComparing(PersonEntity::getLastNameKey)
+                                .thenComparing(PersonEntity::getFirstNameKey)
+                                .thenComparing(PersonEntity::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -137,6 +205,15 @@ public class PersonServiceImpl implements PersonService {
         return repository.findAllById(ids);
     }
 
+    @Override
+    @Nonnull
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<PersonEntity> getAllInOrder(@Nonnull int[] ids) {
+        log.trace("Getting {} persons by IDs, in order", ids.length);
+
+        return multiGets.getAll(ids, repository::findAllById, PersonEntity::getId);
+    }
+
     @Override
     @Nonnull
     public Collection<PersonEntity> getAll() {
@@ -147,27 +224,31 @@ public class PersonServiceImpl implements PersonService {
 
     @Override
     @Nonnull
-    @Transactional
-    public Optional<PersonEntity> update(@Nonnull Integer id, @Nonnull PersonEntity person) {
-        log.trace("Updating person with ID {}: {}", id, person);
+    public List<PersonView> getAllViews() {
+        log.trace("Getting all persons as views");
 
-        Optional<PersonEntity> optionalSavedEntity = Optional.empty();
+        return repository.findAllViews();
+    }
 
-        Optional<PersonEntity> optionalCurrentEntity = Optional.ofNullable(repository.findOne(id));
-        if (optionalCurrentEntity.isPresent()) {
-            PersonEntity entity = optionalCurrentEntity.get();
-            entity.setFirstName(person.getFirstName());
-            entity.setMiddleName(person.getMiddleName());
-            entity.setLastName(person.getLastName());
-            entity.setDateOfBirth(person.getDateOfBirth());
-            entity.setDateOfDeath(person.getDateOfDeath());
+    @Override
+    @Nonnull
+    @Transactional
+    public Optional<Integer> update(@Nonnull Integer id, @Nonnull PersonEntity person) {
+        log.trace("Updating person with ID {}: {}", id, person);
 
-            optionalSavedEntity = Optional.ofNullable(repository.save(entity));
+        // One conditional UPDATE: the current person is never read, unless to tell a conflict from a miss
+        if (repository.update(id, person) > 0) {
+            log.debug("Persisted update to person with ID {}: {}", id, person);
+            return Optional.of(id);
+        }
 
-            optionalSavedEntity.ifPresent((e) -> log.debug("Persisted update to person with ID {}:{}", id, e));
+        if (person.getVersion() != null && repository.exists(id)) {
+            throw new OptimisticLockingFailureException(
+                    "Person with ID " + id + " was updated after version " + person.getVersion());
         }
 
-        return optionalSavedEntity;
+        log.debug("No person exists with ID {}. Nothing to update", id);
+        return Optional.empty();
     }
 
     @Override
@@ -194,10 +275,16 @@ public class PersonServiceImpl implements PersonService {
     public Collection<Integer> deleteAllWithIds(@Nonnull Collection<Integer> ids) {
         log.trace("Deleting all persons by IDs: {}", ids);
 
-        Collection<PersonEntity> entities = repository.findAllById(ids);
-        repository.deleteInBatch(entities);
+        // Only the IDs are read, never the entities, in batches small enough for one statement
+        Set<Integer> deletedEntityIds = new HashSet<>();
+        for (List<Integer> batch : Batches.partition(ids, Batches.MAX_IDS_PER_STATEMENT)) {
+            List<Integer> existingIds = repository.findIdsByIdIn(batch);
+            if (!existingIds.isEmpty()) {
+                repository.deleteAllByIdIn(existingIds);
+                deletedEntityIds.addAll(existingIds);
+            }
+        }
 
-        Collection<Integer> deletedEntityIds = entities.stream().map(PersonEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted {} persons with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
@@ -215,10 +302,9 @@ public class PersonServiceImpl implements PersonService {
     public Collection<Integer> deleteAll() {
         log.trace("Deleting all persons");
 
-        List<PersonEntity> entities = repository.findAll();
-        repository.deleteInBatch(entities);
+        Set<Integer> deletedEntityIds = new HashSet<>(repository.findAllIds());
+        repository.deleteAllInBatch();
 
-        Collection<Integer> deletedEntityIds = entities.stream().map(PersonEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted all {} persons with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
@@ -237,4 +323,42 @@ public class PersonServiceImpl implements PersonService {
         return repository.exists(id);
     }
 
+    /**
+     * Scores how well the words of a query match the names of a person: each word scores 3 when it
+     * is a whole word of a name and 2 when it starts one, plus 1 when the words match the first,
+     * middle and last names in that order.
+     *
+     * @return the score, or zero if some word matches no name.
+     */
+    static int score(@Nonnull PersonEntity person, @Nonnull List<String> words) {
+        String[] names = {person.getFirstNameKey(), person.getMiddleNameKey(), person.getLastNameKey()};
+
+        int score = 0;
+        int lastName = 0;
+        boolean inOrder = true;
+        for (String word : words) {
+            int best = 0;
+            int bestName = 0;
+            for (int i = 0; i < names.length; i++) {
+                if (names[i] == null) {
+                    continue;
+                }
+                for (String nameWord : names[i].split(" ")) {
+                    int wordScore = nameWord.equals(word) ? 3 : nameWord.startsWith(word) ? 2 : 0;
+                    if (wordScore > best) {
+                        best = wordScore;
+                        bestName = i;
+                    }
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+            inOrder &= bestName >= lastName;
+            lastName = bestName;
+        }
+        return inOrder ? score + 1 : score;
+    }
+
 }
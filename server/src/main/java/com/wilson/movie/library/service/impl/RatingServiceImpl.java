@@ -3,17 +3,22 @@ package com.wilson.movie.library.service.impl;
 import com.wilson.movie.library.domain.RatingEntity;
 import com.wilson.movie.library.repository.RatingRepository;
 import com.wilson.movie.library.service.RatingService;
+import com.wilson.movie.library.service.cache.CacheNames;
+import com.wilson.movie.library.service.utils.Batches;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Rating service.
@@ -21,7 +26,7 @@ import java.util.stream.Collectors;
  * @author Zach Wilson
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 @Slf4j
 public class RatingServiceImpl implements RatingService {
 
@@ -34,6 +39,8 @@ public class RatingServiceImpl implements RatingService {
 
     @Override
     @Nonnull
+    @CacheEvict(cacheNames = CacheNames.RATINGS_BY_NAME, allEntries = true)
+    @Transactional
     public RatingEntity create(@Nonnull RatingEntity rating) {
         log.trace("Creating rating: {}", rating);
 
@@ -53,6 +60,7 @@ public class RatingServiceImpl implements RatingService {
 
     @Override
     @Nonnull
+    @Cacheable(cacheNames = CacheNames.RATINGS_BY_NAME)
     public Optional<RatingEntity> getByName(@Nonnull String name) {
         log.trace("Getting rating by name: \"{}\"", name);
 
@@ -78,30 +86,29 @@ public class RatingServiceImpl implements RatingService {
     @Override
     @Nonnull
     @Transactional
-    public Optional<RatingEntity> update(@Nonnull Integer id, @Nonnull RatingEntity rating) {
+    @CacheEvict(cacheNames = CacheNames.RATINGS_BY_NAME, allEntries = true)
+    public Optional<Integer> update(@Nonnull Integer id, @Nonnull RatingEntity rating) {
         log.trace("Updating rating with ID {}: {}", id, rating);
 
-        Optional<RatingEntity> optionalSavedEntity = Optional.empty();
-
-        Optional<RatingEntity> optionalCurrentEntity = Optional.ofNullable(repository.findOne(id));
-        if (optionalCurrentEntity.isPresent()) {
-            RatingEntity entity = optionalCurrentEntity.get();
-            entity.setName(rating.getName());
-            entity.setDescription(rating.getDescription());
-
-            optionalSavedEntity = Optional.ofNullable(repository.save(entity));
+        // One conditional UPDATE: the current rating is never read, unless to tell a conflict from a miss
+        if (repository.update(id, rating) > 0) {
+            log.debug("Persisted update to rating with ID {}: {}", id, rating);
+            return Optional.of(id);
+        }
 
-            optionalSavedEntity.ifPresent((e) -> log.debug("Persisted update to rating with ID {}: {}", id, e));
-        } else {
-            log.debug("No rating exists with ID {}. Nothing to update", id);
+        if (rating.getVersion() != null && repository.exists(id)) {
+            throw new OptimisticLockingFailureException(
+                    "Rating with ID " + id + " was updated after version " + rating.getVersion());
         }
 
-        return optionalSavedEntity;
+        log.debug("No rating exists with ID {}. Nothing to update", id);
+        return Optional.empty();
     }
 
     @Override
     @Nonnull
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.RATINGS_BY_NAME, allEntries = true)
     public Optional<Integer> deleteById(@Nonnull Integer id) {
         log.trace("Deleting rating by ID: {}", id);
 
@@ -120,13 +127,20 @@ public class RatingServiceImpl implements RatingService {
     @Override
     @Nonnull
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.RATINGS_BY_NAME, allEntries = true)
     public Collection<Integer> deleteAllWithIds(@Nonnull Collection<Integer> ids) {
         log.trace("Deleting all rating by IDs: {}", ids);
 
-        Collection<RatingEntity> entities = repository.findAllById(ids);
-        repository.deleteInBatch(entities);
+        // Only the IDs are read, never the entities, in batches small enough for one statement
+        Set<Integer> deletedEntityIds = new HashSet<>();
+        for (List<Integer> batch : Batches.partition(ids, Batches.MAX_IDS_PER_STATEMENT)) {
+            List<Integer> existingIds = repository.findIdsByIdIn(batch);
+            if (!existingIds.isEmpty()) {
+                repository.deleteAllByIdIn(existingIds);
+                deletedEntityIds.addAll(existingIds);
+            }
+        }
 
-        Collection<Integer> deletedEntityIds = entities.stream().map(RatingEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted {} rating with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
@@ -141,13 +155,13 @@ public class RatingServiceImpl implements RatingService {
     @Override
     @Nonnull
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.RATINGS_BY_NAME, allEntries = true)
     public Collection<Integer> deleteAll() {
         log.trace("Deleting all rating");
 
-        List<RatingEntity> entities = repository.findAll();
-        repository.deleteInBatch(entities);
+        Set<Integer> deletedEntityIds = new HashSet<>(repository.findAllIds());
+        repository.deleteAllInBatch();
 
-        Set<Integer> deletedEntityIds = entities.stream().map(RatingEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted all {} rating with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
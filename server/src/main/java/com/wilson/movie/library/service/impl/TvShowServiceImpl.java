@@ -1,19 +1,32 @@
 package com.wilson.movie.library.service.impl;
 
+import com.wilson.movie.library.domain.FacetCount;
 import com.wilson.movie.library.domain.TvShowEntity;
+import com.wilson.movie.library.domain.TvShowView;
 import com.wilson.movie.library.repository.TvShowRepository;
 import com.wilson.movie.library.service.TvShowService;
+import com.wilson.movie.library.service.utils.Batches;
+import com.wilson.movie.library.service.utils.MultiGets;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.Nonnull;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -22,19 +35,22 @@ import java.util.stream.Collectors;
  * @author Zach Wilson
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 @Slf4j
 public class TvShowServiceImpl implements TvShowService {
 
     private final TvShowRepository repository;
+    private final MultiGets multiGets;
 
     @Autowired
-    public TvShowServiceImpl(TvShowRepository repository) {
+    public TvShowServiceImpl(TvShowRepository repository, MultiGets multiGets) {
         this.repository = repository;
+        this.multiGets = multiGets;
     }
 
     @Override
     @Nonnull
+    @Transactional
     public TvShowEntity create(@Nonnull TvShowEntity tvShow) {
         log.trace("Creating TV show: {}", tvShow);
 
@@ -44,6 +60,18 @@ public class TvShowServiceImpl implements TvShowService {
         return savedEntity;
     }
 
+    @Override
+    @Nonnull
+    @Transactional
+    public List<TvShowEntity> createAll(@Nonnull List<TvShowEntity> tvShows) {
+        log.trace("Creating {} TV shows", tvShows.size());
+
+        repository.insertAll(tvShows);
+        log.debug("Persisted {} new TV shows", tvShows.size());
+
+        return tvShows;
+    }
+
     @Override
     @Nonnull
     public Optional<TvShowEntity> getById(@Nonnull Integer id) {
@@ -94,6 +122,15 @@ public class TvShowServiceImpl implements TvShowService {
         return repository.findAllById(ids);
     }
 
+    @Override
+    @Nonnull
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TvShowEntity> getAllInOrder(@Nonnull int[] ids) {
+        log.trace("Getting {} TV shows by IDs, in order", ids.length);
+
+        return multiGets.getAll(ids, repository::findAllById, TvShowEntity::getId);
+    }
+
     @Override
     @Nonnull
     public Collection<TvShowEntity> getAll() {
@@ -102,32 +139,114 @@ public class TvShowServiceImpl implements TvShowService {
         return repository.findAll();
     }
 
+    @Override
+    @Nonnull
+    public Collection<TvShowEntity> getAllAfter(@Nonnull Integer after, @Nonnull Integer limit) {
+        log.trace("Getting up to {} TV shows after ID: {}", limit, after);
+
+        return repository.findAllAfter(after, new PageRequest(0, limit));
+    }
+
+    @Override
+    @Nonnull
+    public List<TvShowView> getViewsAfter(@Nonnull Integer after, @Nonnull Integer limit) {
+        log.trace("Getting up to {} TV shows as views after ID: {}", limit, after);
+
+        return repository.findViewsAfter(after, new PageRequest(0, limit));
+    }
+
+    @Override
+    @Nonnull
+    public List<TvShowView> getViewsByDateAiredBetween(@Nonnull LocalDate from, @Nonnull LocalDate to,
+            @Nonnull Integer after, @Nonnull Integer limit) {
+        log.trace("Getting up to {} TV shows as views aired from {} to {} after ID: {}", limit, from, to, after);
+
+        return repository.findViewsByDateAiredBetween(from, to, after, new PageRequest(0, limit));
+    }
+
+    @Override
+    @Nonnull
+    public Map<String, List<FacetCount>> countByFacets(@Nonnull LocalDate from, @Nonnull LocalDate to,
+            @Nonnull Map<String, Object> filter) {
+        log.trace("Counting TV shows aired from {} to {} matching {} by facet", from, to, filter);
+
+        // One GROUP BY per facet, all within the same transaction
+        Map<String, List<FacetCount>> counts = new LinkedHashMap<>();
+        for (String facet : FacetCount.FACETS) {
+            counts.put(facet, repository.countByFacet(facet, from, to, filter));
+        }
+        return counts;
+    }
+
+    @Override
+    @Nonnull
+    public List<TvShowEntity> search(@Nonnull String query, @Nonnull Integer page, @Nonnull Integer limit) {
+        log.trace("Searching page {} of up to {} TV shows matching: \"{}\"", page, limit, query);
+
+        List<Integer> ids = repository.searchIds(query, limit, page * limit).stream()
+                .map(Number::intValue)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Fetch the page in one statement, then restore the relevance order of the IDs
+        Map<Integer, TvShowEntity> entitiesById = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TvShowEntity::getId, Function.identity()));
+        return ids.stream()
+                .map(entitiesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Nonnull
     @Transactional
-    public Optional<TvShowEntity> update(@Nonnull Integer id, @Nonnull TvShowEntity tvShow) {
+    public Optional<Integer> update(@Nonnull Integer id, @Nonnull TvShowEntity tvShow) {
         log.trace("Updating TV show with ID {}: {}", id, tvShow);
 
-        Optional<TvShowEntity> optionalSavedEntity = Optional.empty();
+        // One conditional UPDATE: the current TV show is never read, unless to tell a conflict from a miss
+        if (repository.update(id, tvShow) > 0) {
+            log.debug("Persisted update to TV show with ID {}: {}", id, tvShow);
+            return Optional.of(id);
+        }
 
-        Optional<TvShowEntity> optionalCurrentEntity = Optional.ofNullable(repository.findOne(id));
-        if (optionalCurrentEntity.isPresent()) {
-            TvShowEntity entity = optionalCurrentEntity.get();
-            entity.setTitle(tvShow.getTitle());
-            entity.setDateAired(tvShow.getDateAired());
-            entity.setNetwork(tvShow.getNetwork());
-            entity.setRating(tvShow.getRating());
-            entity.setPlotSummary(tvShow.getPlotSummary());
-            entity.setSeries(tvShow.isSeries());
+        if (tvShow.getVersion() != null && repository.exists(id)) {
+            throw new OptimisticLockingFailureException(
+                    "TV show with ID " + id + " was updated after version " + tvShow.getVersion());
+        }
 
-            optionalSavedEntity = Optional.ofNullable(repository.save(entity));
+        log.debug("No TV show exists with ID {}. Nothing to update", id);
+        return Optional.empty();
+    }
 
-            optionalSavedEntity.ifPresent((e) -> log.debug("Persisted update to TV show with ID {}: {}", id, e));
+    @Override
+    @Nonnull
+    @Transactional
+    public Optional<Integer> patch(@Nonnull Integer id, Integer version, @Nonnull Map<String, Object> changes) {
+        log.trace("Patching TV show with ID {}: {}", id, changes);
+
+        if (changes.isEmpty()) {
+            // Nothing is written, so the version is not incremented, but the expected version is still checked
+            log.debug("Nothing to patch on TV show with ID {}", id);
+            if (version == null ? repository.exists(id) : repository.existsByIdAndVersion(id, version)) {
+                return Optional.of(id);
+            }
         } else {
-            log.debug("No TV show exists with ID {}. Nothing to update", id);
+            // Only the changed columns are written, again without reading the current TV show
+            if (repository.patch(id, version, changes) > 0) {
+                log.debug("Persisted patch to TV show with ID {}: {}", id, changes.keySet());
+                return Optional.of(id);
+            }
+        }
+
+        if (version != null && repository.exists(id)) {
+            throw new OptimisticLockingFailureException(
+                    "TV show with ID " + id + " was updated after version " + version);
         }
 
-        return optionalSavedEntity;
+        log.debug("No TV show exists with ID {}. Nothing to patch", id);
+        return Optional.empty();
     }
 
     @Override
@@ -154,10 +273,16 @@ public class TvShowServiceImpl implements TvShowService {
     public Collection<Integer> deleteAllWithIds(@Nonnull Collection<Integer> ids) {
         log.trace("Deleting all TV shows by IDs: {}", ids);
 
-        Collection<TvShowEntity> entities = repository.findAllById(ids);
-        repository.deleteInBatch(entities);
+        // Only the IDs are read, never the entities, in batches small enough for one statement
+        Set<Integer> deletedEntityIds = new HashSet<>();
+        for (List<Integer> batch : Batches.partition(ids, Batches.MAX_IDS_PER_STATEMENT)) {
+            List<Integer> existingIds = repository.findIdsByIdIn(batch);
+            if (!existingIds.isEmpty()) {
+                repository.deleteAllByIdIn(existingIds);
+                deletedEntityIds.addAll(existingIds);
+            }
+        }
 
-        Collection<Integer> deletedEntityIds = entities.stream().map(TvShowEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted {} TV shows with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
@@ -175,10 +300,9 @@ public class TvShowServiceImpl implements TvShowService {
     public Collection<Integer> deleteAll() {
         log.trace("Deleting all TV shows");
 
-        List<TvShowEntity> entities = repository.findAll();
-        repository.deleteInBatch(entities);
+        Set<Integer> deletedEntityIds = new HashSet<>(repository.findAllIds());
+        repository.deleteAllInBatch();
 
-        Set<Integer> deletedEntityIds = entities.stream().map(TvShowEntity::getId).collect(Collectors.toSet());
         if (log.isDebugEnabled()) {
             if (deletedEntityIds.size() <= 25) {
                 log.debug("Deleted all {} TV shows with IDs: {}", deletedEntityIds.size(), deletedEntityIds);
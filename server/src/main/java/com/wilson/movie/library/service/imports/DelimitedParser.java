@@ -0,0 +1,164 @@
+package com.wilson.movie.library.service.imports;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the records of a CSV or TSV file one at a time, so that only the current record is held in
+ * memory however large the file is.
+ * <p>
+ * Records end with {@code \n} or {@code \r\n}, and blank lines are skipped. Quoted fields, when the
+ * format allows them, may hold delimiters and line breaks, and escape a quote by doubling it.
+ *
+ * @author Zach Wilson
+ */
+public final class DelimitedParser implements Closeable {
+
+    /**
+     * Longest field accepted, in characters. Longer fields are rejected rather than buffered.
+     */
+    public static final int MAX_FIELD_LENGTH = 65_536;
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final boolean quoted;
+
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+
+    private long line = 1;
+    private long recordLine;
+
+    public DelimitedParser(@Nonnull Reader reader, @Nonnull ImportFormat format) {
+        this.reader = reader;
+        this.delimiter = format.getDelimiter();
+        this.quoted = format.isQuoted();
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or {@code null} at the end of the file.
+     * @throws IllegalArgumentException if the record is malformed, e.g., has an unterminated quote.
+     * @throws IOException if the file cannot be read.
+     */
+    public String[] next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            skipLineBreak(c);
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        recordLine = line;
+        fields.clear();
+        while (true) {
+            c = quoted && c == '"' ? readQuotedField() : readField(c);
+            fields.add(field.toString());
+            if (c == delimiter) {
+                c = read();
+                continue;
+            }
+            if (c != EOF) {
+                skipLineBreak(c);
+            }
+            return fields.toArray(new String[fields.size()]);
+        }
+    }
+
+    /**
+     * @return the line on which the last record read starts, counting from 1.
+     */
+    public long getLineNumber() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads an unquoted field, starting with the given character.
+     *
+     * @return the character that ended the field.
+     */
+    private int readField(int c) throws IOException {
+        field.setLength(0);
+        while (c != delimiter && c != '\r' && c != '\n' && c != EOF) {
+            append(c);
+            c = read();
+        }
+        return c;
+    }
+
+    /**
+     * Reads a quoted field, whose opening quote has been read.
+     *
+     * @return the character that ended the field.
+     */
+    private int readQuotedField() throws IOException {
+        field.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                throw new IllegalArgumentException("Unterminated quoted field on line " + recordLine);
+            }
+            if (c == '"') {
+                c = read();
+                if (c != '"') {
+                    if (c != delimiter && c != '\r' && c != '\n' && c != EOF) {
+                        throw new IllegalArgumentException("Unexpected character after quoted field on line " + line);
+                    }
+                    return c;
+                }
+            } else if (c == '\n') {
+                line++;
+            }
+            append(c);
+        }
+    }
+
+    /**
+     * Skips a line break, whose first character has been read.
+     */
+    private void skipLineBreak(int c) throws IOException {
+        line++;
+        if (c == '\r' && read() != '\n' && limit > 0) {
+            // Not a CRLF: the character read belongs to the next record
+            position--;
+        }
+    }
+
+    private void append(int c) {
+        if (field.length() == MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Field longer than " + MAX_FIELD_LENGTH + " characters on line " + line);
+        }
+        field.append((char) c);
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position++];
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.wilson.movie.library.service.imports;
+
+import org.springframework.http.MediaType;
+
+import javax.annotation.Nonnull;
+import java.util.Optional;
+
+/**
+ * Formats of the files that can be imported.
+ *
+ * @author Zach Wilson
+ */
+public enum ImportFormat {
+
+    /**
+     * Comma-separated values (RFC 4180): fields may be quoted, to hold commas, quotes or line breaks.
+     */
+    CSV(',', true, ImportFormat.TEXT_CSV_VALUE, ".csv"),
+
+    /**
+     * Tab-separated values (IANA): fields are never quoted and cannot hold tabs or line breaks.
+     */
+    TSV('\t', false, ImportFormat.TEXT_TSV_VALUE, ".tsv");
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String TEXT_TSV_VALUE = "text/tab-separated-values";
+
+    private final char delimiter;
+    private final boolean quoted;
+    private final MediaType mediaType;
+    private final String extension;
+
+    ImportFormat(char delimiter, boolean quoted, String mediaType, String extension) {
+        this.delimiter = delimiter;
+        this.quoted = quoted;
+        this.mediaType = MediaType.valueOf(mediaType);
+        this.extension = extension;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public boolean isQuoted() {
+        return quoted;
+    }
+
+    /**
+     * @param mediaType the content type of an upload.
+     * @return the format of the content type, if it is one.
+     */
+    @Nonnull
+    public static Optional<ImportFormat> of(@Nonnull MediaType mediaType) {
+        for (ImportFormat format : values()) {
+            if (format.mediaType.includes(mediaType)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param fileName the name of a local file.
+     * @return the format matching the extension of the file, if there is one.
+     */
+    @Nonnull
+    public static Optional<ImportFormat> ofFileName(@Nonnull String fileName) {
+        for (ImportFormat format : values()) {
+            if (fileName.toLowerCase().endsWith(format.extension)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+}
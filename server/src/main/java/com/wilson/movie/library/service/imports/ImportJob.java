@@ -0,0 +1,173 @@
+package com.wilson.movie.library.service.imports;
+
+import lombok.Value;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one import. Updated by the threads running the import while being read by requests
+ * for its status.
+ *
+ * @author Zach Wilson
+ */
+public final class ImportJob {
+
+    /**
+     * Most errors kept per import; later errors are only counted.
+     */
+    public static final int MAX_ERRORS = 100;
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    /**
+     * Rejection of a record, or of a range of records that could not be persisted together.
+     */
+    @Value
+    public static class Error {
+
+        private final long line;
+        private final String message;
+
+    }
+
+    private final int id;
+    private final ImportKind kind;
+    private final ImportFormat format;
+    private final Instant createdAt = Instant.now();
+
+    private volatile State state = State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final List<Error> errors = new ArrayList<>();
+
+    public ImportJob(int id, @Nonnull ImportKind kind, @Nonnull ImportFormat format) {
+        this.id = id;
+        this.kind = kind;
+        this.format = format;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Nonnull
+    public ImportKind getKind() {
+        return kind;
+    }
+
+    @Nonnull
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    @Nonnull
+    public State getState() {
+        return state;
+    }
+
+    @Nonnull
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @Nonnull
+    public Optional<Instant> getStartedAt() {
+        return Optional.ofNullable(startedAt);
+    }
+
+    @Nonnull
+    public Optional<Instant> getFinishedAt() {
+        return Optional.ofNullable(finishedAt);
+    }
+
+    /**
+     * @return why the import stopped before the end of the file, if it did.
+     */
+    @Nonnull
+    public Optional<String> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getRowsImported() {
+        return rowsImported.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    /**
+     * @return the first {@link #MAX_ERRORS} errors, in the order they occurred.
+     */
+    @Nonnull
+    public List<Error> getErrors() {
+        synchronized (errors) {
+            return Collections.unmodifiableList(new ArrayList<>(errors));
+        }
+    }
+
+    /**
+     * @return the rows imported per second since the import started, or zero if it has not.
+     */
+    public long getRowsPerSecond() {
+        Instant started = startedAt;
+        if (started == null) {
+            return 0;
+        }
+        Instant finished = finishedAt;
+        long millis = Duration.between(started, finished != null ? finished : Instant.now()).toMillis();
+        return millis == 0 ? 0 : rowsImported.get() * 1000 / millis;
+    }
+
+    public void started() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    public void succeeded() {
+        finishedAt = Instant.now();
+        state = State.SUCCEEDED;
+    }
+
+    public void failed(@Nonnull String failure) {
+        this.failure = failure;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void rowsImported(int count) {
+        rowsImported.addAndGet(count);
+    }
+
+    public void rowsRejected(int count, long line, @Nonnull String message) {
+        rowsRejected.addAndGet(count);
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new Error(line, message));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.wilson.movie.library.service.imports;
+
+import javax.annotation.Nonnull;
+import java.util.Optional;
+
+/**
+ * Kinds of entities that can be imported.
+ *
+ * @author Zach Wilson
+ */
+public enum ImportKind {
+
+    MOVIES("movies"),
+    TV_SHOWS("tv-shows"),
+    PERSONS("persons");
+
+    private final String path;
+
+    ImportKind(String path) {
+        this.path = path;
+    }
+
+    /**
+     * @return the name of the kind in resource paths, e.g., {@code tv-shows}.
+     */
+    @Nonnull
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @param path the name of a kind in resource paths.
+     * @return the kind with the name, if there is one.
+     */
+    @Nonnull
+    public static Optional<ImportKind> ofPath(@Nonnull String path) {
+        for (ImportKind kind : values()) {
+            if (kind.path.equals(path)) {
+                return Optional.of(kind);
+            }
+        }
+        return Optional.empty();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.wilson.movie.library.service.imports;
+
+import com.wilson.movie.library.domain.GenreEntity;
+import com.wilson.movie.library.domain.LanguageEntity;
+import com.wilson.movie.library.domain.RatingEntity;
+import com.wilson.movie.library.service.GenreService;
+import com.wilson.movie.library.service.LanguageService;
+import com.wilson.movie.library.service.RatingService;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Dictionary of the ratings, genres and languages named in an imported file or a bulk request. Each
+ * distinct name is resolved only once per import or request, however many rows use it.
+ * <p>
+ * Not thread-safe: a dictionary belongs to the thread reading the file or the request.
+ *
+ * @author Zach Wilson
+ */
+public final class Lookups {
+
+    private final RatingService ratingService;
+    private final GenreService genreService;
+    private final LanguageService languageService;
+
+    private final Map<String, Optional<RatingEntity>> ratings = new HashMap<>();
+    private final Map<String, Optional<GenreEntity>> genres = new HashMap<>();
+    private final Map<String, Optional<LanguageEntity>> languages = new HashMap<>();
+
+    public Lookups(@Nonnull RatingService ratingService, @Nonnull GenreService genreService,
+            @Nonnull LanguageService languageService) {
+        this.ratingService = ratingService;
+        this.genreService = genreService;
+        this.languageService = languageService;
+    }
+
+    @Nonnull
+    public Optional<RatingEntity> rating(@Nonnull String name) {
+        return ratings.computeIfAbsent(name, ratingService::getByName);
+    }
+
+    @Nonnull
+    public Optional<GenreEntity> genre(@Nonnull String name) {
+        return genres.computeIfAbsent(name, genreService::getByName);
+    }
+
+    @Nonnull
+    public Optional<LanguageEntity> language(@Nonnull String name) {
+        return languages.computeIfAbsent(name, languageService::getByName);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.wilson.movie.library.service.imports;
+
+import com.wilson.movie.library.domain.MovieEntity;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Maps imported records to {@link MovieEntity}.
+ *
+ * @author Zach Wilson
+ */
+public final class MovieRowMapper extends RowMapper<MovieEntity> {
+
+    private final Lookups lookups;
+
+    public MovieRowMapper(@Nonnull String[] header, @Nonnull Lookups lookups) {
+        super(header,
+                columns("title", "releaseDate", "studio", "rating", "genre", "language"),
+                columns("plotSummary", "notes"));
+        this.lookups = lookups;
+    }
+
+    @Nonnull
+    @Override
+    protected MovieEntity toEntity(@Nonnull String[] row) {
+        return new MovieEntity(requiredText(row, "title", 255),
+                requiredDate(row, "releaseDate"),
+                requiredText(row, "studio", 100),
+                requiredReference(row, "rating", lookups::rating),
+                requiredReference(row, "genre", lookups::genre),
+                requiredReference(row, "language", lookups::language),
+                text(row, "plotSummary", 1024).orElse(null),
+                text(row, "notes", 4096).orElse(null));
+    }
+
+}
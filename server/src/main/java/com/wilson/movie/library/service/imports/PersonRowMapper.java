@@ -0,0 +1,30 @@
+package com.wilson.movie.library.service.imports;
+
+import com.wilson.movie.library.domain.PersonEntity;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Maps imported records to {@link PersonEntity}.
+ *
+ * @author Zach Wilson
+ */
+public final class PersonRowMapper extends RowMapper<PersonEntity> {
+
+    public PersonRowMapper(@Nonnull String[] header) {
+        super(header,
+                columns("firstName", "lastName", "dateOfBirth"),
+                columns("middleName", "dateOfDeath"));
+    }
+
+    @Nonnull
+    @Override
+    protected PersonEntity toEntity(@Nonnull String[] row) {
+        return new PersonEntity(requiredText(row, "firstName", 100),
+                text(row, "middleName", 100).orElse(null),
+                requiredText(row, "lastName", 100),
+                requiredDate(row, "dateOfBirth"),
+                date(row, "dateOfDeath").orElse(null));
+    }
+
+}
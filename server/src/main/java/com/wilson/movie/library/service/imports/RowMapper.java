@@ -0,0 +1,169 @@
+package com.wilson.movie.library.service.imports;
+
+import javax.annotation.Nonnull;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Maps the records of an imported file to entities. Columns are matched to the header of the file
+ * by the names of the JSON properties of the resource, ignoring case, and empty fields are missing
+ * values.
+ *
+ * @author Zach Wilson
+ */
+public abstract class RowMapper<E> {
+
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final int width;
+
+    /**
+     * @param header the first record of the file.
+     * @param required the columns that must be in the file.
+     * @param optional the columns that may be in the file.
+     * @throws IllegalArgumentException if a required column is missing, or a column is unknown or
+     *         repeated.
+     */
+    protected RowMapper(@Nonnull String[] header, @Nonnull List<String> required, @Nonnull List<String> optional) {
+        this.width = header.length;
+
+        Map<String, String> known = new HashMap<>();
+        for (String column : required) {
+            known.put(column.toLowerCase(), column);
+        }
+        for (String column : optional) {
+            known.put(column.toLowerCase(), column);
+        }
+
+        for (int i = 0; i < header.length; i++) {
+            String column = known.get(header[i].trim().toLowerCase());
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown column: " + header[i]);
+            }
+            if (columns.put(column, i) != null) {
+                throw new IllegalArgumentException("Repeated column: " + header[i]);
+            }
+        }
+        for (String column : required) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("Missing column: " + column);
+            }
+        }
+    }
+
+    /**
+     * Maps a record to an entity.
+     *
+     * @param row the fields of the record.
+     * @return the entity, without an ID.
+     * @throws IllegalArgumentException if the record is invalid.
+     */
+    @Nonnull
+    public final E map(@Nonnull String[] row) {
+        if (row.length != width) {
+            throw new IllegalArgumentException("Expected " + width + " fields but found " + row.length);
+        }
+        return toEntity(row);
+    }
+
+    /**
+     * Maps a record with one field per column to an entity.
+     */
+    @Nonnull
+    protected abstract E toEntity(@Nonnull String[] row);
+
+    /**
+     * @return the text in the given column, if there is any.
+     * @throws IllegalArgumentException if the text is longer than {@code maxLength}.
+     */
+    @Nonnull
+    protected Optional<String> text(@Nonnull String[] row, @Nonnull String column, int maxLength) {
+        Optional<String> text = field(row, column);
+        if (text.isPresent() && text.get().length() > maxLength) {
+            throw new IllegalArgumentException("Value of " + column + " is longer than " + maxLength + " characters");
+        }
+        return text;
+    }
+
+    /**
+     * @return the text in the given column.
+     * @throws IllegalArgumentException if there is none, or it is longer than {@code maxLength}.
+     */
+    @Nonnull
+    protected String requiredText(@Nonnull String[] row, @Nonnull String column, int maxLength) {
+        return required(text(row, column, maxLength), column);
+    }
+
+    /**
+     * @return the ISO date in the given column, if there is one.
+     * @throws IllegalArgumentException if the column does not hold an ISO date.
+     */
+    @Nonnull
+    protected Optional<LocalDate> date(@Nonnull String[] row, @Nonnull String column) {
+        Optional<String> text = field(row, column);
+        try {
+            return text.map(LocalDate::parse);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Value of " + column + " is not an ISO date: " + text.get());
+        }
+    }
+
+    /**
+     * @return the ISO date in the given column.
+     * @throws IllegalArgumentException if there is none, or the column does not hold an ISO date.
+     */
+    @Nonnull
+    protected LocalDate requiredDate(@Nonnull String[] row, @Nonnull String column) {
+        return required(date(row, column), column);
+    }
+
+    /**
+     * @return the boolean, {@code true} or {@code false}, in the given column.
+     * @throws IllegalArgumentException if there is none, or the column holds something else.
+     */
+    protected boolean requiredBoolean(@Nonnull String[] row, @Nonnull String column) {
+        String text = required(field(row, column), column);
+        if (text.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (text.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Value of " + column + " is not a boolean: " + text);
+    }
+
+    /**
+     * @param lookup resolves names to entities, e.g., {@link Lookups#rating(String)}.
+     * @return the entity named in the given column.
+     * @throws IllegalArgumentException if there is no name, or no entity has the name.
+     */
+    @Nonnull
+    protected <T> T requiredReference(@Nonnull String[] row, @Nonnull String column,
+            @Nonnull Function<String, Optional<T>> lookup) {
+        String name = required(field(row, column), column);
+        return lookup.apply(name)
+                .orElseThrow(() -> new IllegalArgumentException("Value of " + column + " does not exist: " + name));
+    }
+
+    private Optional<String> field(String[] row, String column) {
+        Integer index = columns.get(column);
+        if (index == null || row[index].isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(row[index]);
+    }
+
+    private static <T> T required(Optional<T> value, String column) {
+        return value.orElseThrow(() -> new IllegalArgumentException("Missing value of " + column));
+    }
+
+    static List<String> columns(String... columns) {
+        return Arrays.asList(columns);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.wilson.movie.library.service.imports;
+
+import com.wilson.movie.library.domain.TvShowEntity;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Maps imported records to {@link TvShowEntity}.
+ *
+ * @author Zach Wilson
+ */
+public final class TvShowRowMapper extends RowMapper<TvShowEntity> {
+
+    private final Lookups lookups;
+
+    public TvShowRowMapper(@Nonnull String[] header, @Nonnull Lookups lookups) {
+        super(header,
+                columns("title", "dateAired", "network", "rating", "genre", "language", "plotSummary", "series"),
+                columns());
+        this.lookups = lookups;
+    }
+
+    @Nonnull
+    @Override
+    protected TvShowEntity toEntity(@Nonnull String[] row) {
+        return new TvShowEntity(requiredText(row, "title", 100),
+                requiredDate(row, "dateAired"),
+                requiredText(row, "network", 100),
+                requiredReference(row, "rating", lookups::rating),
+                requiredReference(row, "genre", lookups::genre),
+                requiredReference(row, "language", lookups::language),
+                requiredText(row, "plotSummary", 4096),
+                requiredBoolean(row, "series"));
+    }
+
+}
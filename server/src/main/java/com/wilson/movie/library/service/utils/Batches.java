@@ -0,0 +1,56 @@
+package com.wilson.movie.library.service.utils;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits large collections into batches that fit within a single SQL statement.
+ *
+ * @author Zach Wilson
+ */
+public final class Batches {
+
+    /**
+     * Largest number of IDs bound to a single {@code IN (...)} predicate.
+     */
+    public static final int MAX_IDS_PER_STATEMENT = 1_000;
+
+    /**
+     * No instances of this class should be constructed: all methods intended for external use are
+     * <i>static</i>.
+     */
+    private Batches() {
+    }
+
+    /**
+     * Splits the given values, in iteration order, into consecutive batches of at most
+     * {@code batchSize} values.
+     *
+     * @param values the values to split.
+     * @param batchSize the maximum number of values per batch. Must be positive.
+     * @return the batches; empty if {@code values} is empty.
+     */
+    @Nonnull
+    public static <T> List<List<T>> partition(@Nonnull Collection<T> values, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        List<List<T>> batches = new ArrayList<>((values.size() + batchSize - 1) / batchSize);
+        List<T> batch = new ArrayList<>(Math.min(values.size(), batchSize));
+        for (T value : values) {
+            batch.add(value);
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.wilson.movie.library.service.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fetches large sets of entities by ID.
+ * <p>
+ * The distinct IDs are sorted and split into batches of {@link Batches#MAX_IDS_PER_STATEMENT},
+ * which are queried concurrently on a small, fixed pool of threads. Each batch runs in a read-only
+ * transaction of its own, so it borrows one connection to the replica for one statement, and reads
+ * its own snapshot: a multi-get is not consistent across batches. Callers must not hold a
+ * transaction around it, which would only pin one more connection while the batches run. The pool
+ * is kept well below the size of the connection pool, so a multi-get cannot starve other requests
+ * of connections.
+ *
+ * @author Zach Wilson
+ */
+@Component
+@Slf4j
+public class MultiGets {
+
+    private final ExecutorService executor;
+    private final TransactionTemplate transaction;
+
+    @Autowired
+    public MultiGets(@Value("${movie-library.multi-get.parallelism:4}") int parallelism,
+            PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, (runnable) -> {
+            Thread thread = new Thread(runnable, "multi-get-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Fetches the entities with the given IDs.
+     *
+     * @param ids the IDs, possibly with duplicates.
+     * @param finder finds the entities with the IDs of one batch.
+     * @param idOf gets the ID of an entity.
+     * @return the entities in the order of {@code ids}, once per occurrence of their ID; IDs that
+     *         match no entity are skipped.
+     */
+    @Nonnull
+    public <T> List<T> getAll(@Nonnull int[] ids, @Nonnull Function<List<Integer>, Collection<T>> finder,
+            @Nonnull ToIntFunction<T> idOf) {
+        if (ids.length == 0) {
+            return Collections.emptyList();
+        }
+
+        // Sorted batches keep each IN list within a narrow range of the primary key
+        List<CompletableFuture<Collection<T>>> futures = new ArrayList<>();
+        int[] distinctIds = distinctSorted(ids);
+        for (int from = 0; from < distinctIds.length; from += Batches.MAX_IDS_PER_STATEMENT) {
+            List<Integer> batch = boxed(distinctIds, from,
+                    Math.min(from + Batches.MAX_IDS_PER_STATEMENT, distinctIds.length));
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> transaction.execute((status) -> finder.apply(batch)), executor));
+        }
+
+        Map<Integer, T> entitiesById = new HashMap<>(distinctIds.length * 4 / 3 + 1);
+        for (CompletableFuture<Collection<T>> future : futures) {
+            for (T entity : join(future)) {
+                entitiesById.put(idOf.applyAsInt(entity), entity);
+            }
+        }
+        log.debug("Fetched {} of {} distinct IDs in {} batches", entitiesById.size(), distinctIds.length,
+                futures.size());
+
+        List<T> entities = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            T entity = entitiesById.get(id);
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static int[] distinctSorted(int[] ids) {
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    private static List<Integer> boxed(int[] ids, int from, int to) {
+        List<Integer> boxed = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            boxed.add(ids[i]);
+        }
+        return boxed;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow the finder's own exception, e.g., a DataAccessException
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package db.migration;
+
+import com.wilson.movie.library.domain.NameKeys;
+import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Adds the name words of the persons that existed before PERSON_NAME_WORD was created. The words
+ * are split from the name keys in Java, the same way the repository splits them when a person is
+ * written, which portable SQL cannot do.
+ *
+ * @author Zach Wilson
+ */
+public class V5__Add_existing_person_name_words implements JdbcMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Connection connection) throws Exception {
+        try (Statement select = connection.createStatement();
+             ResultSet persons = select.executeQuery(
+                     "SELECT ID, FIRST_NAME_KEY, MIDDLE_NAME_KEY, LAST_NAME_KEY FROM PERSON");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO PERSON_NAME_WORD (WORD, PERSON_ID) VALUES (?, ?)")) {
+            int batched = 0;
+            while (persons.next()) {
+                int id = persons.getInt(1);
+                for (String word : NameKeys.wordsOf(persons.getString(2), persons.getString(3),
+                                                    persons.getString(4))) {
+                    insert.setString(1, word);
+                    insert.setInt(2, id);
+                    insert.addBatch();
+                    if (++batched % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+-- Full-text indexes of the movie and TV show searches, which H2 does not support.
+
+ALTER TABLE MOVIE ADD FULLTEXT INDEX MOVIE_TITLE_PLOT_SUMMARY_FT (TITLE, PLOT_SUMMARY);
+ALTER TABLE TV_SHOW ADD FULLTEXT INDEX TV_SHOW_TITLE_PLOT_SUMMARY_FT (TITLE, PLOT_SUMMARY);
@@ -0,0 +1,106 @@
+-- Tables of the movie library, as previously generated by Hibernate from the mappings.
+-- Portable to H2, which the repository tests run the migrations of db/migration against.
+
+CREATE TABLE RATING
+(
+    ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
+    NAME                   VARCHAR(100)     NOT NULL,
+    DESCRIPTION            VARCHAR(200),
+    PRIMARY KEY (ID),
+    CONSTRAINT RATING_NAME_UK UNIQUE (NAME)
+);
+
+CREATE TABLE GENRE
+(
+    ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
+    NAME                   VARCHAR(100)     NOT NULL,
+    DESCRIPTION            VARCHAR(200),
+    PRIMARY KEY (ID),
+    CONSTRAINT GENRE_NAME_UK UNIQUE (NAME)
+);
+
+CREATE TABLE LANGUAGE
+(
+    ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
+    NAME                   VARCHAR(100)     NOT NULL,
+    DESCRIPTION            VARCHAR(200),
+    PRIMARY KEY (ID),
+    CONSTRAINT LANGUAGE_NAME_UK UNIQUE (NAME)
+);
+
+CREATE TABLE TV_SHOW
+(
+    ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
+    TITLE                  VARCHAR(100)     NOT NULL,
+    DATE_AIRED             DATE             NOT NULL,
+    NETWORK                VARCHAR(100)     NOT NULL,
+    RATING_ID              INTEGER          NOT NULL,
+    GENRE_ID               INTEGER          NOT NULL,
+    LANGUAGE_ID            INTEGER          NOT NULL,
+    PLOT_SUMMARY           VARCHAR(4096)    NOT NULL,
+    IS_SERIES              BOOLEAN          NOT NULL,
+    PRIMARY KEY (ID),
+    CONSTRAINT TVSHOW_RATINGID_FK FOREIGN KEY (RATING_ID) REFERENCES RATING (ID),
+    CONSTRAINT TVSHOW_GENREID_FK FOREIGN KEY (GENRE_ID) REFERENCES GENRE (ID),
+    CONSTRAINT TVSHOW_LANGID_FK FOREIGN KEY (LANGUAGE_ID) REFERENCES LANGUAGE (ID)
+);
+CREATE INDEX TV_SHOW_DATE_AIRED_IDX ON TV_SHOW (DATE_AIRED);
+
+CREATE TABLE MOVIE
+(
+    ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
+    TITLE                  VARCHAR(255)     NOT NULL,
+    RELEASE_DATE           DATE             NOT NULL,
+    STUDIO                 VARCHAR(100)     NOT NULL,
+    RATING_ID              INTEGER          NOT NULL,
+    GENRE_ID               INTEGER          NOT NULL,
+    LANGUAGE_ID            INTEGER          NOT NULL,
+    PLOT_SUMMARY           VARCHAR(1024),
+    NOTES                  VARCHAR(4096),
+    PRIMARY KEY (ID),
+    CONSTRAINT MOVIE_RATINGID_FK FOREIGN KEY (RATING_ID) REFERENCES RATING (ID),
+    CONSTRAINT MOVIE_GENREID_FK FOREIGN KEY (GENRE_ID) REFERENCES GENRE (ID),
+    CONSTRAINT MOVIE_LANGID_FK FOREIGN KEY (LANGUAGE_ID) REFERENCES LANGUAGE (ID)
+);
+CREATE INDEX MOVIE_RELEASE_DATE_IDX ON MOVIE (RELEASE_DATE);
+
+CREATE TABLE PERSON
+(
+    ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
+    FIRST_NAME             VARCHAR(100)     NOT NULL,
+    MIDDLE_NAME            VARCHAR(100),
+    LAST_NAME              VARCHAR(100)     NOT NULL,
+    FIRST_NAME_KEY         VARCHAR(100)     NOT NULL,
+    MIDDLE_NAME_KEY        VARCHAR(100),
+    LAST_NAME_KEY          VARCHAR(100)     NOT NULL,
+    DATE_OF_BIRTH          DATE             NOT NULL,
+    DATE_OF_DEATH          DATE,
+    PRIMARY KEY (ID)
+);
+CREATE INDEX PERSON_FIRST_NAME_KEY_IDX ON PERSON (FIRST_NAME_KEY);
+CREATE INDEX PERSON_MIDDLE_NAME_KEY_IDX ON PERSON (MIDDLE_NAME_KEY);
+CREATE INDEX PERSON_LAST_NAME_KEY_IDX ON PERSON (LAST_NAME_KEY);
+
+CREATE TABLE CREDIT
+(
+    ID                     INTEGER          NOT NULL AUTO_INCREMENT,
+    VERSION                INTEGER          NOT NULL DEFAULT 0,
+    PERSON_ID              INTEGER          NOT NULL,
+    MOVIE_ID               INTEGER,
+    TV_SHOW_ID             INTEGER,
+    ROLE                   VARCHAR(100)     NOT NULL,
+    BILLING_ORDER          INTEGER          NOT NULL,
+    PRIMARY KEY (ID),
+    CONSTRAINT CREDIT_PERSONID_FK FOREIGN KEY (PERSON_ID) REFERENCES PERSON (ID) ON DELETE CASCADE,
+    CONSTRAINT CREDIT_MOVIEID_FK FOREIGN KEY (MOVIE_ID) REFERENCES MOVIE (ID) ON DELETE CASCADE,
+    CONSTRAINT CREDIT_TVSHOWID_FK FOREIGN KEY (TV_SHOW_ID) REFERENCES TV_SHOW (ID) ON DELETE CASCADE
+);
+CREATE INDEX CREDIT_MOVIE_ID_BILLING_ORDER_IDX ON CREDIT (MOVIE_ID, BILLING_ORDER);
+CREATE INDEX CREDIT_TV_SHOW_ID_BILLING_ORDER_IDX ON CREDIT (TV_SHOW_ID, BILLING_ORDER);
+CREATE INDEX CREDIT_PERSON_ID_IDX ON CREDIT (PERSON_ID);
@@ -0,0 +1,12 @@
+-- Indexes of the columns the repositories find movies, TV shows and persons by, which were
+-- otherwise scanned in full. Titles, studios and networks are matched with LIKE, which can use an
+-- index unless the pattern starts with a wildcard.
+
+CREATE INDEX MOVIE_TITLE_IDX ON MOVIE (TITLE);
+CREATE INDEX MOVIE_STUDIO_IDX ON MOVIE (STUDIO);
+
+CREATE INDEX TV_SHOW_TITLE_IDX ON TV_SHOW (TITLE);
+CREATE INDEX TV_SHOW_NETWORK_IDX ON TV_SHOW (NETWORK);
+
+CREATE INDEX PERSON_DATE_OF_BIRTH_IDX ON PERSON (DATE_OF_BIRTH);
+CREATE INDEX PERSON_DATE_OF_DEATH_IDX ON PERSON (DATE_OF_DEATH);
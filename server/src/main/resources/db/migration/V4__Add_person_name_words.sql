@@ -0,0 +1,12 @@
+-- Keys of the individual words of the names of each person (see NameKeys), so that the person
+-- search can match the start of any word of any name with an index, e.g., "niro" in "de niro".
+-- The words of persons that already exist are added by the V5 Java migration.
+
+CREATE TABLE PERSON_NAME_WORD
+(
+    WORD                   VARCHAR(100)     NOT NULL,
+    PERSON_ID              INTEGER          NOT NULL,
+    PRIMARY KEY (WORD, PERSON_ID),
+    CONSTRAINT PERSON_NAME_WORD_PERSONID_FK FOREIGN KEY (PERSON_ID) REFERENCES PERSON (ID) ON DELETE CASCADE
+);
+CREATE INDEX PERSON_NAME_WORD_PERSON_ID_IDX ON PERSON_NAME_WORD (PERSON_ID);
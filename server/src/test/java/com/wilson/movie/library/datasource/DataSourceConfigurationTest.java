@@ -0,0 +1,38 @@
+package com.wilson.movie.library.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link DataSourceConfiguration}.
+ *
+ * @author Zach Wilson
+ */
+public class DataSourceConfigurationTest {
+
+    /**
+     * Tests {@link DataSourceConfiguration#defaultPoolSize(int)}.
+     */
+    @Test
+    public void testDefaultPoolSize() {
+        assertThat(DataSourceConfiguration.defaultPoolSize(1)).isEqualTo(DataSourceConfiguration.MIN_DEFAULT_POOL_SIZE);
+        assertThat(DataSourceConfiguration.defaultPoolSize(4)).isEqualTo(DataSourceConfiguration.MIN_DEFAULT_POOL_SIZE);
+        assertThat(DataSourceConfiguration.defaultPoolSize(8)).isEqualTo(17);
+        assertThat(DataSourceConfiguration.defaultPoolSize(32)).isEqualTo(65);
+    }
+
+    /**
+     * Tests {@link DataSourceConfiguration#defaultPoolConfig(String)}.
+     */
+    @Test
+    public void testDefaultPoolConfig() {
+        HikariConfig config = DataSourceConfiguration.defaultPoolConfig("replica");
+
+        assertThat(config.getPoolName()).isEqualTo("replica");
+        assertThat(config.getMaximumPoolSize())
+                .isEqualTo(DataSourceConfiguration.defaultPoolSize(Runtime.getRuntime().availableProcessors()));
+    }
+
+}
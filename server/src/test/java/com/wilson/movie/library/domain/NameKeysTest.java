@@ -0,0 +1,60 @@
+package com.wilson.movie.library.domain;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link NameKeys}.
+ *
+ * @author Zach Wilson
+ */
+public class NameKeysTest {
+
+    /**
+     * Tests {@link NameKeys#of(String)}.
+     */
+    @Test
+    public void of() {
+        assertThat(NameKeys.of("Zoë Saldaña")).isEqualTo("zoe saldana");
+        assertThat(NameKeys.of("  O'Brien-Smith ")).isEqualTo("obrien smith");
+        assertThat(NameKeys.of("JOSÉ\tMARÍA")).isEqualTo("jose maria");
+        assertThat(NameKeys.of("!?")).isEmpty();
+        assertThat(NameKeys.of(null)).isNull();
+    }
+
+    /**
+     * Tests {@link NameKeys#of(String)}.
+     */
+    @Test
+    public void of_whereNameIsLong() {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            name.append("a ");
+        }
+
+        String key = NameKeys.of(name.toString());
+
+        assertThat(key).hasSize(NameKeys.MAX_LENGTH - 1).endsWith("a");
+    }
+
+    /**
+     * Tests {@link NameKeys#words(String)}.
+     */
+    @Test
+    public void words() {
+        assertThat(NameKeys.words("Tom  Hän")).containsExactly("tom", "han");
+        assertThat(NameKeys.words(" - ")).isEmpty();
+    }
+
+    /**
+     * Tests {@link NameKeys#wordsOf(String...)}.
+     */
+    @Test
+    public void wordsOf() {
+        assertThat(NameKeys.wordsOf("Robert", null, "De Niro")).containsExactly("robert", "de", "niro");
+        assertThat(NameKeys.wordsOf("Mary Ann", "Ann", "Smith")).containsExactly("mary", "ann", "smith");
+        assertThat(NameKeys.wordsOf((String) null)).isEmpty();
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.wilson.movie.library.metrics;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link MethodMetrics}.
+ *
+ * @author Zach Wilson
+ */
+public class MethodMetricsTest {
+
+    private static final String METHOD = "MovieRepository.findAllByStudio(String)";
+
+    private final MethodMetrics methodMetrics = new MethodMetrics();
+
+    /**
+     * Tests {@link MethodMetrics#snapshot()}.
+     */
+    @Test
+    public void snapshot() {
+        methodMetrics.record(METHOD, TimeUnit.MILLISECONDS.toNanos(1), 10, false);
+        methodMetrics.record(METHOD, TimeUnit.MILLISECONDS.toNanos(2), 5, false);
+        methodMetrics.record(METHOD, TimeUnit.MILLISECONDS.toNanos(3), -1, true);
+
+        Map<String, Object> snapshot = methodMetrics.snapshot();
+
+        assertThat(snapshot).containsOnlyKeys(METHOD);
+        Map<String, Object> method = child(snapshot, METHOD);
+        assertThat(method).containsEntry("count", 3L);
+        assertThat(method).containsEntry("failures", 1L);
+        assertThat(method).containsEntry("rows", 15L);
+        assertThat(child(method, "latencyMillis")).containsKeys("p50", "p90", "p99", "p999", "max");
+    }
+
+    /**
+     * Tests {@link MethodMetrics#snapshot()}.
+     */
+    @Test
+    public void snapshot_whereNoMethodsWereCalled() {
+        assertThat(methodMetrics.snapshot()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> child(Map<String, Object> map, String key) {
+        assertThat(map).containsKey(key);
+        return (Map<String, Object>) map.get(key);
+    }
+
+}
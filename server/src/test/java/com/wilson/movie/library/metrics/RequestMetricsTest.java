@@ -0,0 +1,95 @@
+package com.wilson.movie.library.metrics;
+
+import org.assertj.core.data.Percentage;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link RequestMetrics}.
+ *
+ * @author Zach Wilson
+ */
+public class RequestMetricsTest {
+
+    private static final String ROUTE = "GET /movies/{id}";
+
+    private final RequestMetrics requestMetrics = new RequestMetrics();
+
+    /**
+     * Tests {@link RequestMetrics#snapshot()}.
+     */
+    @Test
+    public void snapshot() {
+        for (int i = 1; i <= 100; i++) {
+            requestMetrics.requestStarted(ROUTE);
+            requestMetrics.requestCompleted(ROUTE, 200, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        requestMetrics.requestStarted(ROUTE);
+        requestMetrics.requestCompleted(ROUTE, 404, TimeUnit.MILLISECONDS.toNanos(1));
+        requestMetrics.requestStarted(ROUTE);
+
+        Map<String, Object> snapshot = requestMetrics.snapshot();
+
+        assertThat(snapshot).containsEntry("inFlight", 1);
+        Map<String, Object> route = child(child(snapshot, "routes"), ROUTE);
+        assertThat(route).containsEntry("inFlight", 1);
+
+        Map<String, Object> ok = child(child(route, "statuses"), "200");
+        assertThat(ok).containsEntry("count", 100L);
+        Map<String, Object> latency = child(ok, "latencyMillis");
+        assertThat((Double) latency.get("p50")).isCloseTo(50.0, withinPercent());
+        assertThat((Double) latency.get("p90")).isCloseTo(90.0, withinPercent());
+        assertThat((Double) latency.get("p99")).isCloseTo(99.0, withinPercent());
+        assertThat((Double) latency.get("max")).isCloseTo(100.0, withinPercent());
+
+        assertThat(child(child(route, "statuses"), "404")).containsEntry("count", 1L);
+    }
+
+    /**
+     * Tests {@link RequestMetrics#snapshot()}.
+     */
+    @Test
+    public void snapshot_whereSnapshotsAreCumulative() {
+        requestMetrics.requestStarted(ROUTE);
+        requestMetrics.requestCompleted(ROUTE, 200, TimeUnit.MILLISECONDS.toNanos(1));
+        requestMetrics.snapshot();
+        requestMetrics.requestStarted(ROUTE);
+        requestMetrics.requestCompleted(ROUTE, 200, TimeUnit.MILLISECONDS.toNanos(1));
+
+        Map<String, Object> snapshot = requestMetrics.snapshot();
+
+        Map<String, Object> route = child(child(snapshot, "routes"), ROUTE);
+        assertThat(child(child(route, "statuses"), "200")).containsEntry("count", 2L);
+        assertThat(snapshot).containsEntry("inFlight", 0);
+    }
+
+    /**
+     * Tests {@link RequestMetrics#requestCompleted(String, int, long)}.
+     */
+    @Test
+    public void requestCompleted_whereLatencyIsNotTrackable() {
+        requestMetrics.requestStarted(ROUTE);
+        requestMetrics.requestCompleted(ROUTE, 200, TimeUnit.HOURS.toNanos(1));
+
+        Map<String, Object> route = child(child(requestMetrics.snapshot(), "routes"), ROUTE);
+        Map<String, Object> latency = child(child(child(route, "statuses"), "200"), "latencyMillis");
+
+        assertThat((Double) latency.get("max"))
+                .isCloseTo(TimeUnit.MICROSECONDS.toMillis(LatencyHistogram.HIGHEST_TRACKABLE_MICROS), withinPercent());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> child(Map<String, Object> map, String key) {
+        assertThat(map).containsKey(key);
+        return (Map<String, Object>) map.get(key);
+    }
+
+    private static Percentage withinPercent() {
+        return Percentage.withPercentage(1.0);
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.*;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link CreditRepository}.
+ * <p>
+ * Every finder must load the credits together with what they are shown with in a single
+ * statement, and credits must be deleted along with their movie, TV show or person.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = {"flyway.locations=classpath:db/migration",
+                                  "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                                  "spring.jpa.properties.hibernate.generate_statistics=true"})
+public class CreditRepositoryTest {
+
+    @Autowired
+    private CreditRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private PersonEntity lead;
+    private PersonEntity director;
+    private MovieEntity olderMovie;
+    private MovieEntity newerMovie;
+    private TvShowEntity tvShow;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        RatingEntity rating = entityManager.persist(new RatingEntity("R"));
+        GenreEntity genre = entityManager.persist(new GenreEntity("Drama"));
+        LanguageEntity language = entityManager.persist(new LanguageEntity("English"));
+        lead = entityManager.persist(new PersonEntity("Keanu", "Reeves", LocalDate.of(1964, 9, 2)));
+        director = entityManager.persist(new PersonEntity("Lana", "Wachowski", LocalDate.of(1965, 6, 21)));
+        newerMovie = entityManager.persist(new MovieEntity("The Matrix Reloaded", LocalDate.of(2003, 5, 15),
+                                                           "Warner Bros.", rating, genre, language));
+        olderMovie = entityManager.persist(new MovieEntity("The Matrix", LocalDate.of(1999, 3, 31),
+                                                           "Warner Bros.", rating, genre, language));
+        tvShow = entityManager.persist(new TvShowEntity("Sense8", LocalDate.of(2015, 6, 5), "Netflix", rating, genre,
+                                                        language, "Plot summary", true));
+
+        entityManager.persist(new CreditEntity(director, olderMovie, null, "Director", 2));
+        entityManager.persist(new CreditEntity(lead, olderMovie, null, "Actor", 1));
+        entityManager.persist(new CreditEntity(lead, newerMovie, null, "Actor", 1));
+        entityManager.persist(new CreditEntity(director, null, tvShow, "Director", 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests {@link CreditRepository#findAllByMovieId(int)}.
+     */
+    @Test
+    public void findAllByMovieId() {
+        List<CreditEntity> credits = repository.findAllByMovieId(olderMovie.getId());
+
+        assertThat(credits).extracting(CreditEntity::getPersonId).containsExactly(lead.getId(), director.getId());
+        assertThat(credits).extracting(CreditEntity::getRole).containsExactly("Actor", "Director");
+        credits.forEach((credit) -> {
+            assertThat(Hibernate.isInitialized(credit.getPerson())).isTrue();
+            assertThat(Hibernate.isInitialized(credit.getMovie())).isFalse();
+        });
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link CreditRepository#findAllByTvShowId(int)}.
+     */
+    @Test
+    public void findAllByTvShowId() {
+        List<CreditEntity> credits = repository.findAllByTvShowId(tvShow.getId());
+
+        assertThat(credits).extracting(CreditEntity::getPersonId).containsExactly(director.getId());
+        assertThat(credits.get(0).getPerson().getLastName()).isEqualTo("Wachowski");
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link CreditRepository#findAllByPersonId(int)}.
+     */
+    @Test
+    public void findAllByPersonId() {
+        List<CreditEntity> credits = repository.findAllByPersonId(director.getId());
+
+        assertThat(credits).extracting(CreditEntity::getMovieId).containsExactly(olderMovie.getId(), null);
+        assertThat(credits).extracting(CreditEntity::getTvShowId).containsExactly(null, tvShow.getId());
+        assertThat(credits.get(0).getMovie().getGenre().getName()).isEqualTo("Drama");
+        assertThat(credits.get(1).getTvShow().getRating().getName()).isEqualTo("R");
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests that deleting a movie deletes its credits.
+     */
+    @Test
+    public void delete_whereMovieIsDeleted() {
+        entityManager.remove(entityManager.find(MovieEntity.class, olderMovie.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(repository.findAllByMovieId(olderMovie.getId())).isEmpty();
+        assertThat(repository.findAllByPersonId(lead.getId())).extracting(CreditEntity::getMovieId)
+                .containsExactly(newerMovie.getId());
+    }
+
+    private void assertSingleStatement() {
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,269 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.FacetCount;
+import com.wilson.movie.library.domain.GenreEntity;
+import com.wilson.movie.library.domain.LanguageEntity;
+import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.MovieView;
+import com.wilson.movie.library.domain.RatingEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link MovieRepository}.
+ * <p>
+ * Every multi-row finder must load movies together with their rating, genre and language in a
+ * single statement, and every update must write in a single statement without reading first.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = {"flyway.locations=classpath:db/migration",
+                                  "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                                  "spring.jpa.properties.hibernate.generate_statistics=true"})
+public class MovieRepositoryTest {
+
+    private static final int MOVIE_COUNT = 5;
+
+    private static final LocalDate RELEASE_DATE = LocalDate.of(1999, 3, 31);
+
+    private static final String STUDIO = "Warner Bros.";
+
+    @Autowired
+    private MovieRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Integer> ids;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        ids = new ArrayList<>();
+        for (int i = 0; i < MOVIE_COUNT; i++) {
+            RatingEntity rating = entityManager.persist(new RatingEntity("Rating " + i));
+            GenreEntity genre = entityManager.persist(new GenreEntity("Genre " + i));
+            LanguageEntity language = entityManager.persist(new LanguageEntity("Language " + i));
+            MovieEntity movie = entityManager.persist(
+                    new MovieEntity("Movie " + i, RELEASE_DATE, STUDIO, rating, genre, language));
+            ids.add(movie.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests {@link MovieRepository#findAll()}.
+     */
+    @Test
+    public void findAll() {
+        List<MovieEntity> movies = repository.findAll();
+
+        assertThat(movies).hasSize(MOVIE_COUNT);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link MovieRepository#findAllById(Collection)}.
+     */
+    @Test
+    public void findAllById() {
+        Collection<MovieEntity> movies = repository.findAllById(ids);
+
+        assertThat(movies).hasSize(MOVIE_COUNT);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link MovieRepository#findAllByReleaseDate(LocalDate)}.
+     */
+    @Test
+    public void findAllByReleaseDate() {
+        Collection<MovieEntity> movies = repository.findAllByReleaseDate(RELEASE_DATE);
+
+        assertThat(movies).hasSize(MOVIE_COUNT);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link MovieRepository#findAllByStudio(String)}.
+     */
+    @Test
+    public void findAllByStudio() {
+        Collection<MovieEntity> movies = repository.findAllByStudio(STUDIO);
+
+        assertThat(movies).hasSize(MOVIE_COUNT);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link MovieRepository#findAllAfter(int, org.springframework.data.domain.Pageable)}.
+     */
+    @Test
+    public void findAllAfter() {
+        List<MovieEntity> movies = repository.findAllAfter(0, new PageRequest(0, MOVIE_COUNT));
+
+        assertThat(movies).extracting(MovieEntity::getId).containsExactlyElementsOf(ids);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link MovieRepository#findViewsAfter(int, org.springframework.data.domain.Pageable)}.
+     */
+    @Test
+    public void findViewsAfter() {
+        List<MovieView> movies = repository.findViewsAfter(0, new PageRequest(0, MOVIE_COUNT));
+
+        assertThat(movies).extracting(MovieView::getId).containsExactlyElementsOf(ids);
+        assertThat(movies.get(0).getTitle()).isEqualTo("Movie 0");
+        assertThat(movies.get(0).getRating()).isEqualTo("Rating 0");
+        assertThat(movies.get(0).getGenre()).isEqualTo("Genre 0");
+        assertThat(movies.get(0).getLanguage()).isEqualTo("Language 0");
+        assertSingleStatement();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * Tests {@link MovieRepository#findViewsByReleaseDateBetween(LocalDate, LocalDate, int,
+     * org.springframework.data.domain.Pageable)}.
+     */
+    @Test
+    public void findViewsByReleaseDateBetween() {
+        List<MovieView> movies = repository.findViewsByReleaseDateBetween(RELEASE_DATE, RELEASE_DATE, ids.get(0),
+                                                                           new PageRequest(0, 2));
+
+        assertThat(movies).extracting(MovieView::getId).containsExactly(ids.get(1), ids.get(2));
+        assertSingleStatement();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * Tests {@link MovieRepository#findViewsByReleaseDateBetween(LocalDate, LocalDate, int,
+     * org.springframework.data.domain.Pageable)} with a range that excludes every movie.
+     */
+    @Test
+    public void findViewsByReleaseDateBetween_whereMoviesAreOutOfRange() {
+        List<MovieView> movies = repository.findViewsByReleaseDateBetween(RELEASE_DATE.plusDays(1),
+                                                                           RELEASE_DATE.plusYears(1), 0,
+                                                                           new PageRequest(0, MOVIE_COUNT));
+
+        assertThat(movies).isEmpty();
+    }
+
+    /**
+     * Tests {@link MovieRepository#countAllByReleaseYear()}.
+     */
+    @Test
+    public void countAllByReleaseYear() {
+        List<Object[]> counts = repository.countAllByReleaseYear();
+
+        assertThat(counts).hasSize(1);
+        assertThat(((Number) counts.get(0)[0]).intValue()).isEqualTo(RELEASE_DATE.getYear());
+        assertThat(((Number) counts.get(0)[1]).longValue()).isEqualTo(MOVIE_COUNT);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link MovieRepository#countByFacet(String, LocalDate, LocalDate, java.util.Map)}.
+     */
+    @Test
+    public void countByFacet() {
+        List<FacetCount> counts = repository.countByFacet(FacetCount.GENRE, RELEASE_DATE, RELEASE_DATE,
+                                                          Collections.singletonMap("studio", STUDIO));
+
+        assertThat(counts).hasSize(MOVIE_COUNT);
+        assertThat(counts).extracting(FacetCount::getCount).containsOnly(1L);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link MovieRepository#countByFacet(String, LocalDate, LocalDate, java.util.Map)} with a
+     * filter that excludes every movie.
+     */
+    @Test
+    public void countByFacet_whereMoviesDoNotMatch() {
+        List<FacetCount> counts = repository.countByFacet(FacetCount.RATING, RELEASE_DATE, RELEASE_DATE,
+                                                          Collections.singletonMap("studio", "Other studio"));
+
+        assertThat(counts).isEmpty();
+    }
+
+    /**
+     * Tests {@link MovieRepository#findByTitle(String)}.
+     */
+    @Test
+    public void findByTitle() {
+        MovieEntity movie = repository.findByTitle("Movie 0");
+
+        assertThat(movie.getId()).isEqualTo(ids.get(0));
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link MovieRepository#patch(int, Integer, java.util.Map)}.
+     */
+    @Test
+    public void patch() {
+        int id = ids.get(0);
+
+        int updatedRows = repository.patch(id, 0, Collections.singletonMap("notes", "Patched notes"));
+
+        assertThat(updatedRows).isEqualTo(1);
+        assertSingleStatement();
+
+        MovieEntity movie = entityManager.find(MovieEntity.class, id);
+        assertThat(movie.getNotes()).isEqualTo("Patched notes");
+        assertThat(movie.getTitle()).isEqualTo("Movie 0");
+        assertThat(movie.getStudio()).isEqualTo(STUDIO);
+        assertThat(movie.getVersion()).isEqualTo(1);
+    }
+
+    /**
+     * Tests {@link MovieRepository#patch(int, Integer, java.util.Map)}.
+     */
+    @Test
+    public void patch_whereVersionIsStale() {
+        int id = ids.get(0);
+        repository.patch(id, 0, Collections.singletonMap("notes", "Patched notes"));
+
+        int updatedRows = repository.patch(id, 0, Collections.singletonMap("title", "Stale"));
+
+        assertThat(updatedRows).isZero();
+        assertThat(entityManager.find(MovieEntity.class, id).getTitle()).isEqualTo("Movie 0");
+    }
+
+    /**
+     * Asserts that the method under test issued exactly one statement.
+     */
+    private void assertSingleStatement() {
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.GenreEntity;
+import com.wilson.movie.library.domain.LanguageEntity;
+import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.RatingEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link PartialUpdates} with the second-level cache enabled.
+ * <p>
+ * Every test commits, so that the cache sees the transactions complete, and deletes what it
+ * created afterwards.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "flyway.locations=classpath:db/migration")
+public class PartialUpdatesTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    private int updatedId;
+
+    private int otherId;
+
+    @Before
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.execute((status) -> {
+            RatingEntity rating = new RatingEntity("PG");
+            GenreEntity genre = new GenreEntity("Comedy");
+            LanguageEntity language = new LanguageEntity("English");
+            entityManager.persist(rating);
+            entityManager.persist(genre);
+            entityManager.persist(language);
+            MovieEntity updated = new MovieEntity("Updated", LocalDate.of(1999, 3, 31), "Studio", rating, genre,
+                    language);
+            MovieEntity other = new MovieEntity("Other", LocalDate.of(1999, 3, 31), "Studio", rating, genre,
+                    language);
+            entityManager.persist(updated);
+            entityManager.persist(other);
+            updatedId = updated.getId();
+            otherId = other.getId();
+            return null;
+        });
+
+        // Loads both movies into the cache
+        entityManagerFactory.getCache().evictAll();
+        transaction.execute((status) -> {
+            entityManager.find(MovieEntity.class, updatedId);
+            entityManager.find(MovieEntity.class, otherId);
+            return null;
+        });
+    }
+
+    @After
+    public void tearDown() {
+        transaction.execute((status) -> {
+            entityManager.createQuery("DELETE FROM Movie").executeUpdate();
+            entityManager.createQuery("DELETE FROM Rating").executeUpdate();
+            entityManager.createQuery("DELETE FROM Genre").executeUpdate();
+            entityManager.createQuery("DELETE FROM Language").executeUpdate();
+            return null;
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    /**
+     * Tests {@link PartialUpdates#update(EntityManager, Class, int, Integer, java.util.Map)}.
+     */
+    @Test
+    public void update() {
+        assertThat(entityManagerFactory.getCache().contains(MovieEntity.class, otherId)).isTrue();
+
+        int updatedRows = transaction.execute((status) -> PartialUpdates.update(entityManager, MovieEntity.class,
+                updatedId, 0, Collections.singletonMap("title", "Renamed")));
+
+        assertThat(updatedRows).isEqualTo(1);
+        assertThat(entityManagerFactory.getCache().contains(MovieEntity.class, otherId)).isTrue();
+        MovieEntity updated = transaction.execute((status) -> entityManager.find(MovieEntity.class, updatedId));
+        assertThat(updated.getTitle()).isEqualTo("Renamed");
+        assertThat(updated.getVersion()).isEqualTo(1);
+    }
+
+    /**
+     * Tests {@link PartialUpdates#update(EntityManager, Class, int, Integer, java.util.Map)}.
+     */
+    @Test
+    public void update_whereVersionIsStale() {
+        int updatedRows = transaction.execute((status) -> PartialUpdates.update(entityManager, MovieEntity.class,
+                updatedId, 1, Collections.singletonMap("title", "Stale")));
+
+        assertThat(updatedRows).isZero();
+        MovieEntity updated = transaction.execute((status) -> entityManager.find(MovieEntity.class, updatedId));
+        assertThat(updated.getTitle()).isEqualTo("Updated");
+        assertThat(updated.getVersion()).isEqualTo(0);
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.PersonEntity;
+import com.wilson.movie.library.domain.PersonView;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link PersonRepository}.
+ * <p>
+ * Names are found through their keys, which must be kept in step with the names however a person
+ * is written.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = {"flyway.locations=classpath:db/migration",
+                                  "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                                  "spring.jpa.properties.hibernate.generate_statistics=true"})
+public class PersonRepositoryTest {
+
+    @Autowired
+    private PersonRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private PersonEntity zoe;
+    private PersonEntity zora;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        zoe = entityManager.persist(new PersonEntity("Zoë", null, "Saldaña", LocalDate.of(1978, 6, 19), null));
+        zora = entityManager.persist(new PersonEntity("Zora", "Neale", "Hurston", LocalDate.of(1891, 1, 7),
+                                                      LocalDate.of(1960, 1, 28)));
+        PersonEntity tom = entityManager.persist(new PersonEntity("Tom", "Hanks", LocalDate.of(1956, 7, 9)));
+        entityManager.flush();
+        repository.saveNameWords(Arrays.asList(zoe, zora, tom));
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests {@link PersonRepository#findAllByNameWordPrefixes(List, int)}.
+     */
+    @Test
+    public void findAllByNameWordPrefixes() {
+        List<PersonEntity> persons = repository.findAllByNameWordPrefixes(Collections.singletonList("zo"), 10);
+
+        assertThat(persons).extracting(PersonEntity::getId).containsExactly(zoe.getId(), zora.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(repository.findAllByNameWordPrefixes(Collections.singletonList("salda"), 10))
+                .extracting(PersonEntity::getId).containsExactly(zoe.getId());
+        assertThat(repository.findAllByNameWordPrefixes(Arrays.asList("zo", "neale"), 10))
+                .extracting(PersonEntity::getId).containsExactly(zora.getId());
+        assertThat(repository.findAllByNameWordPrefixes(Arrays.asList("zo", "hanks"), 10)).isEmpty();
+    }
+
+    /**
+     * Tests {@link PersonRepository#findAllByNameWordPrefixes(List, int)}.
+     */
+    @Test
+    public void findAllByNameWordPrefixes_whereNamesHaveSeveralWords() {
+        PersonEntity deNiro = new PersonEntity("Robert", "De Niro", LocalDate.of(1943, 8, 17));
+        PersonEntity maryAnn = new PersonEntity("Mary Ann", "Evans", LocalDate.of(1819, 11, 22));
+        repository.insertAll(Arrays.asList(deNiro, maryAnn));
+
+        assertThat(repository.findAllByNameWordPrefixes(Arrays.asList("de", "niro"), 10))
+                .extracting(PersonEntity::getId).containsExactly(deNiro.getId());
+        assertThat(repository.findAllByNameWordPrefixes(Collections.singletonList("niro"), 10))
+                .extracting(PersonEntity::getId).containsExactly(deNiro.getId());
+        assertThat(repository.findAllByNameWordPrefixes(Arrays.asList("ann", "evans"), 10))
+                .extracting(PersonEntity::getId).containsExactly(maryAnn.getId());
+    }
+
+    /**
+     * Tests {@link PersonRepository#findAllByNameWordPrefixes(List, int)}.
+     */
+    @Test
+    public void findAllByNameWordPrefixes_wherePrefixIsCommon() {
+        // More persons share the first name than a search of 10 reads candidates for
+        List<PersonEntity> toms = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            toms.add(new PersonEntity("Tom", "Adams " + i, LocalDate.of(1950, 1, 1)));
+        }
+        PersonEntity tomHansen = new PersonEntity("Tom", "Hansen", LocalDate.of(1960, 1, 1));
+        toms.add(tomHansen);
+        repository.insertAll(toms);
+
+        assertThat(repository.findAllByNameWordPrefixes(Arrays.asList("tom", "hans"), 40))
+                .extracting(PersonEntity::getId).containsExactly(tomHansen.getId());
+        assertThat(repository.findAllByNameWordPrefixes(Collections.singletonList("tom"), 40))
+                .hasSize(40)
+                .extracting(PersonEntity::getFirstNameKey).containsOnly("tom");
+    }
+
+    /**
+     * Tests {@link PersonRepository#findAllViews()}.
+     */
+    @Test
+    public void findAllViews() {
+        List<PersonView> persons = repository.findAllViews();
+
+        assertThat(persons).hasSize(3);
+        assertThat(persons.get(1)).isEqualTo(new PersonView(zora.getId(), zora.getVersion(), "Zora", "Neale", "Hurston",
+                                                            LocalDate.of(1891, 1, 7), LocalDate.of(1960, 1, 28)));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * Tests {@link PersonRepository#update(int, PersonEntity)}.
+     */
+    @Test
+    public void update() {
+        PersonEntity renamed = new PersonEntity("Zoe", null, "Saldana-Perego", zoe.getDateOfBirth(), null);
+
+        assertThat(repository.update(zoe.getId(), renamed)).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(repository.findAllByLastNameKey("saldana perego"))
+                .extracting(PersonEntity::getId).containsExactly(zoe.getId());
+        assertThat(repository.findAllByNameWordPrefixes(Arrays.asList("zoe", "perego"), 10))
+                .extracting(PersonEntity::getId).containsExactly(zoe.getId());
+    }
+
+    /**
+     * Tests {@link PersonRepository#insertAll(List)}.
+     */
+    @Test
+    public void insertAll() {
+        PersonEntity person = new PersonEntity("Renée", "Zellweger", LocalDate.of(1969, 4, 25));
+
+        repository.insertAll(Collections.singletonList(person));
+
+        assertThat(repository.findAllByFirstNameKeyAndLastNameKey("renee", "zellweger"))
+                .extracting(PersonEntity::getId).containsExactly(person.getId());
+    }
+
+}
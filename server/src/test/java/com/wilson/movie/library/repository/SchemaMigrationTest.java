@@ -0,0 +1,89 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.*;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the Flyway migrations that every database runs, all but the MariaDB V3, against the entity
+ * mappings.
+ * <p>
+ * The schema is created by the migrations alone, and Hibernate only validates it, so the context
+ * would not start if a mapped table or column were missing or had another type.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = {"flyway.locations=classpath:db/migration",
+                                  "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"})
+public class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Tests that the migrations are applied and the mappings are validated against them.
+     */
+    @Test
+    public void migrate() {
+        flyway.validate();
+
+        MigrationInfo[] applied = flyway.info().applied();
+        assertThat(applied).extracting((migration) -> migration.getVersion().getVersion())
+                .containsExactly("1", "2", "4", "5");
+        assertThat(applied).extracting(MigrationInfo::getState).containsOnly(MigrationState.SUCCESS);
+        assertThat(entityManagerFactory.getProperties().get("hibernate.hbm2ddl.auto")).isEqualTo("validate");
+    }
+
+    /**
+     * Tests that the database itself deletes the credits of a deleted movie, through the
+     * {@code ON DELETE CASCADE} of CREDIT.
+     */
+    @Test
+    public void deleteMovie_whereMovieHasCredits() {
+        RatingEntity rating = entityManager.persist(new RatingEntity("R"));
+        GenreEntity genre = entityManager.persist(new GenreEntity("Drama"));
+        LanguageEntity language = entityManager.persist(new LanguageEntity("English"));
+        PersonEntity person = entityManager.persist(new PersonEntity("Keanu", "Reeves", LocalDate.of(1964, 9, 2)));
+        MovieEntity movie = entityManager.persist(new MovieEntity("The Matrix", LocalDate.of(1999, 3, 31),
+                                                                  "Warner Bros.", rating, genre, language));
+        entityManager.persist(new CreditEntity(person, movie, null, "Actor", 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Plain SQL, so that only the foreign key can delete the credit
+        int deletedMovies = entityManager.getEntityManager()
+                .createNativeQuery("DELETE FROM MOVIE WHERE ID = :id")
+                .setParameter("id", movie.getId())
+                .executeUpdate();
+
+        assertThat(deletedMovies).isEqualTo(1);
+        Number credits = (Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM CREDIT WHERE MOVIE_ID = :id")
+                .setParameter("id", movie.getId())
+                .getSingleResult();
+        assertThat(credits.intValue()).isZero();
+        assertThat(entityManager.find(PersonEntity.class, person.getId())).isNotNull();
+    }
+
+}
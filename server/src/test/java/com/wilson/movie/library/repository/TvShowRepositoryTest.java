@@ -0,0 +1,228 @@
+package com.wilson.movie.library.repository;
+
+import com.wilson.movie.library.domain.FacetCount;
+import com.wilson.movie.library.domain.GenreEntity;
+import com.wilson.movie.library.domain.LanguageEntity;
+import com.wilson.movie.library.domain.RatingEntity;
+import com.wilson.movie.library.domain.TvShowEntity;
+import com.wilson.movie.library.domain.TvShowView;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link TvShowRepository}.
+ * <p>
+ * Every multi-row finder must load TV shows together with their rating, genre and language in a
+ * single statement, and every update must write in a single statement without reading first.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = {"flyway.locations=classpath:db/migration",
+                                  "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                                  "spring.jpa.properties.hibernate.generate_statistics=true"})
+public class TvShowRepositoryTest {
+
+    private static final int TV_SHOW_COUNT = 5;
+
+    private static final LocalDate DATE_AIRED = LocalDate.of(1999, 3, 31);
+
+    private static final String NETWORK = "HBO";
+
+    @Autowired
+    private TvShowRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Integer> ids;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        ids = new ArrayList<>();
+        for (int i = 0; i < TV_SHOW_COUNT; i++) {
+            RatingEntity rating = entityManager.persist(new RatingEntity("Rating " + i));
+            GenreEntity genre = entityManager.persist(new GenreEntity("Genre " + i));
+            LanguageEntity language = entityManager.persist(new LanguageEntity("Language " + i));
+            TvShowEntity tvShow = entityManager.persist(new TvShowEntity("TV Show " + i, DATE_AIRED, NETWORK, rating,
+                                                                          genre, language, "Plot summary", true));
+            ids.add(tvShow.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests {@link TvShowRepository#findAll()}.
+     */
+    @Test
+    public void findAll() {
+        List<TvShowEntity> tvShows = repository.findAll();
+
+        assertThat(tvShows).hasSize(TV_SHOW_COUNT);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link TvShowRepository#findAllById(Collection)}.
+     */
+    @Test
+    public void findAllById() {
+        Collection<TvShowEntity> tvShows = repository.findAllById(ids);
+
+        assertThat(tvShows).hasSize(TV_SHOW_COUNT);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link TvShowRepository#findAllByDateAired(LocalDate)}.
+     */
+    @Test
+    public void findAllByDateAired() {
+        Collection<TvShowEntity> tvShows = repository.findAllByDateAired(DATE_AIRED);
+
+        assertThat(tvShows).hasSize(TV_SHOW_COUNT);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link TvShowRepository#findAllByNetwork(String)}.
+     */
+    @Test
+    public void findAllByNetwork() {
+        Collection<TvShowEntity> tvShows = repository.findAllByNetwork(NETWORK);
+
+        assertThat(tvShows).hasSize(TV_SHOW_COUNT);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link TvShowRepository#findViewsAfter(int, org.springframework.data.domain.Pageable)}.
+     */
+    @Test
+    public void findViewsAfter() {
+        List<TvShowView> tvShows = repository.findViewsAfter(0, new PageRequest(0, TV_SHOW_COUNT));
+
+        assertThat(tvShows).extracting(TvShowView::getId).containsExactlyElementsOf(ids);
+        assertThat(tvShows.get(0).getRating()).isEqualTo("Rating 0");
+        assertSingleStatement();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * Tests {@link TvShowRepository#findViewsByDateAiredBetween(LocalDate, LocalDate, int,
+     * org.springframework.data.domain.Pageable)}.
+     */
+    @Test
+    public void findViewsByDateAiredBetween() {
+        List<TvShowView> tvShows = repository.findViewsByDateAiredBetween(DATE_AIRED, DATE_AIRED, ids.get(0),
+                                                                          new PageRequest(0, 2));
+
+        assertThat(tvShows).extracting(TvShowView::getId).containsExactly(ids.get(1), ids.get(2));
+        assertSingleStatement();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * Tests {@link TvShowRepository#countByFacet(String, LocalDate, LocalDate, java.util.Map)}.
+     */
+    @Test
+    public void countByFacet() {
+        List<FacetCount> counts = repository.countByFacet(FacetCount.LANGUAGE, DATE_AIRED, DATE_AIRED,
+                                                          Collections.singletonMap("network", NETWORK));
+
+        assertThat(counts).hasSize(TV_SHOW_COUNT);
+        assertThat(counts).extracting(FacetCount::getCount).containsOnly(1L);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link TvShowRepository#findAllAfter(int, org.springframework.data.domain.Pageable)}.
+     */
+    @Test
+    public void findAllAfter() {
+        List<TvShowEntity> tvShows = repository.findAllAfter(0, new PageRequest(0, TV_SHOW_COUNT));
+
+        assertThat(tvShows).extracting(TvShowEntity::getId).containsExactlyElementsOf(ids);
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link TvShowRepository#findByTitle(String)}.
+     */
+    @Test
+    public void findByTitle() {
+        TvShowEntity tvShow = repository.findByTitle("TV Show 0");
+
+        assertThat(tvShow.getId()).isEqualTo(ids.get(0));
+        assertSingleStatement();
+    }
+
+    /**
+     * Tests {@link TvShowRepository#patch(int, Integer, java.util.Map)}.
+     */
+    @Test
+    public void patch() {
+        int id = ids.get(0);
+
+        int updatedRows = repository.patch(id, 0, Collections.singletonMap("plotSummary", "Patched plot summary"));
+
+        assertThat(updatedRows).isEqualTo(1);
+        assertSingleStatement();
+
+        TvShowEntity tvShow = entityManager.find(TvShowEntity.class, id);
+        assertThat(tvShow.getPlotSummary()).isEqualTo("Patched plot summary");
+        assertThat(tvShow.getTitle()).isEqualTo("TV Show 0");
+        assertThat(tvShow.getNetwork()).isEqualTo(NETWORK);
+        assertThat(tvShow.getVersion()).isEqualTo(1);
+    }
+
+    /**
+     * Tests {@link TvShowRepository#patch(int, Integer, java.util.Map)}.
+     */
+    @Test
+    public void patch_whereVersionIsStale() {
+        int id = ids.get(0);
+        repository.patch(id, 0, Collections.singletonMap("plotSummary", "Patched plot summary"));
+
+        int updatedRows = repository.patch(id, 0, Collections.singletonMap("title", "Stale"));
+
+        assertThat(updatedRows).isZero();
+        assertThat(entityManager.find(TvShowEntity.class, id).getTitle()).isEqualTo("TV Show 0");
+    }
+
+    /**
+     * Asserts that the method under test issued exactly one statement.
+     */
+    private void assertSingleStatement() {
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.wilson.movie.library.resource.utils;
+
+import com.wilson.movie.library.domain.GenreEntity;
+import com.wilson.movie.library.resource.model.Genre;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests {@link ETags}.
+ *
+ * @author Zach Wilson
+ */
+public class ETagsTest {
+
+    private final GenreEntity genre = genre(1, 0, "Comedy");
+
+    /**
+     * Tests {@link ETags#get(WebRequest, Optional, java.util.function.Function, java.util.function.Function)}.
+     */
+    @Test
+    public void get() {
+        ResponseEntity<Genre> response = ETags.get(request(null, null), Optional.of(genre), ETags::of,
+                Adapters::toGenre);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(Adapters.toGenre(genre));
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1.0\"");
+    }
+
+    /**
+     * Tests {@link ETags#get(WebRequest, Optional, java.util.function.Function, java.util.function.Function)}.
+     */
+    @Test
+    public void get_whereIfNoneMatchMatches() {
+        ResponseEntity<Genre> response = ETags.get(request(HttpHeaders.IF_NONE_MATCH, "W/\"1.0\""),
+                Optional.of(genre), ETags::of, Adapters::toGenre);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1.0\"");
+        assertThat(response.getBody()).isNull();
+    }
+
+    /**
+     * Tests {@link ETags#get(WebRequest, Optional, java.util.function.Function, java.util.function.Function)}.
+     */
+    @Test
+    public void get_whereEntityIsUpdated() {
+        ResponseEntity<Genre> response = ETags.get(request(HttpHeaders.IF_NONE_MATCH, "\"1.0\""),
+                Optional.of(genre(1, 1, "Drama")), ETags::of, Adapters::toGenre);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getName()).isEqualTo("Drama");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1.1\"");
+    }
+
+    /**
+     * Tests {@link ETags#get(WebRequest, Optional, java.util.function.Function, java.util.function.Function)}.
+     */
+    @Test
+    public void get_whereEntityDoesNotExist() {
+        ResponseEntity<Genre> response = ETags.get(request(HttpHeaders.IF_NONE_MATCH, "*"),
+                Optional.<GenreEntity>empty(), ETags::of, Adapters::toGenre);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Tests {@link ETags#ifMatchVersion(WebRequest, int)}.
+     */
+    @Test
+    public void ifMatchVersion() {
+        assertThat(ETags.ifMatchVersion(request(null, null), 1)).isEqualTo(Optional.empty());
+        assertThat(ETags.ifMatchVersion(request(HttpHeaders.IF_MATCH, "*"), 1)).isEqualTo(Optional.empty());
+        assertThat(ETags.ifMatchVersion(request(HttpHeaders.IF_MATCH, "\"1.3\""), 1)).isEqualTo(Optional.of(3));
+        assertThat(ETags.ifMatchVersion(request(HttpHeaders.IF_MATCH, "\"2.5\", \"1.3.1.1.2\""), 1))
+                .isEqualTo(Optional.of(3));
+    }
+
+    /**
+     * Tests {@link ETags#ifMatchVersion(WebRequest, int)}.
+     */
+    @Test
+    public void ifMatchVersion_wherePreconditionFails() {
+        for (String ifMatch : new String[]{"W/\"1.3\"", "\"2.3\"", "\"1\"", "\"1.x\"", "\"1.3\", \"1.4\""}) {
+            assertThatThrownBy(() -> ETags.ifMatchVersion(request(HttpHeaders.IF_MATCH, ifMatch), 1))
+                    .as(ifMatch)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    /**
+     * Tests {@link ETags#preconditionFailed(WebRequest, int)}.
+     */
+    @Test
+    public void preconditionFailed() {
+        assertThat(ETags.preconditionFailed(request(null, null), 1)).isEqualTo(Optional.empty());
+        assertThat(ETags.preconditionFailed(request(HttpHeaders.IF_MATCH, "\"1.3\""), 1)).isEqualTo(Optional.empty());
+        assertThat(ETags.preconditionFailed(request(HttpHeaders.IF_MATCH, "\"2.3\""), 1))
+                .isEqualTo(Optional.of(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()));
+    }
+
+    /**
+     * Tests {@link ETags#preconditionFailedOr(WebRequest, HttpStatus)}.
+     */
+    @Test
+    public void preconditionFailedOr() {
+        assertThat(ETags.preconditionFailedOr(request(null, null), HttpStatus.NOT_FOUND).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(ETags.preconditionFailedOr(request(HttpHeaders.IF_MATCH, "*"), HttpStatus.NOT_FOUND)
+                .getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Tests {@link ETags#ofAll(java.util.Collection, java.util.function.Function)}.
+     */
+    @Test
+    public void ofAll() {
+        String eTag = ETags.ofAll(Arrays.asList(genre, genre(2, 0, "Drama")), ETags::of);
+
+        assertThat(eTag).startsWith("\"").endsWith("\"");
+        assertThat(ETags.ofAll(Arrays.asList(genre, genre(2, 0, "Drama")), ETags::of)).isEqualTo(eTag);
+        assertThat(ETags.ofAll(Arrays.asList(genre, genre(2, 1, "Drama")), ETags::of)).isNotEqualTo(eTag);
+        assertThat(ETags.ofAll(Collections.singletonList(genre), ETags::of)).isNotEqualTo(eTag);
+    }
+
+    private static GenreEntity genre(int id, int version, String name) {
+        GenreEntity genre = new GenreEntity(name);
+        genre.setId(id);
+        genre.setVersion(version);
+        return genre;
+    }
+
+    private static WebRequest request(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (header != null) {
+            request.addHeader(header, value);
+        }
+        return new ServletWebRequest(request);
+    }
+
+}
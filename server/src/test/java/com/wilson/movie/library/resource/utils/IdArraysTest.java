@@ -0,0 +1,71 @@
+package com.wilson.movie.library.resource.utils;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link IdArrays}.
+ *
+ * @author Zach Wilson
+ */
+public class IdArraysTest {
+
+    /**
+     * Tests {@link IdArrays#read(java.io.InputStream, MediaType)}.
+     */
+    @Test
+    public void read_whereBodyIsJson() throws IOException {
+        int[] ids = IdArrays.read(json("[3, 1, 2147483647, 1]"), MediaType.APPLICATION_JSON);
+
+        assertThat(ids).containsExactly(3, 1, Integer.MAX_VALUE, 1);
+    }
+
+    /**
+     * Tests {@link IdArrays#read(java.io.InputStream, MediaType)}.
+     */
+    @Test
+    public void read_whereBodyIsVarints() throws IOException {
+        byte[] body = {0x01, (byte) 0xAC, 0x02, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+
+        int[] ids = IdArrays.read(new ByteArrayInputStream(body), MediaType.valueOf(IdArrays.APPLICATION_VARINT_VALUE));
+
+        assertThat(ids).containsExactly(1, 300, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Tests {@link IdArrays#read(java.io.InputStream, MediaType)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void read_whereJsonHoldsNonIntegers() throws IOException {
+        IdArrays.read(json("[1, \"2\"]"), MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Tests {@link IdArrays#read(java.io.InputStream, MediaType)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void read_whereVarintIsTruncated() throws IOException {
+        IdArrays.read(new ByteArrayInputStream(new byte[]{(byte) 0xAC}),
+                MediaType.valueOf(IdArrays.APPLICATION_VARINT_VALUE));
+    }
+
+    /**
+     * Tests {@link IdArrays#read(java.io.InputStream, MediaType)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void read_whereTooManyIds() throws IOException {
+        IdArrays.read(new ByteArrayInputStream(new byte[IdArrays.MAX_IDS + 1]),
+                MediaType.valueOf(IdArrays.APPLICATION_VARINT_VALUE));
+    }
+
+    private static ByteArrayInputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
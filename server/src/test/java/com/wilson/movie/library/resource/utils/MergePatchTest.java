@@ -0,0 +1,104 @@
+package com.wilson.movie.library.resource.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link MergePatch}.
+ *
+ * @author Zach Wilson
+ */
+public class MergePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Tests {@link MergePatch#changes()}.
+     */
+    @Test
+    public void changes() throws IOException {
+        MergePatch mergePatch = mergePatch("{\"id\": 7, \"version\": 3, \"releaseDate\": \"1999-03-31\", "
+                + "\"notes\": null, \"series\": true}");
+
+        Map<String, Object> changes = mergePatch
+                .text("title", false)
+                .date("releaseDate", false)
+                .text("notes", true)
+                .bool("series")
+                .changes();
+
+        assertThat(changes).hasSize(3)
+                .containsEntry("releaseDate", LocalDate.of(1999, 3, 31))
+                .containsEntry("notes", null)
+                .containsEntry("series", true);
+        assertThat(mergePatch.version()).isEqualTo(Optional.of(3));
+    }
+
+    /**
+     * Tests {@link MergePatch#lookup(String, java.util.function.Function)}.
+     */
+    @Test
+    public void lookup() throws IOException {
+        AtomicInteger lookups = new AtomicInteger();
+
+        Map<String, Object> changes = mergePatch("{\"genre\": \"Comedy\"}")
+                .lookup("rating", (name) -> {
+                    lookups.incrementAndGet();
+                    return Optional.of(name);
+                })
+                .lookup("genre", (name) -> {
+                    lookups.incrementAndGet();
+                    return Optional.of(name.toUpperCase());
+                })
+                .changes();
+
+        assertThat(changes).containsOnlyKeys("genre").containsEntry("genre", "COMEDY");
+        assertThat(lookups.get()).isEqualTo(1);
+    }
+
+    /**
+     * Tests {@link MergePatch#lookup(String, java.util.function.Function)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void lookup_whereNameDoesNotExist() throws IOException {
+        mergePatch("{\"genre\": \"Comedy\"}").lookup("genre", (name) -> Optional.empty());
+    }
+
+    /**
+     * Tests {@link MergePatch#text(String, boolean)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void text_whereRequiredMemberIsRemoved() throws IOException {
+        mergePatch("{\"title\": null}").text("title", false);
+    }
+
+    /**
+     * Tests {@link MergePatch#date(String, boolean)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void date_whereDateIsInvalid() throws IOException {
+        mergePatch("{\"releaseDate\": \"31/03/1999\"}").date("releaseDate", false);
+    }
+
+    /**
+     * Tests {@link MergePatch#changes()}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void changes_whereMemberIsUnknown() throws IOException {
+        mergePatch("{\"director\": \"Unknown\"}").text("title", false).changes();
+    }
+
+    private MergePatch mergePatch(String json) throws IOException {
+        return new MergePatch((ObjectNode) objectMapper.readTree(json));
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.wilson.movie.library.service.cache;
+
+import com.wilson.movie.library.domain.GenreEntity;
+import com.wilson.movie.library.domain.LanguageEntity;
+import com.wilson.movie.library.domain.RatingEntity;
+import com.wilson.movie.library.repository.GenreRepository;
+import com.wilson.movie.library.repository.LanguageRepository;
+import com.wilson.movie.library.repository.RatingRepository;
+import com.wilson.movie.library.service.impl.factories.IdentityEntityFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link LookupCacheLoader}.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class LookupCacheLoaderTest {
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private GenreRepository genreRepository;
+
+    @Mock
+    private LanguageRepository languageRepository;
+
+    private CacheManager cacheManager;
+    private LookupCacheLoader loader;
+
+    @Before
+    public void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheNames.RATINGS_BY_NAME,
+                                                     CacheNames.GENRES_BY_NAME,
+                                                     CacheNames.LANGUAGES_BY_NAME);
+        loader = new LookupCacheLoader(cacheManager, ratingRepository, genreRepository, languageRepository);
+    }
+
+    /**
+     * Tests {@link LookupCacheLoader#load()}.
+     */
+    @Test
+    public void load() {
+        RatingEntity rating = IdentityEntityFactory.generateRandomRating();
+        GenreEntity firstGenre = IdentityEntityFactory.generateRandomGenre();
+        GenreEntity secondGenre = IdentityEntityFactory.generateRandomGenre();
+        LanguageEntity language = IdentityEntityFactory.generateRandomLanguage();
+
+        Mockito.when(ratingRepository.findAll()).thenReturn(Collections.singletonList(rating));
+        Mockito.when(genreRepository.findAll()).thenReturn(Arrays.asList(firstGenre, secondGenre));
+        Mockito.when(languageRepository.findAll()).thenReturn(Collections.singletonList(language));
+
+        loader.load();
+
+        assertThat(cacheManager.getCache(CacheNames.RATINGS_BY_NAME).get(rating.getName(), RatingEntity.class))
+                .isEqualTo(rating);
+        assertThat(cacheManager.getCache(CacheNames.GENRES_BY_NAME).get(firstGenre.getName(), GenreEntity.class))
+                .isEqualTo(firstGenre);
+        assertThat(cacheManager.getCache(CacheNames.GENRES_BY_NAME).get(secondGenre.getName(), GenreEntity.class))
+                .isEqualTo(secondGenre);
+        assertThat(cacheManager.getCache(CacheNames.LANGUAGES_BY_NAME).get(language.getName(), LanguageEntity.class))
+                .isEqualTo(language);
+    }
+
+    /**
+     * Tests {@link LookupCacheLoader#load()}.
+     */
+    @Test
+    public void load_whereLookupTablesAreEmpty() {
+        Mockito.when(ratingRepository.findAll()).thenReturn(Collections.emptyList());
+        Mockito.when(genreRepository.findAll()).thenReturn(Collections.emptyList());
+        Mockito.when(languageRepository.findAll()).thenReturn(Collections.emptyList());
+
+        loader.load();
+
+        assertThat(cacheManager.getCache(CacheNames.GENRES_BY_NAME).get("Drama")).isNull();
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.wilson.movie.library.service.impl;
+
+import com.wilson.movie.library.domain.CreditEntity;
+import com.wilson.movie.library.domain.PersonEntity;
+import com.wilson.movie.library.repository.CreditRepository;
+import com.wilson.movie.library.service.impl.factories.MovieEntityFactory;
+import com.wilson.movie.library.service.impl.factories.RandomValueFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link CreditServiceImpl}.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CreditServiceImplTest {
+
+    @InjectMocks
+    private CreditServiceImpl service;
+
+    @Mock
+    private CreditRepository repository;
+
+    /**
+     * Tests {@link CreditServiceImpl#create(CreditEntity)}.
+     */
+    @Test
+    public void create() {
+        CreditEntity expected = generateRandomCredit();
+
+        Mockito.when(repository.save(expected)).thenReturn(expected);
+
+        CreditEntity actual = service.create(expected);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    /**
+     * Tests {@link CreditServiceImpl#getAllByMovieId(Integer)}.
+     */
+    @Test
+    public void getAllByMovieId() {
+        CreditEntity expected = generateRandomCredit();
+
+        Mockito.when(repository.findAllByMovieId(expected.getMovieId()))
+                .thenReturn(Collections.singletonList(expected));
+
+        List<CreditEntity> actual = service.getAllByMovieId(expected.getMovieId());
+
+        assertThat(actual).containsExactly(expected);
+    }
+
+    /**
+     * Tests {@link CreditServiceImpl#getAllByPersonId(Integer)}.
+     */
+    @Test
+    public void getAllByPersonId() {
+        CreditEntity expected = generateRandomCredit();
+
+        Mockito.when(repository.findAllByPersonId(expected.getPersonId()))
+                .thenReturn(Collections.singletonList(expected));
+
+        List<CreditEntity> actual = service.getAllByPersonId(expected.getPersonId());
+
+        assertThat(actual).containsExactly(expected);
+    }
+
+    /**
+     * Tests {@link CreditServiceImpl#deleteById(Integer)}.
+     */
+    @Test
+    public void deleteById() {
+        int id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.exists(id)).thenReturn(true);
+
+        Optional<Integer> deletedId = service.deleteById(id);
+
+        assertThat(deletedId).isEqualTo(Optional.of(id));
+        Mockito.verify(repository).delete(id);
+    }
+
+    /**
+     * Tests {@link CreditServiceImpl#deleteById(Integer)}.
+     */
+    @Test
+    public void deleteById_whereCreditDoesNotExist() {
+        int id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.exists(id)).thenReturn(false);
+
+        Optional<Integer> deletedId = service.deleteById(id);
+
+        assertThat(deletedId.isPresent()).isFalse();
+        Mockito.verify(repository, Mockito.never()).delete(id);
+    }
+
+    private static CreditEntity generateRandomCredit() {
+        PersonEntity person = new PersonEntity(RandomValueFactory.generateRandomString(1, 20),
+                                               RandomValueFactory.generateRandomString(1, 20),
+                                               LocalDate.now());
+        person.setId(RandomValueFactory.nextIntId());
+
+        CreditEntity credit = new CreditEntity(person, MovieEntityFactory.generateRandomMovie(), null, "Actor",
+                                               RandomValueFactory.nextInt(100));
+        credit.setId(RandomValueFactory.nextIntId());
+        return credit;
+    }
+
+}
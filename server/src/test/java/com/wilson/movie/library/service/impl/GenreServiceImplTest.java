@@ -10,6 +10,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.*;
 
@@ -178,14 +179,16 @@ public class GenreServiceImplTest {
      */
     @Test
     public void update() {
-        GenreEntity expected = IdentityEntityFactory.generateRandomGenre();
+        GenreEntity entity = IdentityEntityFactory.generateRandomGenre();
+        Integer id = RandomValueFactory.nextIntId();
 
-        Mockito.when(repository.save(expected)).thenReturn(expected);
+        Mockito.when(repository.update(id, entity)).thenReturn(1);
 
-        Optional<GenreEntity> optionalEntity = service.update(RandomValueFactory.nextIntId(), expected);
+        Optional<Integer> optionalId = service.update(id, entity);
 
-        assertThat(optionalEntity.isPresent());
-        optionalEntity.ifPresent((actual) -> assertGenre(actual, expected));
+        assertThat(optionalId).isEqualTo(Optional.of(id));
+        Mockito.verify(repository, Mockito.never()).findOne(id);
+        Mockito.verify(repository, Mockito.never()).save(entity);
     }
 
     /**
@@ -194,12 +197,30 @@ public class GenreServiceImplTest {
     @Test
     public void update_whereGenreDoesNotExist() {
         GenreEntity entity = IdentityEntityFactory.generateRandomGenre();
+        entity.setVersion(0);
+        Integer id = RandomValueFactory.nextIntId();
 
-        Mockito.when(repository.save(entity)).thenReturn(null);
+        Mockito.when(repository.update(id, entity)).thenReturn(0);
+        Mockito.when(repository.exists(id)).thenReturn(false);
 
-        Optional<GenreEntity> optionalEntity = service.update(RandomValueFactory.nextIntId(), entity);
+        Optional<Integer> optionalId = service.update(id, entity);
 
-        assertThat(optionalEntity.isPresent()).isFalse();
+        assertThat(optionalId.isPresent()).isFalse();
+    }
+
+    /**
+     * Tests {@link GenreServiceImpl#update(Integer, GenreEntity)}.
+     */
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void update_whereVersionIsStale() {
+        GenreEntity entity = IdentityEntityFactory.generateRandomGenre();
+        entity.setVersion(0);
+        Integer id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.update(id, entity)).thenReturn(0);
+        Mockito.when(repository.exists(id)).thenReturn(true);
+
+        service.update(id, entity);
     }
 
     /**
@@ -237,17 +258,16 @@ public class GenreServiceImplTest {
     @Test
     public void deleteAllWithIds() {
         List<Integer> ids = new ArrayList<>();
-        List<GenreEntity> expectedEntities = new ArrayList<>();
         for (int i = 0; i < RandomValueFactory.nextInt(20) + 1; i++) {
-            GenreEntity entity = IdentityEntityFactory.generateRandomGenre();
-            expectedEntities.add(entity);
-            ids.add(entity.getId());
+            ids.add(RandomValueFactory.nextIntId());
         }
 
-        Mockito.when(repository.findAllById(ids)).thenReturn(expectedEntities);
+        Mockito.when(repository.findIdsByIdIn(ids)).thenReturn(ids);
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAllWithIds(ids));
 
+        Mockito.verify(repository).deleteAllByIdIn(ids);
+
         // Sort the collections so that the proceeding loop will compare IDs in the right order.
         Collections.sort(ids);
         Collections.sort(actualIds);
@@ -268,7 +288,7 @@ public class GenreServiceImplTest {
             ids.add(RandomValueFactory.nextIntId());
         }
 
-        Mockito.when(repository.findAllById(ids)).thenReturn(new ArrayList<>());
+        Mockito.when(repository.findIdsByIdIn(ids)).thenReturn(new ArrayList<>());
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAllWithIds(ids));
 
@@ -281,17 +301,16 @@ public class GenreServiceImplTest {
     @Test
     public void deleteAll() {
         List<Integer> ids = new ArrayList<>();
-        List<GenreEntity> expectedEntities = new ArrayList<>();
         for (int i = 0; i < 20; i++) {
-            GenreEntity entity = IdentityEntityFactory.generateRandomGenre();
-            expectedEntities.add(entity);
-            ids.add(entity.getId());
+            ids.add(RandomValueFactory.nextIntId());
         }
 
-        Mockito.when(repository.findAll()).thenReturn(expectedEntities);
+        Mockito.when(repository.findAllIds()).thenReturn(ids);
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAll());
 
+        Mockito.verify(repository).deleteAllInBatch();
+
         // Sort the collections so that the proceeding loop will compare IDs in the right order.
         Collections.sort(ids);
         Collections.sort(actualIds);
@@ -307,7 +326,7 @@ public class GenreServiceImplTest {
      */
     @Test
     public void deleteAll_whereNoTvShowExist() {
-        Mockito.when(repository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(repository.findAllIds()).thenReturn(new ArrayList<>());
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAll());
 
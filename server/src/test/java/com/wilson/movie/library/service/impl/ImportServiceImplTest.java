@@ -0,0 +1,221 @@
+package com.wilson.movie.library.service.impl;
+
+import com.wilson.movie.library.domain.GenreEntity;
+import com.wilson.movie.library.domain.LanguageEntity;
+import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.PersonEntity;
+import com.wilson.movie.library.domain.RatingEntity;
+import com.wilson.movie.library.service.GenreService;
+import com.wilson.movie.library.service.LanguageService;
+import com.wilson.movie.library.service.MovieService;
+import com.wilson.movie.library.service.PersonService;
+import com.wilson.movie.library.service.RatingService;
+import com.wilson.movie.library.service.TvShowService;
+import com.wilson.movie.library.service.impl.factories.IdentityEntityFactory;
+import com.wilson.movie.library.service.imports.ImportFormat;
+import com.wilson.movie.library.service.imports.ImportJob;
+import com.wilson.movie.library.service.imports.ImportKind;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+
+/**
+ * Tests {@link ImportServiceImpl}.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ImportServiceImplTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ImportServiceImpl service;
+
+    @Mock
+    private MovieService movieService;
+
+    @Mock
+    private TvShowService tvShowService;
+
+    @Mock
+    private PersonService personService;
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private GenreService genreService;
+
+    @Mock
+    private LanguageService languageService;
+
+    @Before
+    public void setUp() {
+        service = new ImportServiceImpl(movieService, tvShowService, personService, ratingService, genreService,
+                                        languageService, CHUNK_SIZE, 2, 1);
+
+        RatingEntity rating = IdentityEntityFactory.generateRandomRating();
+        GenreEntity genre = IdentityEntityFactory.generateRandomGenre();
+        LanguageEntity language = IdentityEntityFactory.generateRandomLanguage();
+        Mockito.when(ratingService.getByName(any())).thenReturn(Optional.empty());
+        Mockito.when(ratingService.getByName("PG")).thenReturn(Optional.of(rating));
+        Mockito.when(genreService.getByName("Drama")).thenReturn(Optional.of(genre));
+        Mockito.when(languageService.getByName("English")).thenReturn(Optional.of(language));
+    }
+
+    @After
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    /**
+     * Tests {@link ImportServiceImpl#start(ImportKind, ImportFormat, Path, boolean)}.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void start_whereRowsAreValid() throws Exception {
+        Path file = write("title,releaseDate,studio,rating,genre,language\n"
+                          + "Heat,1995-12-15,Warner Bros.,PG,Drama,English\n"
+                          + "\"Alien, the Director's Cut\",2003-10-31,Fox,PG,Drama,English\n"
+                          + "Ran,1985-06-01,Toho,PG,Drama,English\n");
+
+        ImportJob job = await(service.start(ImportKind.MOVIES, ImportFormat.CSV, file, true));
+
+        ArgumentCaptor<List> chunks = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(movieService, Mockito.times(2)).createAll(chunks.capture());
+        List<String> titles = chunks.getAllValues().stream()
+                .flatMap((chunk) -> ((List<MovieEntity>) chunk).stream())
+                .map(MovieEntity::getTitle)
+                .collect(Collectors.toList());
+        assertThat(titles).containsOnly("Heat", "Alien, the Director's Cut", "Ran");
+
+        assertThat(job.getState()).isEqualTo(ImportJob.State.SUCCEEDED);
+        assertThat(job.getRowsRead()).isEqualTo(3);
+        assertThat(job.getRowsImported()).isEqualTo(3);
+        assertThat(job.getRowsRejected()).isZero();
+        assertThat(Files.exists(file)).isFalse();
+    }
+
+    /**
+     * Tests {@link ImportServiceImpl#start(ImportKind, ImportFormat, Path, boolean)}.
+     */
+    @Test
+    public void start_whereRowsAreInvalid() throws Exception {
+        Path file = write("title\treleaseDate\tstudio\trating\tgenre\tlanguage\n"
+                          + "Heat\t1995-12-15\tWarner Bros.\tPG\tDrama\tEnglish\n"
+                          + "Ran\t1985-06-01\tToho\tNC-17\tDrama\tEnglish\n"
+                          + "Alien\t1979-05-25\n"
+                          + "Brazil\t12/18/1985\tUniversal\tPG\tDrama\tEnglish\n");
+
+        ImportJob job = await(service.start(ImportKind.MOVIES, ImportFormat.TSV, file, false));
+
+        assertThat(job.getState()).isEqualTo(ImportJob.State.SUCCEEDED);
+        assertThat(job.getRowsRead()).isEqualTo(4);
+        assertThat(job.getRowsImported()).isEqualTo(1);
+        assertThat(job.getRowsRejected()).isEqualTo(3);
+        assertThat(job.getErrors()).extracting(ImportJob.Error::getLine).containsExactly(3L, 4L, 5L);
+        assertThat(job.getErrors().get(0).getMessage()).isEqualTo("Value of rating does not exist: NC-17");
+        assertThat(Files.exists(file)).isTrue();
+    }
+
+    /**
+     * Tests {@link ImportServiceImpl#start(ImportKind, ImportFormat, Path, boolean)}.
+     */
+    @Test
+    public void start_whereChunkCannotBePersisted() throws Exception {
+        Path file = write("firstName,lastName,dateOfBirth\n"
+                          + "Al,Pacino,1940-04-25\n"
+                          + "Robert,De Niro,1943-08-17\n"
+                          + "Val,Kilmer,1959-12-31\n");
+
+        Mockito.when(personService.createAll(anyListOf(PersonEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate"))
+                .then((invocation) -> invocation.getArguments()[0]);
+
+        ImportJob job = await(service.start(ImportKind.PERSONS, ImportFormat.CSV, file, true));
+
+        assertThat(job.getState()).isEqualTo(ImportJob.State.SUCCEEDED);
+        assertThat(job.getRowsImported() + job.getRowsRejected()).isEqualTo(3);
+        assertThat(job.getRowsRejected()).isIn(1L, 2L);
+        assertThat(job.getErrors()).hasSize(1);
+    }
+
+    /**
+     * Tests {@link ImportServiceImpl#start(ImportKind, ImportFormat, Path, boolean)}.
+     */
+    @Test
+    public void start_whereColumnIsMissing() throws Exception {
+        Path file = write("title,dateAired\nCheers,1982-09-30\n");
+
+        ImportJob job = await(service.start(ImportKind.TV_SHOWS, ImportFormat.CSV, file, true));
+
+        assertThat(job.getState()).isEqualTo(ImportJob.State.FAILED);
+        assertThat(job.getFailure()).isEqualTo(Optional.of("Missing column: network"));
+        assertThat(job.getRowsRead()).isZero();
+        Mockito.verifyZeroInteractions(tvShowService);
+    }
+
+    /**
+     * Tests {@link ImportServiceImpl#getById(Integer)}.
+     */
+    @Test
+    public void getById() throws Exception {
+        ImportJob expected = await(service.start(ImportKind.PERSONS, ImportFormat.CSV, write(""), true));
+
+        assertThat(service.getById(expected.getId())).isEqualTo(Optional.of(expected));
+        assertThat(service.getById(expected.getId() + 1)).isEqualTo(Optional.empty());
+        assertThat(service.getAll()).containsExactly(expected);
+    }
+
+    /**
+     * Tests {@link ImportServiceImpl#start(ImportKind, ImportFormat, Path, boolean)}.
+     */
+    @Test
+    public void start_whereJobsAreFinished() throws Exception {
+        ImportJob oldest = await(service.start(ImportKind.PERSONS, ImportFormat.CSV, write(""), true));
+        for (int i = 0; i < ImportServiceImpl.MAX_JOBS; i++) {
+            await(service.start(ImportKind.PERSONS, ImportFormat.CSV, write(""), true));
+        }
+
+        assertThat(service.getAll()).hasSize(ImportServiceImpl.MAX_JOBS).doesNotContain(oldest);
+        assertThat(service.getById(oldest.getId())).isEqualTo(Optional.empty());
+    }
+
+    private Path write(String text) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static ImportJob await(ImportJob job) throws InterruptedException {
+        for (int i = 0; i < 500 && !job.getFinishedAt().isPresent(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(job.getFinishedAt().isPresent()).isTrue();
+        return job;
+    }
+
+}
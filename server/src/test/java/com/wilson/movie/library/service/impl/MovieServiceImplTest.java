@@ -1,6 +1,8 @@
 package com.wilson.movie.library.service.impl;
 
+import com.wilson.movie.library.domain.FacetCount;
 import com.wilson.movie.library.domain.MovieEntity;
+import com.wilson.movie.library.domain.MovieView;
 import com.wilson.movie.library.repository.MovieRepository;
 import com.wilson.movie.library.service.impl.factories.MovieEntityFactory;
 import com.wilson.movie.library.service.impl.factories.RandomValueFactory;
@@ -10,11 +12,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 /**
  * Tests {@link MovieServiceImpl}.
@@ -30,6 +39,9 @@ public class MovieServiceImplTest {
     @Mock
     private MovieRepository repository;
 
+    @Mock
+    private EntityManager entityManager;
+
     /**
      * Tests {@link MovieServiceImpl#create(MovieEntity)}.
      */
@@ -44,6 +56,22 @@ public class MovieServiceImplTest {
         assertThat(actual).isEqualTo(expected);
     }
 
+    /**
+     * Tests {@link MovieServiceImpl#createAll(List)}.
+     */
+    @Test
+    public void createAll() {
+        List<MovieEntity> expectedEntities = new ArrayList<>();
+        for (int i = 0; i < RandomValueFactory.nextInt(20) + 1; i++) {
+            expectedEntities.add(MovieEntityFactory.generateRandomMovie());
+        }
+
+        List<MovieEntity> actualEntities = service.createAll(expectedEntities);
+
+        Mockito.verify(repository).insertAll(expectedEntities);
+        assertThat(actualEntities).isSameAs(expectedEntities);
+    }
+
     /**
      * Tests {@link MovieServiceImpl#getById(Integer)}.
      */
@@ -285,19 +313,197 @@ public class MovieServiceImplTest {
         assertThat(actualEntities.isEmpty()).isTrue();
     }
 
+    /**
+     * Tests {@link MovieServiceImpl#getAllAfter(Integer, Integer)}.
+     */
+    @Test
+    public void getAllAfter() {
+        int after = RandomValueFactory.nextIntId();
+        int limit = RandomValueFactory.nextInt(20) + 1;
+        List<MovieEntity> expectedEntities = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            expectedEntities.add(MovieEntityFactory.generateRandomMovie());
+        }
+
+        Mockito.when(repository.findAllAfter(after, new PageRequest(0, limit))).thenReturn(expectedEntities);
+
+        List<MovieEntity> actualEntities = new ArrayList<>(service.getAllAfter(after, limit));
+
+        assertThat(actualEntities.size()).isEqualTo(expectedEntities.size());
+        for (int i = 0; i < actualEntities.size(); i++) {
+            assertMovie(actualEntities.get(i), expectedEntities.get(i));
+        }
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#getAllAfter(Integer, Integer)}.
+     */
+    @Test
+    public void getAllAfter_whereMoviesDoNotExist() {
+        int after = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.findAllAfter(after, new PageRequest(0, 10))).thenReturn(new ArrayList<>());
+
+        Collection<MovieEntity> actualEntities = service.getAllAfter(after, 10);
+
+        assertThat(actualEntities.isEmpty()).isTrue();
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#getViewsByReleaseDateBetween(LocalDate, LocalDate, Integer, Integer)}.
+     */
+    @Test
+    public void getViewsByReleaseDateBetween() {
+        LocalDate from = LocalDate.now().minusYears(10);
+        LocalDate to = LocalDate.now();
+        int after = RandomValueFactory.nextIntId();
+        int limit = RandomValueFactory.nextInt(20) + 1;
+        List<MovieView> expectedViews = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            expectedViews.add(new MovieView(after + i + 1, 0, "Movie " + i, from, "Studio", "PG", "Drama",
+                                            "English", "Plot summary", null));
+        }
+
+        Mockito.when(repository.findViewsByReleaseDateBetween(from, to, after, new PageRequest(0, limit)))
+                .thenReturn(expectedViews);
+
+        List<MovieView> actualViews = service.getViewsByReleaseDateBetween(from, to, after, limit);
+
+        assertThat(actualViews).containsExactlyElementsOf(expectedViews);
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#countByFacets(LocalDate, LocalDate, Map)}.
+     */
+    @Test
+    public void countByFacets() {
+        LocalDate from = LocalDate.now().minusYears(10);
+        LocalDate to = LocalDate.now();
+        Map<String, Object> filter = Collections.singletonMap("studio", "Studio");
+        for (String facet : FacetCount.FACETS) {
+            Mockito.when(repository.countByFacet(facet, from, to, filter))
+                    .thenReturn(Collections.singletonList(new FacetCount(1, facet, 2)));
+        }
+
+        Map<String, List<FacetCount>> counts = service.countByFacets(from, to, filter);
+
+        assertThat(counts.keySet()).containsExactlyElementsOf(FacetCount.FACETS);
+        for (String facet : FacetCount.FACETS) {
+            assertThat(counts.get(facet)).containsExactly(new FacetCount(1, facet, 2));
+        }
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#countAllByReleaseYear()}.
+     */
+    @Test
+    public void countAllByReleaseYear() {
+        Mockito.when(repository.countAllByReleaseYear())
+                .thenReturn(Arrays.asList(new Object[]{1999, 3L}, new Object[]{1994, 2L}));
+
+        SortedMap<Integer, Long> counts = service.countAllByReleaseYear();
+
+        assertThat(counts).containsExactly(entry(1994, 2L), entry(1999, 3L));
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#search(String, Integer, Integer)}.
+     */
+    @Test
+    public void search() {
+        String query = RandomValueFactory.generateRandomString(1, 20);
+        int page = RandomValueFactory.nextInt(5);
+        int limit = RandomValueFactory.nextInt(20) + 1;
+        List<MovieEntity> expectedEntities = new ArrayList<>();
+        List<Number> ids = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            MovieEntity entity = MovieEntityFactory.generateRandomMovie();
+            entity.setId(i + 1);
+            expectedEntities.add(entity);
+            ids.add(entity.getId());
+        }
+        List<MovieEntity> unorderedEntities = new ArrayList<>(expectedEntities);
+        Collections.shuffle(unorderedEntities);
+
+        Mockito.when(repository.searchIds(query, limit, page * limit)).thenReturn(ids);
+        Mockito.when(repository.findAllById(Mockito.anyCollectionOf(Integer.class))).thenReturn(unorderedEntities);
+
+        List<MovieEntity> actualEntities = service.search(query, page, limit);
+
+        assertThat(actualEntities.size()).isEqualTo(expectedEntities.size());
+        for (int i = 0; i < actualEntities.size(); i++) {
+            assertMovie(actualEntities.get(i), expectedEntities.get(i));
+        }
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#search(String, Integer, Integer)}.
+     */
+    @Test
+    public void search_whereMoviesDoNotMatch() {
+        String query = RandomValueFactory.generateRandomString(1, 20);
+
+        Mockito.when(repository.searchIds(query, 10, 0)).thenReturn(new ArrayList<>());
+
+        List<MovieEntity> actualEntities = service.search(query, 0, 10);
+
+        assertThat(actualEntities.isEmpty()).isTrue();
+        Mockito.verify(repository, Mockito.never()).findAllById(Mockito.anyCollectionOf(Integer.class));
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#exportAll(Consumer)}.
+     */
+    @Test
+    public void exportAll() {
+        List<MovieEntity> expectedEntities = new ArrayList<>();
+        for (int i = 0; i < RandomValueFactory.nextInt(20) + 1; i++) {
+            expectedEntities.add(MovieEntityFactory.generateRandomMovie());
+        }
+
+        Mockito.when(repository.streamAll()).thenReturn(expectedEntities.stream());
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+
+        List<MovieEntity> actualEntities = new ArrayList<>();
+        long count = service.exportAll(actualEntities::add);
+
+        assertThat(count).isEqualTo(expectedEntities.size());
+        assertThat(actualEntities.size()).isEqualTo(expectedEntities.size());
+        for (int i = 0; i < actualEntities.size(); i++) {
+            assertMovie(actualEntities.get(i), expectedEntities.get(i));
+            Mockito.verify(entityManager).detach(expectedEntities.get(i));
+        }
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#exportAll(Consumer)}.
+     */
+    @Test
+    public void exportAll_whereMoviesDoNotExist() {
+        Mockito.when(repository.streamAll()).thenReturn(Stream.empty());
+
+        long count = service.exportAll((movie) -> {
+            throw new AssertionError("No movie should be exported");
+        });
+
+        assertThat(count).isZero();
+    }
+
     /**
      * Tests {@link MovieServiceImpl#update(Integer, MovieEntity)}.
      */
     @Test
     public void update() {
-        MovieEntity expected = MovieEntityFactory.generateRandomMovie();
+        MovieEntity entity = MovieEntityFactory.generateRandomMovie();
+        Integer id = RandomValueFactory.nextIntId();
 
-        Mockito.when(repository.save(expected)).thenReturn(expected);
+        Mockito.when(repository.update(id, entity)).thenReturn(1);
 
-        Optional<MovieEntity> optionalEntity = service.update(RandomValueFactory.nextIntId(), expected);
+        Optional<Integer> optionalId = service.update(id, entity);
 
-        assertThat(optionalEntity.isPresent());
-        optionalEntity.ifPresent((actual) -> assertMovie(actual, expected));
+        assertThat(optionalId).isEqualTo(Optional.of(id));
+        Mockito.verify(repository, Mockito.never()).findOne(id);
+        Mockito.verify(repository, Mockito.never()).save(entity);
     }
 
     /**
@@ -306,12 +512,121 @@ public class MovieServiceImplTest {
     @Test
     public void update_whereMovieDoesNotExist() {
         MovieEntity entity = MovieEntityFactory.generateRandomMovie();
+        entity.setVersion(0);
+        Integer id = RandomValueFactory.nextIntId();
 
-        Mockito.when(repository.save(entity)).thenReturn(null);
+        Mockito.when(repository.update(id, entity)).thenReturn(0);
+        Mockito.when(repository.exists(id)).thenReturn(false);
 
-        Optional<MovieEntity> optionalEntity = service.update(RandomValueFactory.nextIntId(), entity);
+        Optional<Integer> optionalId = service.update(id, entity);
 
-        assertThat(optionalEntity.isPresent()).isFalse();
+        assertThat(optionalId.isPresent()).isFalse();
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#update(Integer, MovieEntity)}.
+     */
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void update_whereVersionIsStale() {
+        MovieEntity entity = MovieEntityFactory.generateRandomMovie();
+        entity.setVersion(0);
+        Integer id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.update(id, entity)).thenReturn(0);
+        Mockito.when(repository.exists(id)).thenReturn(true);
+
+        service.update(id, entity);
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test
+    public void patch() {
+        Integer id = RandomValueFactory.nextIntId();
+        Map<String, Object> changes = Collections.singletonMap("notes", "Patched");
+
+        Mockito.when(repository.patch(id, null, changes)).thenReturn(1);
+
+        Optional<Integer> optionalId = service.patch(id, null, changes);
+
+        assertThat(optionalId).isEqualTo(Optional.of(id));
+        Mockito.verify(repository, Mockito.never()).findOne(id);
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test
+    public void patch_whereMovieDoesNotExist() {
+        Integer id = RandomValueFactory.nextIntId();
+        Map<String, Object> changes = Collections.singletonMap("notes", "Patched");
+
+        Mockito.when(repository.patch(id, 0, changes)).thenReturn(0);
+        Mockito.when(repository.exists(id)).thenReturn(false);
+
+        Optional<Integer> optionalId = service.patch(id, 0, changes);
+
+        assertThat(optionalId.isPresent()).isFalse();
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void patch_whereVersionIsStale() {
+        Integer id = RandomValueFactory.nextIntId();
+        Map<String, Object> changes = Collections.singletonMap("notes", "Patched");
+
+        Mockito.when(repository.patch(id, 0, changes)).thenReturn(0);
+        Mockito.when(repository.exists(id)).thenReturn(true);
+
+        service.patch(id, 0, changes);
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test
+    public void patch_whereNothingChanges() {
+        Integer id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.exists(id)).thenReturn(true);
+
+        Optional<Integer> optionalId = service.patch(id, null, Collections.emptyMap());
+
+        assertThat(optionalId).isEqualTo(Optional.of(id));
+        Mockito.verify(repository, Mockito.never())
+                .patch(Mockito.anyInt(), Mockito.any(), Mockito.anyMapOf(String.class, Object.class));
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test
+    public void patch_whereNothingChangesAtVersion() {
+        Integer id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.existsByIdAndVersion(id, 3)).thenReturn(true);
+
+        Optional<Integer> optionalId = service.patch(id, 3, Collections.emptyMap());
+
+        assertThat(optionalId).isEqualTo(Optional.of(id));
+        Mockito.verify(repository, Mockito.never())
+                .patch(Mockito.anyInt(), Mockito.any(), Mockito.anyMapOf(String.class, Object.class));
+    }
+
+    /**
+     * Tests {@link MovieServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void patch_whereNothingChangesAndVersionIsStale() {
+        Integer id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.existsByIdAndVersion(id, 3)).thenReturn(false);
+        Mockito.when(repository.exists(id)).thenReturn(true);
+
+        service.patch(id, 3, Collections.emptyMap());
     }
 
     /**
@@ -349,17 +664,16 @@ public class MovieServiceImplTest {
     @Test
     public void deleteAllWithIds() {
         List<Integer> ids = new ArrayList<>();
-        List<MovieEntity> expectedEntities = new ArrayList<>();
         for (int i = 0; i < RandomValueFactory.nextInt(20) + 1; i++) {
-            MovieEntity entity = MovieEntityFactory.generateRandomMovie();
-            expectedEntities.add(entity);
-            ids.add(entity.getId());
+            ids.add(RandomValueFactory.nextIntId());
         }
 
-        Mockito.when(repository.findAllById(ids)).thenReturn(expectedEntities);
+        Mockito.when(repository.findIdsByIdIn(ids)).thenReturn(ids);
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAllWithIds(ids));
 
+        Mockito.verify(repository).deleteAllByIdIn(ids);
+
         // Sort the collections so that the proceeding loop will compare IDs in the right order.
         Collections.sort(ids);
         Collections.sort(actualIds);
@@ -380,7 +694,7 @@ public class MovieServiceImplTest {
             ids.add(RandomValueFactory.nextIntId());
         }
 
-        Mockito.when(repository.findAllById(ids)).thenReturn(new ArrayList<>());
+        Mockito.when(repository.findIdsByIdIn(ids)).thenReturn(new ArrayList<>());
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAllWithIds(ids));
 
@@ -393,17 +707,16 @@ public class MovieServiceImplTest {
     @Test
     public void deleteAll() {
         List<Integer> ids = new ArrayList<>();
-        List<MovieEntity> expectedEntities = new ArrayList<>();
         for (int i = 0; i < 20; i++) {
-            MovieEntity entity = MovieEntityFactory.generateRandomMovie();
-            expectedEntities.add(entity);
-            ids.add(entity.getId());
+            ids.add(RandomValueFactory.nextIntId());
         }
 
-        Mockito.when(repository.findAll()).thenReturn(expectedEntities);
+        Mockito.when(repository.findAllIds()).thenReturn(ids);
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAll());
 
+        Mockito.verify(repository).deleteAllInBatch();
+
         // Sort the collections so that the proceeding loop will compare IDs in the right order.
         Collections.sort(ids);
         Collections.sort(actualIds);
@@ -419,7 +732,7 @@ public class MovieServiceImplTest {
      */
     @Test
     public void deleteAll_whereNoMoviesExist() {
-        Mockito.when(repository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(repository.findAllIds()).thenReturn(new ArrayList<>());
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAll());
 
@@ -0,0 +1,97 @@
+package com.wilson.movie.library.service.impl;
+
+import com.wilson.movie.library.domain.NameKeys;
+import com.wilson.movie.library.domain.PersonEntity;
+import com.wilson.movie.library.repository.PersonRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link PersonServiceImpl}.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PersonServiceImplTest {
+
+    @InjectMocks
+    private PersonServiceImpl service;
+
+    @Mock
+    private PersonRepository repository;
+
+    /**
+     * Tests {@link PersonServiceImpl#search(String, Integer)}.
+     */
+    @Test
+    public void search() {
+        PersonEntity tomHanks = person(1, "Tom", "Hanks");
+        PersonEntity tomasHansen = person(2, "Tomas", "Hansen");
+        PersonEntity hanksTom = person(3, "Hanks", "Tom");
+
+        // The database returns only the persons that every word matches, e.g., not Tim Hanks
+        Mockito.when(repository.findAllByNameWordPrefixes(Arrays.asList("tom", "han"), 40))
+                .thenReturn(Arrays.asList(tomasHansen, tomHanks, hanksTom));
+
+        List<PersonEntity> persons = service.search("Tom Han", 10);
+
+        assertThat(persons).containsExactly(tomHanks, tomasHansen, hanksTom);
+    }
+
+    /**
+     * Tests {@link PersonServiceImpl#search(String, Integer)}.
+     */
+    @Test
+    public void search_whereLastNameHasSeveralWords() {
+        PersonEntity deNiro = person(1, "Robert", "De Niro");
+        PersonEntity denise = person(2, "Denise", "Nicholas");
+
+        Mockito.when(repository.findAllByNameWordPrefixes(Arrays.asList("de", "ni"), 8))
+                .thenReturn(Arrays.asList(denise, deNiro));
+
+        List<PersonEntity> persons = service.search("De Ni", 2);
+
+        assertThat(persons).containsExactly(deNiro, denise);
+    }
+
+    /**
+     * Tests {@link PersonServiceImpl#search(String, Integer)}.
+     */
+    @Test
+    public void search_whereNameHasNoWords() {
+        assertThat(service.search(" - ", 10)).isEmpty();
+
+        Mockito.verifyZeroInteractions(repository);
+    }
+
+    /**
+     * Tests {@link PersonServiceImpl#getAllByLastName(String)}.
+     */
+    @Test
+    public void getAllByLastName() {
+        PersonEntity expected = person(1, "Zoë", "Saldaña");
+
+        Mockito.when(repository.findAllByLastNameKey(NameKeys.of("SALDANA")))
+                .thenReturn(Collections.singletonList(expected));
+
+        assertThat(service.getAllByLastName("SALDANA")).containsExactly(expected);
+    }
+
+    private static PersonEntity person(int id, String firstName, String lastName) {
+        PersonEntity person = new PersonEntity(firstName, lastName, LocalDate.of(1956, 7, 9));
+        person.setId(id);
+        return person;
+    }
+
+}
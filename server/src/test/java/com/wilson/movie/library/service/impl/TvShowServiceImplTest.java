@@ -1,6 +1,7 @@
 package com.wilson.movie.library.service.impl;
 
 import com.wilson.movie.library.domain.TvShowEntity;
+import com.wilson.movie.library.domain.TvShowView;
 import com.wilson.movie.library.repository.TvShowRepository;
 import com.wilson.movie.library.service.impl.factories.RandomValueFactory;
 import com.wilson.movie.library.service.impl.factories.TvShowEntityFactory;
@@ -10,6 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -285,19 +288,125 @@ public class TvShowServiceImplTest {
         assertThat(actualEntities.isEmpty()).isTrue();
     }
 
+    /**
+     * Tests {@link TvShowServiceImpl#getAllAfter(Integer, Integer)}.
+     */
+    @Test
+    public void getAllAfter() {
+        int after = RandomValueFactory.nextIntId();
+        int limit = RandomValueFactory.nextInt(20) + 1;
+        List<TvShowEntity> expectedEntities = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            expectedEntities.add(TvShowEntityFactory.generateRandomTvShow());
+        }
+
+        Mockito.when(repository.findAllAfter(after, new PageRequest(0, limit))).thenReturn(expectedEntities);
+
+        List<TvShowEntity> actualEntities = new ArrayList<>(service.getAllAfter(after, limit));
+
+        assertThat(actualEntities.size()).isEqualTo(expectedEntities.size());
+        for (int i = 0; i < actualEntities.size(); i++) {
+            assertTvShow(actualEntities.get(i), expectedEntities.get(i));
+        }
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#getAllAfter(Integer, Integer)}.
+     */
+    @Test
+    public void getAllAfter_whereTvShowsDoNotExist() {
+        int after = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.findAllAfter(after, new PageRequest(0, 10))).thenReturn(new ArrayList<>());
+
+        Collection<TvShowEntity> actualEntities = service.getAllAfter(after, 10);
+
+        assertThat(actualEntities.isEmpty()).isTrue();
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#getViewsByDateAiredBetween(LocalDate, LocalDate, Integer, Integer)}.
+     */
+    @Test
+    public void getViewsByDateAiredBetween() {
+        LocalDate from = LocalDate.now().minusYears(10);
+        LocalDate to = LocalDate.now();
+        int after = RandomValueFactory.nextIntId();
+        int limit = RandomValueFactory.nextInt(20) + 1;
+        List<TvShowView> expectedViews = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            expectedViews.add(new TvShowView(after + i + 1, 0, "TV Show " + i, from, "Network", "PG", "Drama",
+                                             "English", "Plot summary", true));
+        }
+
+        Mockito.when(repository.findViewsByDateAiredBetween(from, to, after, new PageRequest(0, limit)))
+                .thenReturn(expectedViews);
+
+        List<TvShowView> actualViews = service.getViewsByDateAiredBetween(from, to, after, limit);
+
+        assertThat(actualViews).containsExactlyElementsOf(expectedViews);
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#search(String, Integer, Integer)}.
+     */
+    @Test
+    public void search() {
+        String query = RandomValueFactory.generateRandomString(1, 20);
+        int page = RandomValueFactory.nextInt(5);
+        int limit = RandomValueFactory.nextInt(20) + 1;
+        List<TvShowEntity> expectedEntities = new ArrayList<>();
+        List<Number> ids = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            TvShowEntity entity = TvShowEntityFactory.generateRandomTvShow();
+            entity.setId(i + 1);
+            expectedEntities.add(entity);
+            ids.add(entity.getId());
+        }
+        List<TvShowEntity> unorderedEntities = new ArrayList<>(expectedEntities);
+        Collections.shuffle(unorderedEntities);
+
+        Mockito.when(repository.searchIds(query, limit, page * limit)).thenReturn(ids);
+        Mockito.when(repository.findAllById(Mockito.anyCollectionOf(Integer.class))).thenReturn(unorderedEntities);
+
+        List<TvShowEntity> actualEntities = service.search(query, page, limit);
+
+        assertThat(actualEntities.size()).isEqualTo(expectedEntities.size());
+        for (int i = 0; i < actualEntities.size(); i++) {
+            assertTvShow(actualEntities.get(i), expectedEntities.get(i));
+        }
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#search(String, Integer, Integer)}.
+     */
+    @Test
+    public void search_whereTvShowsDoNotMatch() {
+        String query = RandomValueFactory.generateRandomString(1, 20);
+
+        Mockito.when(repository.searchIds(query, 10, 0)).thenReturn(new ArrayList<>());
+
+        List<TvShowEntity> actualEntities = service.search(query, 0, 10);
+
+        assertThat(actualEntities.isEmpty()).isTrue();
+        Mockito.verify(repository, Mockito.never()).findAllById(Mockito.anyCollectionOf(Integer.class));
+    }
+
     /**
      * Tests {@link TvShowServiceImpl#update(Integer, TvShowEntity)}.
      */
     @Test
     public void update() {
-        TvShowEntity expected = TvShowEntityFactory.generateRandomTvShow();
+        TvShowEntity entity = TvShowEntityFactory.generateRandomTvShow();
+        Integer id = RandomValueFactory.nextIntId();
 
-        Mockito.when(repository.save(expected)).thenReturn(expected);
+        Mockito.when(repository.update(id, entity)).thenReturn(1);
 
-        Optional<TvShowEntity> optionalEntity = service.update(RandomValueFactory.nextIntId(), expected);
+        Optional<Integer> optionalId = service.update(id, entity);
 
-        assertThat(optionalEntity.isPresent());
-        optionalEntity.ifPresent((actual) -> assertTvShow(actual, expected));
+        assertThat(optionalId).isEqualTo(Optional.of(id));
+        Mockito.verify(repository, Mockito.never()).findOne(id);
+        Mockito.verify(repository, Mockito.never()).save(entity);
     }
 
     /**
@@ -306,12 +415,121 @@ public class TvShowServiceImplTest {
     @Test
     public void update_whereTvShowDoesNotExist() {
         TvShowEntity entity = TvShowEntityFactory.generateRandomTvShow();
+        entity.setVersion(0);
+        Integer id = RandomValueFactory.nextIntId();
 
-        Mockito.when(repository.save(entity)).thenReturn(null);
+        Mockito.when(repository.update(id, entity)).thenReturn(0);
+        Mockito.when(repository.exists(id)).thenReturn(false);
 
-        Optional<TvShowEntity> optionalEntity = service.update(RandomValueFactory.nextIntId(), entity);
+        Optional<Integer> optionalId = service.update(id, entity);
 
-        assertThat(optionalEntity.isPresent()).isFalse();
+        assertThat(optionalId.isPresent()).isFalse();
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#update(Integer, TvShowEntity)}.
+     */
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void update_whereVersionIsStale() {
+        TvShowEntity entity = TvShowEntityFactory.generateRandomTvShow();
+        entity.setVersion(0);
+        Integer id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.update(id, entity)).thenReturn(0);
+        Mockito.when(repository.exists(id)).thenReturn(true);
+
+        service.update(id, entity);
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test
+    public void patch() {
+        Integer id = RandomValueFactory.nextIntId();
+        Map<String, Object> changes = Collections.singletonMap("plotSummary", "Patched");
+
+        Mockito.when(repository.patch(id, null, changes)).thenReturn(1);
+
+        Optional<Integer> optionalId = service.patch(id, null, changes);
+
+        assertThat(optionalId).isEqualTo(Optional.of(id));
+        Mockito.verify(repository, Mockito.never()).findOne(id);
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test
+    public void patch_whereTvShowDoesNotExist() {
+        Integer id = RandomValueFactory.nextIntId();
+        Map<String, Object> changes = Collections.singletonMap("plotSummary", "Patched");
+
+        Mockito.when(repository.patch(id, 0, changes)).thenReturn(0);
+        Mockito.when(repository.exists(id)).thenReturn(false);
+
+        Optional<Integer> optionalId = service.patch(id, 0, changes);
+
+        assertThat(optionalId.isPresent()).isFalse();
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void patch_whereVersionIsStale() {
+        Integer id = RandomValueFactory.nextIntId();
+        Map<String, Object> changes = Collections.singletonMap("plotSummary", "Patched");
+
+        Mockito.when(repository.patch(id, 0, changes)).thenReturn(0);
+        Mockito.when(repository.exists(id)).thenReturn(true);
+
+        service.patch(id, 0, changes);
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test
+    public void patch_whereNothingChanges() {
+        Integer id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.exists(id)).thenReturn(true);
+
+        Optional<Integer> optionalId = service.patch(id, null, Collections.emptyMap());
+
+        assertThat(optionalId).isEqualTo(Optional.of(id));
+        Mockito.verify(repository, Mockito.never())
+                .patch(Mockito.anyInt(), Mockito.any(), Mockito.anyMapOf(String.class, Object.class));
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test
+    public void patch_whereNothingChangesAtVersion() {
+        Integer id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.existsByIdAndVersion(id, 3)).thenReturn(true);
+
+        Optional<Integer> optionalId = service.patch(id, 3, Collections.emptyMap());
+
+        assertThat(optionalId).isEqualTo(Optional.of(id));
+        Mockito.verify(repository, Mockito.never())
+                .patch(Mockito.anyInt(), Mockito.any(), Mockito.anyMapOf(String.class, Object.class));
+    }
+
+    /**
+     * Tests {@link TvShowServiceImpl#patch(Integer, Integer, Map)}.
+     */
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void patch_whereNothingChangesAndVersionIsStale() {
+        Integer id = RandomValueFactory.nextIntId();
+
+        Mockito.when(repository.existsByIdAndVersion(id, 3)).thenReturn(false);
+        Mockito.when(repository.exists(id)).thenReturn(true);
+
+        service.patch(id, 3, Collections.emptyMap());
     }
 
     /**
@@ -349,17 +567,16 @@ public class TvShowServiceImplTest {
     @Test
     public void deleteAllWithIds() {
         List<Integer> ids = new ArrayList<>();
-        List<TvShowEntity> expectedEntities = new ArrayList<>();
         for (int i = 0; i < RandomValueFactory.nextInt(20) + 1; i++) {
-            TvShowEntity entity = TvShowEntityFactory.generateRandomTvShow();
-            expectedEntities.add(entity);
-            ids.add(entity.getId());
+            ids.add(RandomValueFactory.nextIntId());
         }
 
-        Mockito.when(repository.findAllById(ids)).thenReturn(expectedEntities);
+        Mockito.when(repository.findIdsByIdIn(ids)).thenReturn(ids);
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAllWithIds(ids));
 
+        Mockito.verify(repository).deleteAllByIdIn(ids);
+
         // Sort the collections so that the proceeding loop will compare IDs in the right order.
         Collections.sort(ids);
         Collections.sort(actualIds);
@@ -380,7 +597,7 @@ public class TvShowServiceImplTest {
             ids.add(RandomValueFactory.nextIntId());
         }
 
-        Mockito.when(repository.findAllById(ids)).thenReturn(new ArrayList<>());
+        Mockito.when(repository.findIdsByIdIn(ids)).thenReturn(new ArrayList<>());
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAllWithIds(ids));
 
@@ -393,17 +610,16 @@ public class TvShowServiceImplTest {
     @Test
     public void deleteAll() {
         List<Integer> ids = new ArrayList<>();
-        List<TvShowEntity> expectedEntities = new ArrayList<>();
         for (int i = 0; i < 20; i++) {
-            TvShowEntity entity = TvShowEntityFactory.generateRandomTvShow();
-            expectedEntities.add(entity);
-            ids.add(entity.getId());
+            ids.add(RandomValueFactory.nextIntId());
         }
 
-        Mockito.when(repository.findAll()).thenReturn(expectedEntities);
+        Mockito.when(repository.findAllIds()).thenReturn(ids);
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAll());
 
+        Mockito.verify(repository).deleteAllInBatch();
+
         // Sort the collections so that the proceeding loop will compare IDs in the right order.
         Collections.sort(ids);
         Collections.sort(actualIds);
@@ -419,7 +635,7 @@ public class TvShowServiceImplTest {
      */
     @Test
     public void deleteAll_whereNoTvShowExist() {
-        Mockito.when(repository.findAll()).thenReturn(new ArrayList<>());
+        Mockito.when(repository.findAllIds()).thenReturn(new ArrayList<>());
 
         List<Integer> actualIds = new ArrayList<>(service.deleteAll());
 
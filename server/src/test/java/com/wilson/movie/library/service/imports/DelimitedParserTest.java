@@ -0,0 +1,88 @@
+package com.wilson.movie.library.service.imports;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link DelimitedParser}.
+ *
+ * @author Zach Wilson
+ */
+public class DelimitedParserTest {
+
+    /**
+     * Tests {@link DelimitedParser#next()}.
+     */
+    @Test
+    public void next_whereFieldsAreQuoted() throws IOException {
+        DelimitedParser parser = parser("title,plotSummary\r\n"
+                                        + "\"Alien\",\"In space, no one\r\ncan hear you \"\"scream\"\"\"\r\n"
+                                        + "Heat,\r\n", ImportFormat.CSV);
+
+        assertThat(parser.next()).containsExactly("title", "plotSummary");
+        assertThat(parser.next()).containsExactly("Alien", "In space, no one\r\ncan hear you \"scream\"");
+        assertThat(parser.next()).containsExactly("Heat", "");
+        assertThat(parser.next()).isNull();
+    }
+
+    /**
+     * Tests {@link DelimitedParser#next()}.
+     */
+    @Test
+    public void next_whereFormatIsTsv() throws IOException {
+        List<String[]> records = readAll(parser("title\tstudio\n\"Weird\" Al\tOrion, Inc.\n", ImportFormat.TSV));
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(1)).containsExactly("\"Weird\" Al", "Orion, Inc.");
+    }
+
+    /**
+     * Tests {@link DelimitedParser#getLineNumber()}.
+     */
+    @Test
+    public void getLineNumber_whereRecordsSpanLines() throws IOException {
+        DelimitedParser parser = parser("a,b\n\n\"1\n2\",3\n4,5", ImportFormat.CSV);
+
+        parser.next();
+        assertThat(parser.getLineNumber()).isEqualTo(1);
+        parser.next();
+        assertThat(parser.getLineNumber()).isEqualTo(3);
+        assertThat(parser.next()).containsExactly("4", "5");
+        assertThat(parser.getLineNumber()).isEqualTo(5);
+    }
+
+    /**
+     * Tests {@link DelimitedParser#next()}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void next_whereQuoteIsUnterminated() throws IOException {
+        readAll(parser("title\n\"Alien\n", ImportFormat.CSV));
+    }
+
+    /**
+     * Tests {@link DelimitedParser#next()}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void next_whereTextFollowsQuote() throws IOException {
+        readAll(parser("title\n\"Alien\"s\n", ImportFormat.CSV));
+    }
+
+    private static DelimitedParser parser(String text, ImportFormat format) {
+        return new DelimitedParser(new StringReader(text), format);
+    }
+
+    private static List<String[]> readAll(DelimitedParser parser) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        for (String[] record = parser.next(); record != null; record = parser.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.wilson.movie.library.service.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link Batches}.
+ *
+ * @author Zach Wilson
+ */
+public class BatchesTest {
+
+    /**
+     * Tests {@link Batches#partition(java.util.Collection, int)}.
+     */
+    @Test
+    public void partition() {
+        List<List<Integer>> batches = Batches.partition(Arrays.asList(1, 2, 3, 4, 5, 6, 7), 3);
+
+        assertThat(batches).containsExactly(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Collections.singletonList(7));
+    }
+
+    /**
+     * Tests {@link Batches#partition(java.util.Collection, int)}.
+     */
+    @Test
+    public void partition_whereValuesFillLastBatch() {
+        List<List<Integer>> batches = Batches.partition(Arrays.asList(1, 2, 3, 4), 2);
+
+        assertThat(batches).containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4));
+    }
+
+    /**
+     * Tests {@link Batches#partition(java.util.Collection, int)}.
+     */
+    @Test
+    public void partition_whereValuesAreEmpty() {
+        assertThat(Batches.partition(Collections.emptyList(), 10)).isEmpty();
+    }
+
+    /**
+     * Tests {@link Batches#partition(java.util.Collection, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void partition_whereBatchSizeIsNotPositive() {
+        Batches.partition(Arrays.asList(1, 2, 3), 0);
+    }
+
+}
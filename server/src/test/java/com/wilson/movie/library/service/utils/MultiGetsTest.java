@@ -0,0 +1,113 @@
+package com.wilson.movie.library.service.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link MultiGets}.
+ *
+ * @author Zach Wilson
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MultiGetsTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MultiGets multiGets;
+
+    @Before
+    public void setUp() {
+        multiGets = new MultiGets(4, transactionManager);
+    }
+
+    @After
+    public void tearDown() {
+        multiGets.shutdown();
+    }
+
+    /**
+     * Tests {@link MultiGets#getAll(int[], java.util.function.Function, java.util.function.ToIntFunction)}.
+     */
+    @Test
+    public void getAll() {
+        int[] ids = {42, 7, 99, 7, 3};
+
+        List<Integer> entities = multiGets.getAll(ids, MultiGetsTest::findEven, (id) -> id);
+
+        assertThat(entities).containsExactly(42);
+    }
+
+    /**
+     * Tests {@link MultiGets#getAll(int[], java.util.function.Function, java.util.function.ToIntFunction)}.
+     */
+    @Test
+    public void getAll_whereIdsSpanManyBatches() {
+        int count = Batches.MAX_IDS_PER_STATEMENT * 5 + 1;
+        int[] ids = IntStream.range(0, count).map((i) -> count - i).toArray();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        List<Integer> entities = multiGets.getAll(ids, (batch) -> {
+            threads.add(Thread.currentThread().getName());
+            batchSizes.add(batch.size());
+            return batch;
+        }, (id) -> id);
+
+        assertThat(entities).containsExactlyElementsOf(IntStream.of(ids).boxed().collect(Collectors.toList()));
+        assertThat(batchSizes).hasSize(6);
+        assertThat(Collections.max(batchSizes)).isEqualTo(Batches.MAX_IDS_PER_STATEMENT);
+        assertThat(threads).isNotEmpty();
+        threads.forEach((thread) -> assertThat(thread).startsWith("multi-get-"));
+
+        // Every batch runs in a read-only transaction of its own
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        Mockito.verify(transactionManager, Mockito.times(6)).getTransaction(definitions.capture());
+        definitions.getAllValues().forEach((definition) -> assertThat(definition.isReadOnly()).isTrue());
+    }
+
+    /**
+     * Tests {@link MultiGets#getAll(int[], java.util.function.Function, java.util.function.ToIntFunction)}.
+     */
+    @Test
+    public void getAll_whereIdsAreEmpty() {
+        List<Integer> entities = multiGets.getAll(new int[0], (batch) -> {
+            throw new AssertionError("No batch should be queried");
+        }, Integer::intValue);
+
+        assertThat(entities).isEmpty();
+    }
+
+    /**
+     * Tests {@link MultiGets#getAll(int[], java.util.function.Function, java.util.function.ToIntFunction)}.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void getAll_whereFinderFails() {
+        multiGets.getAll(new int[]{1}, (batch) -> {
+            throw new IllegalStateException("Connection refused");
+        }, Integer::intValue);
+    }
+
+    private static List<Integer> findEven(List<Integer> batch) {
+        return batch.stream().filter((id) -> id % 2 == 0).collect(Collectors.toList());
+    }
+
+}